@@ -0,0 +1,62 @@
+package com.duxinglangzi.sqs.starter.benchmark;
+
+import com.duxinglangzi.sqs.starter.container.DeleteMessageBuffer;
+import com.duxinglangzi.sqs.starter.container.QueueMessageAcknowledgment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 消息删除: 逐条 DeleteMessage 与 经由 DeleteMessageBuffer 合并为 DeleteMessageBatch
+ * <p>
+ * 多个线程并发删除, 每次调用删除 10 条消息. apiLatencyMillis = 0 时测得的是批次组装及结果分发的开销,
+ * 大于 0 时可以看到合并请求对吞吐量的影响.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar DeleteBatchBenchmark -prof gc
+ * </pre>
+ *
+ * @author wuqiong 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+public class DeleteBatchBenchmark {
+
+    private static final String QUEUE_URL = "https://sqs.stub.local/000000000000/benchmark-queue";
+    private static final int MESSAGES_PER_INVOCATION = 10;
+
+    @Param({"single", "buffered"})
+    public String mode;
+
+    @Param({"0", "1"})
+    public long apiLatencyMillis;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private StubSqsClient sqsClient;
+    private DeleteMessageBuffer deleteBuffer;
+
+    @Setup
+    public void setUp() {
+        sqsClient = new StubSqsClient(false, apiLatencyMillis);
+        deleteBuffer = DeleteMessageBuffer.create(QUEUE_URL, sqsClient, 10L);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES_PER_INVOCATION)
+    public boolean delete() {
+        List<String> receiptHandles = new ArrayList<>(MESSAGES_PER_INVOCATION);
+        for (int i = 0; i < MESSAGES_PER_INVOCATION; i++) receiptHandles.add("receipt-" + sequence.getAndIncrement());
+        if ("buffered".equals(mode)) return deleteBuffer.deleteAll(receiptHandles).join();
+        boolean deleted = true;
+        for (String receiptHandle : receiptHandles)
+            deleted &= new QueueMessageAcknowledgment(QUEUE_URL, receiptHandle, sqsClient).acknowledge();
+        return deleted;
+    }
+}
@@ -0,0 +1,97 @@
+package com.duxinglangzi.sqs.starter.benchmark;
+
+import com.duxinglangzi.sqs.starter.container.MessageListenerContainer;
+import com.duxinglangzi.sqs.starter.enums.MessageDeletionPolicy;
+import com.duxinglangzi.sqs.starter.listener.ApplicationReadyListener;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.ArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 容器自身的分发开销: 标准队列 与 FIFO 队列, 批次屏障模式 与 在途窗口模式
+ * <p>
+ * listener 方法不做任何事, 桩实现默认没有延迟, 测得的吞吐量即为 拉取 → 分发 → 删除 的框架上限.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar DispatchOverheadBenchmark -prof gc
+ * </pre>
+ *
+ * @author wuqiong 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class DispatchOverheadBenchmark {
+
+    private static final int MESSAGES_PER_INVOCATION = 1000;
+
+    @Param({"standard", "fifo"})
+    public String queueType;
+
+    // 0 表示批次屏障模式
+    @Param({"0", "100"})
+    public int maxInFlightMessages;
+
+    // 仅 FIFO 队列生效
+    @Param({"16"})
+    public int messageGroups;
+
+    @Param({"0"})
+    public long apiLatencyMillis;
+
+    private MessageListenerContainer container;
+    private ThreadPoolTaskExecutor executor;
+    private NoopHandler handler;
+
+    @Setup
+    public void setUp() throws Exception {
+        ApplicationReadyListener.markReady();
+        boolean fifoQueue = "fifo".equals(queueType);
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(16);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(1000);
+        executor.afterPropertiesSet();
+        StubSqsClient sqsClient = new StubSqsClient(fifoQueue, apiLatencyMillis);
+        sqsClient.setMessageGroups(messageGroups);
+        handler = new NoopHandler();
+        container = new MessageListenerContainer(
+                "https://sqs.stub.local/000000000000/benchmark-queue" + (fifoQueue ? ".fifo" : ""),
+                null,
+                new ArrayList<>(),
+                10,
+                MessageDeletionPolicy.SUCCESS,
+                NoopHandler.class.getMethod("onMessage", Message.class),
+                handler,
+                sqsClient,
+                executor);
+        container.setMaxInFlightMessages(maxInFlightMessages);
+        container.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        container.stop();
+        executor.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES_PER_INVOCATION)
+    public void consume() throws InterruptedException {
+        handler.completed.acquire(MESSAGES_PER_INVOCATION);
+    }
+
+    public static class NoopHandler {
+        private final Semaphore completed = new Semaphore(0);
+
+        public void onMessage(Message message) {
+            completed.release();
+        }
+    }
+}
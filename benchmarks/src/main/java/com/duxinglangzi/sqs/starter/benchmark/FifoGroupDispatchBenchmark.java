@@ -0,0 +1,101 @@
+package com.duxinglangzi.sqs.starter.benchmark;
+
+import com.duxinglangzi.sqs.starter.container.MessageListenerContainer;
+import com.duxinglangzi.sqs.starter.enums.MessageDeletionPolicy;
+import com.duxinglangzi.sqs.starter.listener.ApplicationReadyListener;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.ArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FIFO 队列: 吞吐量随消息组数量的变化
+ * <p>
+ * 同一消息组内的消息依次处理, 不同消息组并行处理, messageGroups = 1 时等同于原有的串行处理.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar FifoGroupDispatchBenchmark
+ * </pre>
+ *
+ * @author wuqiong 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class FifoGroupDispatchBenchmark {
+
+    private static final int MESSAGES_PER_INVOCATION = 100;
+
+    @Param({"1", "4", "16", "64"})
+    public int messageGroups;
+
+    @Param({"0", "50"})
+    public int maxInFlightMessages;
+
+    @Param({"5"})
+    public long handlerMillis;
+
+    // 桩实现每次接口调用的延迟
+    @Param({"1"})
+    public long apiLatencyMillis;
+
+    private MessageListenerContainer container;
+    private ThreadPoolTaskExecutor executor;
+    private FixedCostHandler handler;
+
+    @Setup
+    public void setUp() throws Exception {
+        ApplicationReadyListener.markReady();
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(64);
+        executor.setMaxPoolSize(64);
+        executor.setQueueCapacity(100);
+        executor.afterPropertiesSet();
+        StubSqsClient sqsClient = new StubSqsClient(true, apiLatencyMillis);
+        sqsClient.setMessageGroups(messageGroups);
+        handler = new FixedCostHandler(handlerMillis);
+        container = new MessageListenerContainer(
+                "https://sqs.stub.local/000000000000/benchmark-queue.fifo",
+                null,
+                new ArrayList<>(),
+                10,
+                MessageDeletionPolicy.SUCCESS,
+                FixedCostHandler.class.getMethod("onMessage", Message.class),
+                handler,
+                sqsClient,
+                executor);
+        container.setMaxInFlightMessages(maxInFlightMessages);
+        container.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        container.stop();
+        executor.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES_PER_INVOCATION)
+    public void consume() throws InterruptedException {
+        handler.completed.acquire(MESSAGES_PER_INVOCATION);
+    }
+
+    public static class FixedCostHandler {
+        private final Semaphore completed = new Semaphore(0);
+        private final long handlerMillis;
+
+        public FixedCostHandler(long handlerMillis) {
+            this.handlerMillis = handlerMillis;
+        }
+
+        public void onMessage(Message message) throws InterruptedException {
+            Thread.sleep(handlerMillis);
+            completed.release();
+        }
+    }
+}
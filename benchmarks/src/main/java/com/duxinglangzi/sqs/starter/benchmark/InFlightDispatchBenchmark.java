@@ -0,0 +1,108 @@
+package com.duxinglangzi.sqs.starter.benchmark;
+
+import com.duxinglangzi.sqs.starter.container.MessageListenerContainer;
+import com.duxinglangzi.sqs.starter.enums.MessageDeletionPolicy;
+import com.duxinglangzi.sqs.starter.listener.ApplicationReadyListener;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.ArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 标准队列: 批次屏障模式 与 在途窗口模式 的吞吐量对比
+ * <p>
+ * 处理耗时是倾斜的: 每 slowEvery 条消息中有一条耗时 slowMillis, 其余耗时 fastMillis.
+ * maxInFlightMessages = 0 表示原有的批次屏障模式.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar InFlightDispatchBenchmark
+ * </pre>
+ *
+ * @author wuqiong 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class InFlightDispatchBenchmark {
+
+    private static final int MESSAGES_PER_INVOCATION = 100;
+
+    @Param({"0", "20", "50"})
+    public int maxInFlightMessages;
+
+    @Param({"10"})
+    public int slowEvery;
+
+    @Param({"200"})
+    public long slowMillis;
+
+    @Param({"2"})
+    public long fastMillis;
+
+    // 桩实现每次接口调用的延迟
+    @Param({"1"})
+    public long apiLatencyMillis;
+
+    private MessageListenerContainer container;
+    private ThreadPoolTaskExecutor executor;
+    private SkewedHandler handler;
+
+    @Setup
+    public void setUp() throws Exception {
+        ApplicationReadyListener.markReady();
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(64);
+        executor.setMaxPoolSize(64);
+        executor.setQueueCapacity(100);
+        executor.afterPropertiesSet();
+        handler = new SkewedHandler(slowEvery, slowMillis, fastMillis);
+        container = new MessageListenerContainer(
+                "https://sqs.stub.local/000000000000/benchmark-queue",
+                null,
+                new ArrayList<>(),
+                10,
+                MessageDeletionPolicy.SUCCESS,
+                SkewedHandler.class.getMethod("onMessage", Message.class),
+                handler,
+                new StubSqsClient(false, apiLatencyMillis),
+                executor);
+        container.setMaxInFlightMessages(maxInFlightMessages);
+        container.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        container.stop();
+        executor.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES_PER_INVOCATION)
+    public void consume() throws InterruptedException {
+        handler.completed.acquire(MESSAGES_PER_INVOCATION);
+    }
+
+    public static class SkewedHandler {
+        private final Semaphore completed = new Semaphore(0);
+        private final int slowEvery;
+        private final long slowMillis;
+        private final long fastMillis;
+
+        public SkewedHandler(int slowEvery, long slowMillis, long fastMillis) {
+            this.slowEvery = slowEvery;
+            this.slowMillis = slowMillis;
+            this.fastMillis = fastMillis;
+        }
+
+        public void onMessage(Message message) throws InterruptedException {
+            long id = Long.parseLong(message.messageId());
+            Thread.sleep(id % slowEvery == 0 ? slowMillis : fastMillis);
+            completed.release();
+        }
+    }
+}
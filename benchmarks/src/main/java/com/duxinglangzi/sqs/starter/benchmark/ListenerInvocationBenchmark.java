@@ -0,0 +1,65 @@
+package com.duxinglangzi.sqs.starter.benchmark;
+
+import com.duxinglangzi.sqs.starter.container.ListenerInvoker;
+import com.duxinglangzi.sqs.starter.container.ListenerInvokerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * listener 方法单次调用的开销: 反射 / MethodHandle / LambdaMetafactory
+ * <p>
+ * handler 本身几乎不做任何事, 测得的时间即为每条消息的调用开销.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar ListenerInvocationBenchmark -prof gc
+ * </pre>
+ *
+ * @author wuqiong 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ListenerInvocationBenchmark {
+
+    @Param({"reflection", "methodHandle", "lambda"})
+    public String invoker;
+
+    private final Handler handler = new Handler();
+    private final Message message = Message.builder().messageId("benchmark").body("payload").build();
+    private ListenerInvoker listenerInvoker;
+
+    @Setup
+    public void setUp() throws Throwable {
+        Method method = Handler.class.getMethod("onMessage", Message.class);
+        switch (invoker) {
+            case "reflection":
+                listenerInvoker = ListenerInvokerFactory.reflection(method);
+                break;
+            case "methodHandle":
+                listenerInvoker = ListenerInvokerFactory.methodHandle(method);
+                break;
+            default:
+                listenerInvoker = ListenerInvokerFactory.lambda(method);
+        }
+    }
+
+    @Benchmark
+    public void invoke(Blackhole blackhole) throws Throwable {
+        listenerInvoker.invoke(handler, message, null);
+        blackhole.consume(handler.count);
+    }
+
+    public static class Handler {
+        private long count;
+
+        public void onMessage(Message message) {
+            count += message.body().length();
+        }
+    }
+}
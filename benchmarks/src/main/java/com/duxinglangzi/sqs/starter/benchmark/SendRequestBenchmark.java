@@ -0,0 +1,82 @@
+package com.duxinglangzi.sqs.starter.benchmark;
+
+import com.duxinglangzi.sqs.starter.CustomSqsClient;
+import com.duxinglangzi.sqs.starter.factory.SqsEndpointFactory;
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CustomSqsClient 发送消息时的请求组装开销: 标准队列 / FIFO 队列 / 合并发送
+ * <p>
+ * 桩实现默认没有延迟, 测得的时间为参数校验、请求构建及(合并发送时)批次组装的开销.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar SendRequestBenchmark -prof gc
+ * </pre>
+ *
+ * @author wuqiong 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SendRequestBenchmark {
+
+    private static final String CLIENT_NAME = "benchmark";
+    private static final String STANDARD_QUEUE_URL = "https://sqs.stub.local/000000000000/benchmark-queue";
+    private static final String FIFO_QUEUE_URL = "https://sqs.stub.local/000000000000/benchmark-queue.fifo";
+    private static final int BATCH = 10;
+
+    // 每条消息携带的自定义属性个数
+    @Param({"0", "5"})
+    public int messageAttributes;
+
+    @Param({"0"})
+    public long apiLatencyMillis;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final String body = "{\"orderId\":1234567890,\"status\":\"CREATED\"}";
+    private Map<String, MessageAttributeValue> attributes;
+
+    @Setup
+    public void setUp() {
+        SqsEndpointFactory.register(CLIENT_NAME, new StubSqsClient(false, apiLatencyMillis));
+        attributes = new HashMap<>();
+        for (int i = 0; i < messageAttributes; i++) {
+            attributes.put("attribute-" + i,
+                    MessageAttributeValue.builder().dataType("String").stringValue("value-" + i).build());
+        }
+    }
+
+    @Benchmark
+    public SendMessageResponse standard() {
+        return CustomSqsClient.sentStandardMessage(CLIENT_NAME, STANDARD_QUEUE_URL, body, null, attributes);
+    }
+
+    @Benchmark
+    public SendMessageResponse fifo() {
+        long id = sequence.getAndIncrement();
+        return CustomSqsClient.sentFifoMessage(CLIENT_NAME, FIFO_QUEUE_URL, body,
+                "group-" + (id & 15), Long.toString(id), null, attributes);
+    }
+
+    /**
+     * 连续发送 10 条, 凑满一个批次后立即发送, 不等待 linger 时间
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object batched() {
+        CompletableFuture<?>[] futures = new CompletableFuture[BATCH];
+        for (int i = 0; i < BATCH; i++)
+            futures[i] = CustomSqsClient.sentStandardMessageAsync(CLIENT_NAME, STANDARD_QUEUE_URL, body, null, attributes);
+        return CompletableFuture.allOf(futures).join();
+    }
+}
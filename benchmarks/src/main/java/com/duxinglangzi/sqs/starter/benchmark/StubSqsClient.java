@@ -0,0 +1,146 @@
+package com.duxinglangzi.sqs.starter.benchmark;
+
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 进程内的 SqsClient 桩实现, 不访问网络
+ * <p>
+ * 每次拉取都会返回请求数量的消息, 发送及删除总是成功, 每次接口调用固定延迟 apiLatencyMillis 毫秒,
+ * 用于在基准测试中得到可重复的结果.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class StubSqsClient implements SqsClient {
+
+    private static final SdkHttpResponse OK = SdkHttpResponse.builder().statusCode(200).build();
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder deletedMessages = new LongAdder();
+    private final LongAdder deleteRequests = new LongAdder();
+    private final LongAdder sentMessages = new LongAdder();
+    private final boolean fifoQueue;
+    private final long apiLatencyMillis;
+    private volatile int messageGroups = 1;
+
+    public StubSqsClient(boolean fifoQueue, long apiLatencyMillis) {
+        this.fifoQueue = fifoQueue;
+        this.apiLatencyMillis = apiLatencyMillis;
+    }
+
+    @Override
+    public ReceiveMessageResponse receiveMessage(ReceiveMessageRequest request) {
+        pause();
+        int count = request.maxNumberOfMessages() == null ? 1 : request.maxNumberOfMessages();
+        List<Message> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = sequence.getAndIncrement();
+            Map<MessageSystemAttributeName, String> attributes = fifoQueue ?
+                    Collections.singletonMap(MessageSystemAttributeName.MESSAGE_GROUP_ID, "group-" + (id % messageGroups)) :
+                    Collections.emptyMap();
+            messages.add(Message.builder()
+                    .messageId(Long.toString(id))
+                    .receiptHandle("receipt-" + id)
+                    .body("body-" + id)
+                    .attributes(attributes)
+                    .build());
+        }
+        return ReceiveMessageResponse.builder().messages(messages).build();
+    }
+
+    @Override
+    public DeleteMessageResponse deleteMessage(DeleteMessageRequest request) {
+        pause();
+        deleteRequests.increment();
+        deletedMessages.increment();
+        return (DeleteMessageResponse) DeleteMessageResponse.builder().sdkHttpResponse(OK).build();
+    }
+
+    @Override
+    public DeleteMessageBatchResponse deleteMessageBatch(DeleteMessageBatchRequest request) {
+        pause();
+        deleteRequests.increment();
+        deletedMessages.add(request.entries().size());
+        List<DeleteMessageBatchResultEntry> successful = new ArrayList<>(request.entries().size());
+        for (DeleteMessageBatchRequestEntry entry : request.entries()) {
+            successful.add(DeleteMessageBatchResultEntry.builder().id(entry.id()).build());
+        }
+        return (DeleteMessageBatchResponse) DeleteMessageBatchResponse.builder()
+                .successful(successful).sdkHttpResponse(OK).build();
+    }
+
+    @Override
+    public SendMessageResponse sendMessage(SendMessageRequest request) {
+        pause();
+        sentMessages.increment();
+        return SendMessageResponse.builder().messageId(Long.toString(sequence.getAndIncrement())).build();
+    }
+
+    @Override
+    public SendMessageBatchResponse sendMessageBatch(SendMessageBatchRequest request) {
+        pause();
+        sentMessages.add(request.entries().size());
+        List<SendMessageBatchResultEntry> successful = new ArrayList<>(request.entries().size());
+        for (SendMessageBatchRequestEntry entry : request.entries()) {
+            successful.add(SendMessageBatchResultEntry.builder()
+                    .id(entry.id()).messageId(Long.toString(sequence.getAndIncrement())).build());
+        }
+        return SendMessageBatchResponse.builder().successful(successful).build();
+    }
+
+    @Override
+    public GetQueueAttributesResponse getQueueAttributes(GetQueueAttributesRequest request) {
+        Map<QueueAttributeName, String> attributes = new HashMap<>();
+        attributes.put(QueueAttributeName.FIFO_QUEUE, Boolean.toString(fifoQueue));
+        attributes.put(QueueAttributeName.VISIBILITY_TIMEOUT, "30");
+        return GetQueueAttributesResponse.builder().attributes(attributes).build();
+    }
+
+    @Override
+    public GetQueueUrlResponse getQueueUrl(GetQueueUrlRequest request) {
+        return GetQueueUrlResponse.builder().queueUrl("https://sqs.stub.local/000000000000/" + request.queueName()).build();
+    }
+
+    public void setMessageGroups(int messageGroups) {
+        this.messageGroups = Math.max(1, messageGroups);
+    }
+
+    public long getDeletedMessages() {
+        return deletedMessages.sum();
+    }
+
+    public long getDeleteRequests() {
+        return deleteRequests.sum();
+    }
+
+    public long getSentMessages() {
+        return sentMessages.sum();
+    }
+
+    private void pause() {
+        if (apiLatencyMillis <= 0) return;
+        try {
+            Thread.sleep(apiLatencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String serviceName() {
+        return SqsClient.SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+}
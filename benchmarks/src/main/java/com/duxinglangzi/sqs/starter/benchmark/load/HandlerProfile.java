@@ -0,0 +1,87 @@
+package com.duxinglangzi.sqs.starter.benchmark.load;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * listener 方法的处理耗时模型
+ * <ul>
+ *     <li>none: 不耗时</li>
+ *     <li>fixed:5 : 固定 5 毫秒</li>
+ *     <li>uniform:1:20 : 1 ~ 20 毫秒均匀分布</li>
+ *     <li>exponential:5 : 平均 5 毫秒的指数分布</li>
+ *     <li>skewed:2:200:10 : 每 10 条中 1 条耗时 200 毫秒, 其余 2 毫秒</li>
+ * </ul>
+ *
+ * @author wuqiong 2026/10/18
+ */
+abstract class HandlerProfile {
+
+    /**
+     * 本次处理的耗时(纳秒)
+     */
+    abstract long nextNanos();
+
+    void work() {
+        long nanos = nextNanos();
+        if (nanos > 0) LockSupport.parkNanos(nanos);
+    }
+
+    static HandlerProfile parse(String profile) {
+        String[] parts = profile == null ? new String[]{"none"} : profile.split(":");
+        switch (parts[0]) {
+            case "none":
+                return constant(0L);
+            case "fixed":
+                return constant(millis(parts[1]));
+            case "uniform": {
+                long min = millis(parts[1]);
+                long max = millis(parts[2]);
+                return new HandlerProfile() {
+                    @Override
+                    long nextNanos() {
+                        return ThreadLocalRandom.current().nextLong(min, max + 1);
+                    }
+                };
+            }
+            case "exponential": {
+                long mean = millis(parts[1]);
+                return new HandlerProfile() {
+                    @Override
+                    long nextNanos() {
+                        return (long) (-Math.log(1D - ThreadLocalRandom.current().nextDouble()) * mean);
+                    }
+                };
+            }
+            case "skewed": {
+                long fast = millis(parts[1]);
+                long slow = millis(parts[2]);
+                int every = Integer.parseInt(parts[3]);
+                AtomicLong counter = new AtomicLong();
+                return new HandlerProfile() {
+                    @Override
+                    long nextNanos() {
+                        return counter.incrementAndGet() % every == 0 ? slow : fast;
+                    }
+                };
+            }
+            default:
+                throw new IllegalArgumentException("Unknown handler profile: " + profile);
+        }
+    }
+
+    private static HandlerProfile constant(long nanos) {
+        return new HandlerProfile() {
+            @Override
+            long nextNanos() {
+                return nanos;
+            }
+        };
+    }
+
+    private static long millis(String value) {
+        return (long) (Double.parseDouble(value) * TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,75 @@
+package com.duxinglangzi.sqs.starter.benchmark.load;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 无锁的对数-线性直方图, 每个 2 的幂区间分为 32 个桶, 相对误差约 3%
+ * <p>
+ * 记录时只有一次原子自增; 通过两次快照的差值计算某个时间段内的分位数.
+ *
+ * @author wuqiong 2026/10/18
+ */
+class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    void record(long value) {
+        counts.incrementAndGet(index(Math.max(0L, value)));
+    }
+
+    long[] snapshot() {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) snapshot[i] = counts.get(i);
+        return snapshot;
+    }
+
+    /**
+     * 计算 current - previous 这段时间内的分位数
+     *
+     * @param previous 之前的快照, 为 null 时从头开始
+     * @param current  当前的快照
+     * @param quantiles 分位, 例如 0.99
+     * @return 与 quantiles 一一对应的值, 没有数据时为 0
+     */
+    static long[] percentiles(long[] previous, long[] current, double... quantiles) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) total += current[i] - (previous == null ? 0 : previous[i]);
+        long[] values = new long[quantiles.length];
+        if (total == 0) return values;
+        for (int q = 0; q < quantiles.length; q++) {
+            long target = Math.max(1L, (long) Math.ceil(quantiles[q] * total));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += current[i] - (previous == null ? 0 : previous[i]);
+                if (seen >= target) {
+                    values[q] = lowerBound(i);
+                    break;
+                }
+            }
+        }
+        return values;
+    }
+
+    static long count(long[] previous, long[] current) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) total += current[i] - (previous == null ? 0 : previous[i]);
+        return total;
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = index / SUB_BUCKETS - 1;
+        return ((long) SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    }
+}
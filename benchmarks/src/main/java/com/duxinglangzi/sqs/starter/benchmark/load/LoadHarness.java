@@ -0,0 +1,245 @@
+package com.duxinglangzi.sqs.starter.benchmark.load;
+
+import com.duxinglangzi.sqs.starter.annotation.EnableSqsListener;
+import com.duxinglangzi.sqs.starter.annotation.SqsListener;
+import com.duxinglangzi.sqs.starter.config.SqsConfig;
+import com.duxinglangzi.sqs.starter.factory.SqsEndpointFactory;
+import com.duxinglangzi.sqs.starter.inmemory.InMemorySqsClient;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 端到端的压力 / 长稳测试: 以固定速率向内存队列发送消息, 由真实的 @SqsListener 容器消费,
+ * 统计吞吐量及 发送 → 处理完成 的延迟分位数.
+ * <p>
+ * 参数(均可省略):
+ * <pre>
+ * --rate=1000               每秒发送的消息数
+ * --duration=60             发送持续的秒数, 长稳测试可设置为数小时
+ * --profile=fixed:5         listener 处理耗时模型, 参考 HandlerProfile
+ * --queue=standard          standard 或 fifo
+ * --groups=16               FIFO 队列的消息组数
+ * --concurrency=1           每个 listener 的拉取线程数
+ * --max-concurrency=0       大于 concurrency 时按积压自动扩缩容拉取线程数
+ * --adaptive-concurrency=false 按处理耗时自适应调整在途消息上限
+ * --worker-threads=0        listener 的独立线程池大小, 0 为共享线程池
+ * --latency=0:0             内存队列每次调用的延迟范围(毫秒)
+ * --error-rate=0            内存队列每次调用的失败概率
+ * --producers=4             发送线程数
+ * --report-interval=5       输出间隔(秒)
+ * </pre>
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.duxinglangzi.sqs.starter.benchmark.load.LoadHarness --rate=5000 --profile=exponential:2
+ * </pre>
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class LoadHarness {
+
+    private static final Statistics STATISTICS = new Statistics();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        long rate = Long.parseLong(options.getOrDefault("rate", "1000"));
+        long durationSeconds = Long.parseLong(options.getOrDefault("duration", "60"));
+        boolean fifoQueue = "fifo".equals(options.getOrDefault("queue", "standard"));
+        int groups = Integer.parseInt(options.getOrDefault("groups", "16"));
+        int producers = Integer.parseInt(options.getOrDefault("producers", "4"));
+        long reportIntervalMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(options.getOrDefault("report-interval", "5")));
+        String[] latency = options.getOrDefault("latency", "0:0").split(":");
+
+        InMemorySqsClient sqsClient = new InMemorySqsClient();
+        String queueUrl = sqsClient.createQueue(fifoQueue ? "load-harness.fifo" : "load-harness");
+        SqsEndpointFactory.register(SqsConfig.DEFAULT_CLIENT_NAME, sqsClient);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(HarnessConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .properties(
+                        "duxinglangzi.queue.sqs.instances.defaults.region=us-east-1",
+                        "duxinglangzi.queue.sqs.instances.defaults.access-key-id=in-memory",
+                        "duxinglangzi.queue.sqs.instances.defaults.secret-access-key=in-memory",
+                        "duxinglangzi.queue.sqs.instances.defaults.concurrency=" + options.getOrDefault("concurrency", "1"),
+                        "duxinglangzi.queue.sqs.instances.defaults.max-concurrency=" + options.getOrDefault("max-concurrency", "0"),
+                        "duxinglangzi.queue.sqs.instances.defaults.adaptive-concurrency=" + options.getOrDefault("adaptive-concurrency", "false"),
+                        "duxinglangzi.queue.sqs.instances.defaults.worker-threads=" + options.getOrDefault("worker-threads", "0"),
+                        "harness.queue-url=" + queueUrl,
+                        "harness.profile=" + options.getOrDefault("profile", "none"))
+                .run();
+        // 启动完成后再注入延迟及错误, 不影响容器初始化
+        sqsClient.setLatencyMillis(Long.parseLong(latency[0]), Long.parseLong(latency[latency.length - 1]));
+        sqsClient.setErrorRate(Double.parseDouble(options.getOrDefault("error-rate", "0")));
+
+        System.out.printf("[LoadHarness] queue:%s rate:%d/s duration:%ds options:%s%n", queueUrl, rate, durationSeconds, options);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+        List<Thread> producerThreads = new ArrayList<>(producers);
+        for (int i = 0; i < producers; i++) {
+            Thread producer = new Thread(new Producer(sqsClient, queueUrl, (double) rate / producers, start, end, fifoQueue, groups, i),
+                    "LoadHarness_Producer-" + i);
+            producer.setDaemon(true);
+            producer.start();
+            producerThreads.add(producer);
+        }
+
+        long[] previous = null;
+        long previousAt = start;
+        // 发送结束后最多再等待 30 秒, 直到消息全部处理完成
+        long drainDeadline = end + TimeUnit.SECONDS.toNanos(30);
+        while (System.nanoTime() < drainDeadline) {
+            Thread.sleep(reportIntervalMillis);
+            long now = System.nanoTime();
+            long[] current = STATISTICS.latency.snapshot();
+            report("interval", previous, current, now - previousAt, sqsClient, queueUrl);
+            previous = current;
+            previousAt = now;
+            if (now >= end && STATISTICS.consumed.sum() >= STATISTICS.produced.get()) break;
+        }
+        for (Thread producer : producerThreads) producer.join(TimeUnit.SECONDS.toMillis(5));
+        report("total", null, STATISTICS.latency.snapshot(), System.nanoTime() - start, sqsClient, queueUrl);
+        context.close();
+        System.exit(0);
+    }
+
+    private static void report(String scope, long[] previous, long[] current, long elapsedNanos,
+                               InMemorySqsClient sqsClient, String queueUrl) {
+        long[] percentiles = LatencyHistogram.percentiles(previous, current, 0.5, 0.9, 0.99, 0.999, 1.0);
+        long consumed = LatencyHistogram.count(previous, current);
+        Map<QueueAttributeName, String> attributes = sqsClient.getQueueAttributes(
+                GetQueueAttributesRequest.builder().queueUrl(queueUrl).attributeNames(QueueAttributeName.ALL).build()).attributes();
+        System.out.printf("[LoadHarness] %-8s produced:%d consumed:%d throughput:%.1f/s latency(ms) p50:%.2f p90:%.2f p99:%.2f p99.9:%.2f max:%.2f" +
+                        " visible:%s inFlight:%s redelivered:%d sendErrors:%d%n",
+                scope, STATISTICS.produced.get(), STATISTICS.consumed.sum(), consumed * 1e9 / Math.max(1L, elapsedNanos),
+                percentiles[0] / 1000D, percentiles[1] / 1000D, percentiles[2] / 1000D, percentiles[3] / 1000D, percentiles[4] / 1000D,
+                attributes.get(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES),
+                attributes.get(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE),
+                STATISTICS.redelivered.sum(), STATISTICS.sendErrors.sum());
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) throw new IllegalArgumentException("Invalid argument: " + arg);
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    /**
+     * 按速率发送消息, 消息体为发送时的 System.nanoTime(), 用于计算端到端延迟
+     */
+    private static class Producer implements Runnable {
+        private final InMemorySqsClient sqsClient;
+        private final String queueUrl;
+        private final double ratePerNano;
+        private final long start;
+        private final long end;
+        private final boolean fifoQueue;
+        private final int groups;
+        private final int index;
+        private long sent;
+
+        private Producer(InMemorySqsClient sqsClient, String queueUrl, double ratePerSecond, long start, long end,
+                         boolean fifoQueue, int groups, int index) {
+            this.sqsClient = sqsClient;
+            this.queueUrl = queueUrl;
+            this.ratePerNano = ratePerSecond / 1e9;
+            this.start = start;
+            this.end = end;
+            this.fifoQueue = fifoQueue;
+            this.groups = groups;
+            this.index = index;
+        }
+
+        @Override
+        public void run() {
+            long now;
+            while ((now = System.nanoTime()) < end) {
+                long due = (long) ((now - start) * ratePerNano) - sent;
+                if (due <= 0) {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+                    continue;
+                }
+                int size = (int) Math.min(10L, due);
+                List<SendMessageBatchRequestEntry> entries = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    long id = STATISTICS.produced.incrementAndGet();
+                    SendMessageBatchRequestEntry.Builder entry = SendMessageBatchRequestEntry.builder()
+                            .id(Integer.toString(i)).messageBody(Long.toString(System.nanoTime()));
+                    if (fifoQueue) entry.messageGroupId("group-" + (id % groups)).messageDeduplicationId(index + "-" + id);
+                    entries.add(entry.build());
+                }
+                sent += size;
+                try {
+                    SendMessageBatchResponse response = sqsClient.sendMessageBatch(
+                            SendMessageBatchRequest.builder().queueUrl(queueUrl).entries(entries).build());
+                    if (response.hasFailed() && !response.failed().isEmpty()) {
+                        STATISTICS.sendErrors.add(response.failed().size());
+                        STATISTICS.produced.addAndGet(-response.failed().size());
+                    }
+                } catch (Exception e) {
+                    STATISTICS.sendErrors.add(size);
+                    STATISTICS.produced.addAndGet(-size);
+                }
+            }
+        }
+    }
+
+    private static class Statistics {
+        private final AtomicLong produced = new AtomicLong();
+        private final LongAdder consumed = new LongAdder();
+        private final LongAdder redelivered = new LongAdder();
+        private final LongAdder sendErrors = new LongAdder();
+        // 单位: 微秒
+        private final LatencyHistogram latency = new LatencyHistogram();
+    }
+
+    public static class HarnessListener {
+        private final HandlerProfile profile;
+
+        public HarnessListener(HandlerProfile profile) {
+            this.profile = profile;
+        }
+
+        @SqsListener(queueUrl = "${harness.queue-url}", attributeNames = {"All"})
+        public void onMessage(Message message) {
+            profile.work();
+            String receiveCount = message.attributes().get(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT);
+            if (receiveCount != null && Integer.parseInt(receiveCount) > 1) STATISTICS.redelivered.increment();
+            STATISTICS.consumed.increment();
+            STATISTICS.latency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - Long.parseLong(message.body())));
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EnableSqsListener
+    public static class HarnessConfiguration {
+
+        @Bean
+        public HarnessListener harnessListener(Environment environment) {
+            return new HarnessListener(HandlerProfile.parse(environment.getProperty("harness.profile")));
+        }
+    }
+}
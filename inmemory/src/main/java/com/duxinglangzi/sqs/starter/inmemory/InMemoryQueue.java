@@ -0,0 +1,409 @@
+package com.duxinglangzi.sqs.starter.inmemory;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 单个内存队列
+ * <p>
+ * 可见的消息: 标准队列按发送顺序存放; FIFO 队列按消息组存放, 组内按序号排序, 组内有处理中的消息时整个组不可拉取.
+ * 不可见的消息(处理中或延迟投递)按重新可见的时间放入优先队列, 每次操作时将已到期的消息放回可见队列.
+ *
+ * @author wuqiong 2026/10/18
+ */
+class InMemoryQueue {
+
+    // FIFO 队列消息去重的时间窗口
+    private static final long DEDUPLICATION_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final String name;
+    private final String url;
+    private final boolean fifoQueue;
+    private final boolean contentBasedDeduplication;
+    private final int visibilityTimeoutSeconds;
+    private final long createdTimestamp = System.currentTimeMillis();
+    private final ReentrantLock lock = new ReentrantLock();
+    // 有消息变为可拉取时通知长轮询中的请求
+    private final Condition available = lock.newCondition();
+    private final ArrayDeque<StoredMessage> ready = new ArrayDeque<>();
+    private final LinkedHashMap<String, MessageGroup> groups = new LinkedHashMap<>();
+    private final PriorityQueue<Lease> invisible = new PriorityQueue<>(Comparator.comparingLong(lease -> lease.visibleAt));
+    // key: receiptHandle
+    private final Map<String, StoredMessage> receipts = new HashMap<>();
+    // key: MessageDeduplicationId, 按加入顺序即过期顺序
+    private final LinkedHashMap<String, StoredMessage> deduplication = new LinkedHashMap<>();
+    private long sequence;
+    private int visibleMessages;
+    private int delayedMessages;
+
+    InMemoryQueue(String name, String url, boolean fifoQueue, boolean contentBasedDeduplication, int visibilityTimeoutSeconds) {
+        this.name = name;
+        this.url = url;
+        this.fifoQueue = fifoQueue;
+        this.contentBasedDeduplication = contentBasedDeduplication;
+        this.visibilityTimeoutSeconds = visibilityTimeoutSeconds;
+    }
+
+    /**
+     * 发送一条消息, FIFO 队列在去重窗口内重复发送时返回首次发送的消息
+     */
+    StoredMessage send(String body, Map<String, MessageAttributeValue> messageAttributes, int delaySeconds,
+                       String messageGroupId, String messageDeduplicationId) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            String deduplicationId = null;
+            if (fifoQueue) {
+                if (messageGroupId == null)
+                    throw InMemorySqsClient.invalidParameter("The request must contain the parameter MessageGroupId.");
+                deduplicationId = messageDeduplicationId != null ? messageDeduplicationId :
+                        contentBasedDeduplication ? sha256(body) : null;
+                if (deduplicationId == null)
+                    throw InMemorySqsClient.invalidParameter(
+                            "The queue should either have ContentBasedDeduplication enabled or MessageDeduplicationId provided explicitly");
+                expireDeduplication(now);
+                StoredMessage duplicate = deduplication.get(deduplicationId);
+                if (duplicate != null) return duplicate;
+            }
+            StoredMessage message = new StoredMessage(UUID.randomUUID().toString(), body, messageAttributes,
+                    messageGroupId, deduplicationId, ++sequence, now);
+            if (deduplicationId != null) deduplication.put(deduplicationId, message);
+            if (delaySeconds > 0) {
+                message.visibleAt = now + TimeUnit.SECONDS.toNanos(delaySeconds);
+                invisible.add(new Lease(message, null, message.visibleAt));
+                delayedMessages++;
+            } else {
+                makeVisible(message);
+            }
+            return message;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 拉取消息, 没有可拉取的消息时最多等待 waitNanos 纳秒
+     */
+    List<Message> receive(int maxNumberOfMessages, int visibilityTimeout, long waitNanos, Collection<String> messageAttributeNames)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + waitNanos;
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                restoreExpired(now);
+                List<Message> messages = new ArrayList<>(maxNumberOfMessages);
+                take(maxNumberOfMessages, visibilityTimeout, now, messageAttributeNames, messages);
+                long remaining = deadline - now;
+                if (!messages.isEmpty() || remaining <= 0) return messages;
+                // 等待新消息, 或最早一条不可见消息到期
+                Lease next = invisible.peek();
+                available.awaitNanos(next == null ? remaining : Math.max(1L, Math.min(remaining, next.visibleAt - now)));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 删除消息, receiptHandle 无效(已删除、已过期或已被再次拉取)时返回 false
+     */
+    boolean delete(String receiptHandle) {
+        lock.lock();
+        try {
+            StoredMessage message = receipts.remove(receiptHandle);
+            if (message == null) return false;
+            message.deleted = true;
+            message.receiptHandle = null;
+            releaseGroup(message);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 修改处理中消息的可见性超时, 为 0 时立即可以被再次拉取
+     */
+    boolean changeVisibility(String receiptHandle, int visibilityTimeout) {
+        lock.lock();
+        try {
+            StoredMessage message = receipts.get(receiptHandle);
+            if (message == null) return false;
+            long now = System.nanoTime();
+            if (visibilityTimeout <= 0) {
+                receipts.remove(receiptHandle);
+                message.receiptHandle = null;
+                message.visibleAt = now;
+                releaseGroup(message);
+                makeVisible(message);
+                return true;
+            }
+            message.visibleAt = now + TimeUnit.SECONDS.toNanos(visibilityTimeout);
+            invisible.add(new Lease(message, receiptHandle, message.visibleAt));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void purge() {
+        lock.lock();
+        try {
+            ready.clear();
+            groups.clear();
+            invisible.clear();
+            receipts.clear();
+            visibleMessages = 0;
+            delayedMessages = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Map<QueueAttributeName, String> attributes() {
+        lock.lock();
+        try {
+            restoreExpired(System.nanoTime());
+            Map<QueueAttributeName, String> attributes = new EnumMap<>(QueueAttributeName.class);
+            attributes.put(QueueAttributeName.VISIBILITY_TIMEOUT, Integer.toString(visibilityTimeoutSeconds));
+            attributes.put(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES, Integer.toString(visibleMessages));
+            attributes.put(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE, Integer.toString(receipts.size()));
+            attributes.put(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_DELAYED, Integer.toString(delayedMessages));
+            attributes.put(QueueAttributeName.CREATED_TIMESTAMP, Long.toString(createdTimestamp / 1000));
+            attributes.put(QueueAttributeName.QUEUE_ARN, "arn:aws:sqs:in-memory:000000000000:" + name);
+            attributes.put(QueueAttributeName.RECEIVE_MESSAGE_WAIT_TIME_SECONDS, "0");
+            if (fifoQueue) {
+                attributes.put(QueueAttributeName.FIFO_QUEUE, Boolean.TRUE.toString());
+                attributes.put(QueueAttributeName.CONTENT_BASED_DEDUPLICATION, Boolean.toString(contentBasedDeduplication));
+            }
+            return attributes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    boolean isFifoQueue() {
+        return fifoQueue;
+    }
+
+    int getVisibilityTimeoutSeconds() {
+        return visibilityTimeoutSeconds;
+    }
+
+    private void take(int maxNumberOfMessages, int visibilityTimeout, long now, Collection<String> messageAttributeNames,
+                      List<Message> messages) {
+        if (!fifoQueue) {
+            while (messages.size() < maxNumberOfMessages && !ready.isEmpty())
+                messages.add(lease(ready.poll(), visibilityTimeout, now, messageAttributeNames));
+            return;
+        }
+        List<MessageGroup> served = new ArrayList<>();
+        Iterator<MessageGroup> iterator = groups.values().iterator();
+        while (iterator.hasNext() && messages.size() < maxNumberOfMessages) {
+            MessageGroup group = iterator.next();
+            if (group.inFlight > 0) continue;
+            if (group.ready.isEmpty()) {
+                iterator.remove();
+                continue;
+            }
+            while (messages.size() < maxNumberOfMessages && !group.ready.isEmpty()) {
+                messages.add(lease(group.ready.poll(), visibilityTimeout, now, messageAttributeNames));
+                group.inFlight++;
+            }
+            iterator.remove();
+            served.add(group);
+        }
+        // 拉取过的消息组移到末尾, 各消息组轮流被拉取
+        for (MessageGroup group : served) groups.put(group.groupId, group);
+    }
+
+    private Message lease(StoredMessage message, int visibilityTimeout, long now, Collection<String> messageAttributeNames) {
+        visibleMessages--;
+        String receiptHandle = UUID.randomUUID().toString();
+        message.receiptHandle = receiptHandle;
+        message.receiveCount++;
+        if (message.firstReceiveTimestamp == 0) message.firstReceiveTimestamp = System.currentTimeMillis();
+        message.visibleAt = now + TimeUnit.SECONDS.toNanos(visibilityTimeout);
+        invisible.add(new Lease(message, receiptHandle, message.visibleAt));
+        receipts.put(receiptHandle, message);
+        return message.toMessage(receiptHandle, messageAttributeNames);
+    }
+
+    /**
+     * 将可见性超时已到期的消息及延迟已到期的消息放回可见队列, 已失效的条目直接丢弃
+     */
+    private void restoreExpired(long now) {
+        while (!invisible.isEmpty() && invisible.peek().visibleAt <= now) {
+            Lease lease = invisible.poll();
+            StoredMessage message = lease.message;
+            if (message.deleted || message.visibleAt != lease.visibleAt || !equals(message.receiptHandle, lease.receiptHandle))
+                continue;
+            if (lease.receiptHandle == null) {
+                delayedMessages--;
+            } else {
+                receipts.remove(lease.receiptHandle);
+                message.receiptHandle = null;
+                releaseGroup(message);
+            }
+            makeVisible(message);
+        }
+    }
+
+    private void makeVisible(StoredMessage message) {
+        visibleMessages++;
+        if (fifoQueue) {
+            groups.computeIfAbsent(message.messageGroupId, MessageGroup::new).ready.add(message);
+        } else {
+            ready.add(message);
+        }
+        available.signalAll();
+    }
+
+    private void releaseGroup(StoredMessage message) {
+        if (!fifoQueue) return;
+        MessageGroup group = groups.get(message.messageGroupId);
+        if (group != null && --group.inFlight == 0 && !group.ready.isEmpty()) available.signalAll();
+    }
+
+    private void expireDeduplication(long now) {
+        Iterator<StoredMessage> iterator = deduplication.values().iterator();
+        while (iterator.hasNext() && now - iterator.next().sentAt > DEDUPLICATION_INTERVAL_NANOS) iterator.remove();
+    }
+
+    private static boolean equals(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static String sha256(String body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) hex.append(String.format("%02x", b));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class MessageGroup {
+        private final String groupId;
+        private final PriorityQueue<StoredMessage> ready = new PriorityQueue<>(Comparator.comparingLong(m -> m.sequenceNumber));
+        // 已拉取尚未删除或重新可见的消息数, 大于0时该组不可拉取
+        private int inFlight;
+
+        private MessageGroup(String groupId) {
+            this.groupId = groupId;
+        }
+    }
+
+    /**
+     * 不可见消息的到期条目, receiptHandle 为空时表示延迟投递
+     */
+    private static class Lease {
+        private final StoredMessage message;
+        private final String receiptHandle;
+        private final long visibleAt;
+
+        private Lease(StoredMessage message, String receiptHandle, long visibleAt) {
+            this.message = message;
+            this.receiptHandle = receiptHandle;
+            this.visibleAt = visibleAt;
+        }
+    }
+
+    static class StoredMessage {
+        final String messageId;
+        final String body;
+        final Map<String, MessageAttributeValue> messageAttributes;
+        final String messageGroupId;
+        final String messageDeduplicationId;
+        final long sequenceNumber;
+        final long sentAt;
+        final long sentTimestamp = System.currentTimeMillis();
+        private int receiveCount;
+        private long firstReceiveTimestamp;
+        private String receiptHandle;
+        private long visibleAt;
+        private boolean deleted;
+
+        private StoredMessage(String messageId, String body, Map<String, MessageAttributeValue> messageAttributes,
+                              String messageGroupId, String messageDeduplicationId, long sequenceNumber, long sentAt) {
+            this.messageId = messageId;
+            this.body = body;
+            this.messageAttributes = messageAttributes;
+            this.messageGroupId = messageGroupId;
+            this.messageDeduplicationId = messageDeduplicationId;
+            this.sequenceNumber = sequenceNumber;
+            this.sentAt = sentAt;
+        }
+
+        String sequenceNumber() {
+            return messageGroupId == null ? null : Long.toString(sequenceNumber);
+        }
+
+        /**
+         * 系统属性总是全部返回, 消息属性按请求的名称过滤
+         */
+        private Message toMessage(String receiptHandle, Collection<String> messageAttributeNames) {
+            Map<MessageSystemAttributeName, String> attributes = new EnumMap<>(MessageSystemAttributeName.class);
+            attributes.put(MessageSystemAttributeName.SENT_TIMESTAMP, Long.toString(sentTimestamp));
+            attributes.put(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, Integer.toString(receiveCount));
+            attributes.put(MessageSystemAttributeName.APPROXIMATE_FIRST_RECEIVE_TIMESTAMP, Long.toString(firstReceiveTimestamp));
+            if (messageGroupId != null) {
+                attributes.put(MessageSystemAttributeName.MESSAGE_GROUP_ID, messageGroupId);
+                attributes.put(MessageSystemAttributeName.MESSAGE_DEDUPLICATION_ID, messageDeduplicationId);
+                attributes.put(MessageSystemAttributeName.SEQUENCE_NUMBER, sequenceNumber());
+            }
+            return Message.builder()
+                    .messageId(messageId)
+                    .receiptHandle(receiptHandle)
+                    .body(body)
+                    .attributes(attributes)
+                    .messageAttributes(filter(messageAttributes, messageAttributeNames))
+                    .build();
+        }
+
+        private static Map<String, MessageAttributeValue> filter(Map<String, MessageAttributeValue> messageAttributes,
+                                                                 Collection<String> names) {
+            Map<String, MessageAttributeValue> result = new HashMap<>();
+            if (messageAttributes == null || names == null || names.isEmpty()) return result;
+            for (Map.Entry<String, MessageAttributeValue> entry : messageAttributes.entrySet()) {
+                for (String name : names) {
+                    boolean matched = "All".equals(name) || ".*".equals(name) || name.equals(entry.getKey()) ||
+                            (name.endsWith(".*") && entry.getKey().startsWith(name.substring(0, name.length() - 1)));
+                    if (matched) {
+                        result.put(entry.getKey(), entry.getValue());
+                        break;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.duxinglangzi.sqs.starter.inmemory;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 进程内的 SqsClient 实现, 用于测试及压力测试, 不访问网络
+ * <p>
+ * 模拟了可见性超时、接收次数(ApproximateReceiveCount)、延迟投递、长轮询、FIFO 消息组顺序及 5 分钟去重窗口.
+ * 通过 {@code SqsEndpointFactory.register(clientName, client)} 替换真实的连接:
+ * <pre>
+ * InMemorySqsClient sqsClient = new InMemorySqsClient();
+ * String queueUrl = sqsClient.createQueue("orders");
+ * SqsEndpointFactory.register("defaults", sqsClient);
+ * </pre>
+ * 可以为消息的发送、拉取、删除及修改可见性注入延迟和错误, 队列管理类接口(创建、查询地址及属性)不受影响.
+ * <p>
+ * 与真实 SQS 的差异: 系统属性总是全部返回; receiptHandle 在消息删除、重新可见或被再次拉取后立即失效.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class InMemorySqsClient implements SqsClient {
+
+    public static final String QUEUE_URL_PREFIX = "https://sqs.in-memory.local/000000000000/";
+    private static final int DEFAULT_VISIBILITY_TIMEOUT_SECONDS = 30;
+    private static final SdkHttpResponse OK = SdkHttpResponse.builder().statusCode(200).build();
+
+    // key: queueUrl
+    private final Map<String, InMemoryQueue> queues = new ConcurrentHashMap<>();
+    private volatile long minLatencyMillis;
+    private volatile long maxLatencyMillis;
+    private volatile double errorRate;
+
+    /**
+     * 创建队列, 名称以 .fifo 结尾时为 FIFO 队列(启用基于内容的去重)
+     *
+     * @param queueName 队列名称
+     * @return queueUrl
+     * @author wuqiong 2026/10/18
+     */
+    public String createQueue(String queueName) {
+        return createQueue(CreateQueueRequest.builder().queueName(queueName).build()).queueUrl();
+    }
+
+    @Override
+    public CreateQueueResponse createQueue(CreateQueueRequest request) {
+        String queueName = request.queueName();
+        Map<QueueAttributeName, String> attributes = request.hasAttributes() ? request.attributes() : null;
+        boolean fifoQueue = queueName.endsWith(".fifo");
+        boolean contentBasedDeduplication = attributes == null || !attributes.containsKey(QueueAttributeName.CONTENT_BASED_DEDUPLICATION) ?
+                fifoQueue : Boolean.parseBoolean(attributes.get(QueueAttributeName.CONTENT_BASED_DEDUPLICATION));
+        int visibilityTimeout = attributes == null || !attributes.containsKey(QueueAttributeName.VISIBILITY_TIMEOUT) ?
+                DEFAULT_VISIBILITY_TIMEOUT_SECONDS : Integer.parseInt(attributes.get(QueueAttributeName.VISIBILITY_TIMEOUT));
+        String queueUrl = QUEUE_URL_PREFIX + queueName;
+        queues.computeIfAbsent(queueUrl, url ->
+                new InMemoryQueue(queueName, url, fifoQueue, contentBasedDeduplication, visibilityTimeout));
+        return CreateQueueResponse.builder().queueUrl(queueUrl).build();
+    }
+
+    @Override
+    public GetQueueUrlResponse getQueueUrl(GetQueueUrlRequest request) {
+        return GetQueueUrlResponse.builder().queueUrl(queue(QUEUE_URL_PREFIX + request.queueName()).getUrl()).build();
+    }
+
+    @Override
+    public ListQueuesResponse listQueues(ListQueuesRequest request) {
+        String prefix = request.queueNamePrefix() == null ? "" : request.queueNamePrefix();
+        return ListQueuesResponse.builder().queueUrls(queues.keySet().stream()
+                .filter(url -> url.startsWith(QUEUE_URL_PREFIX + prefix)).sorted().collect(Collectors.toList())).build();
+    }
+
+    @Override
+    public GetQueueAttributesResponse getQueueAttributes(GetQueueAttributesRequest request) {
+        Map<QueueAttributeName, String> attributes = queue(request.queueUrl()).attributes();
+        List<QueueAttributeName> names = request.hasAttributeNames() ? request.attributeNames() : null;
+        if (names != null && !names.contains(QueueAttributeName.ALL)) attributes.keySet().retainAll(names);
+        return GetQueueAttributesResponse.builder().attributes(attributes).build();
+    }
+
+    @Override
+    public PurgeQueueResponse purgeQueue(PurgeQueueRequest request) {
+        queue(request.queueUrl()).purge();
+        return PurgeQueueResponse.builder().build();
+    }
+
+    @Override
+    public SendMessageResponse sendMessage(SendMessageRequest request) {
+        InMemoryQueue queue = queue(request.queueUrl());
+        injectFault();
+        InMemoryQueue.StoredMessage message = queue.send(request.messageBody(),
+                request.hasMessageAttributes() ? request.messageAttributes() : null, delaySeconds(queue, request.delaySeconds()),
+                request.messageGroupId(), request.messageDeduplicationId());
+        return SendMessageResponse.builder().messageId(message.messageId).sequenceNumber(message.sequenceNumber()).build();
+    }
+
+    @Override
+    public SendMessageBatchResponse sendMessageBatch(SendMessageBatchRequest request) {
+        InMemoryQueue queue = queue(request.queueUrl());
+        checkBatch(request.entries(), SendMessageBatchRequestEntry::id);
+        injectFault();
+        List<SendMessageBatchResultEntry> successful = new ArrayList<>();
+        List<BatchResultErrorEntry> failed = new ArrayList<>();
+        for (SendMessageBatchRequestEntry entry : request.entries()) {
+            try {
+                InMemoryQueue.StoredMessage message = queue.send(entry.messageBody(),
+                        entry.hasMessageAttributes() ? entry.messageAttributes() : null, delaySeconds(queue, entry.delaySeconds()),
+                        entry.messageGroupId(), entry.messageDeduplicationId());
+                successful.add(SendMessageBatchResultEntry.builder()
+                        .id(entry.id()).messageId(message.messageId).sequenceNumber(message.sequenceNumber()).build());
+            } catch (SqsException e) {
+                failed.add(BatchResultErrorEntry.builder()
+                        .id(entry.id()).senderFault(true).code(e.awsErrorDetails().errorCode()).message(e.getMessage()).build());
+            }
+        }
+        return (SendMessageBatchResponse) SendMessageBatchResponse.builder()
+                .successful(successful).failed(failed).sdkHttpResponse(OK).build();
+    }
+
+    @Override
+    public ReceiveMessageResponse receiveMessage(ReceiveMessageRequest request) {
+        InMemoryQueue queue = queue(request.queueUrl());
+        injectFault();
+        int maxNumberOfMessages = request.maxNumberOfMessages() == null ? 1 : request.maxNumberOfMessages();
+        if (maxNumberOfMessages < 1 || maxNumberOfMessages > 10)
+            throw invalidParameter("Value " + maxNumberOfMessages + " for parameter MaxNumberOfMessages is invalid.");
+        int visibilityTimeout = request.visibilityTimeout() == null ? queue.getVisibilityTimeoutSeconds() : request.visibilityTimeout();
+        long waitNanos = request.waitTimeSeconds() == null ? 0L : TimeUnit.SECONDS.toNanos(request.waitTimeSeconds());
+        try {
+            List<Message> messages = queue.receive(maxNumberOfMessages, visibilityTimeout, waitNanos,
+                    request.hasMessageAttributeNames() ? request.messageAttributeNames() : null);
+            return (ReceiveMessageResponse) ReceiveMessageResponse.builder().messages(messages).sdkHttpResponse(OK).build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw SqsException.builder().message("Interrupted while waiting for messages").cause(e).build();
+        }
+    }
+
+    @Override
+    public DeleteMessageResponse deleteMessage(DeleteMessageRequest request) {
+        InMemoryQueue queue = queue(request.queueUrl());
+        injectFault();
+        if (!queue.delete(request.receiptHandle())) throw receiptHandleIsInvalid(request.receiptHandle());
+        return (DeleteMessageResponse) DeleteMessageResponse.builder().sdkHttpResponse(OK).build();
+    }
+
+    @Override
+    public DeleteMessageBatchResponse deleteMessageBatch(DeleteMessageBatchRequest request) {
+        InMemoryQueue queue = queue(request.queueUrl());
+        checkBatch(request.entries(), DeleteMessageBatchRequestEntry::id);
+        injectFault();
+        List<DeleteMessageBatchResultEntry> successful = new ArrayList<>();
+        List<BatchResultErrorEntry> failed = new ArrayList<>();
+        for (DeleteMessageBatchRequestEntry entry : request.entries()) {
+            if (queue.delete(entry.receiptHandle())) {
+                successful.add(DeleteMessageBatchResultEntry.builder().id(entry.id()).build());
+            } else {
+                failed.add(receiptHandleIsInvalid(entry.id(), entry.receiptHandle()));
+            }
+        }
+        return (DeleteMessageBatchResponse) DeleteMessageBatchResponse.builder()
+                .successful(successful).failed(failed).sdkHttpResponse(OK).build();
+    }
+
+    @Override
+    public ChangeMessageVisibilityResponse changeMessageVisibility(ChangeMessageVisibilityRequest request) {
+        InMemoryQueue queue = queue(request.queueUrl());
+        injectFault();
+        if (!queue.changeVisibility(request.receiptHandle(), visibilityTimeout(request.visibilityTimeout())))
+            throw receiptHandleIsInvalid(request.receiptHandle());
+        return (ChangeMessageVisibilityResponse) ChangeMessageVisibilityResponse.builder().sdkHttpResponse(OK).build();
+    }
+
+    @Override
+    public ChangeMessageVisibilityBatchResponse changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest request) {
+        InMemoryQueue queue = queue(request.queueUrl());
+        checkBatch(request.entries(), ChangeMessageVisibilityBatchRequestEntry::id);
+        injectFault();
+        List<ChangeMessageVisibilityBatchResultEntry> successful = new ArrayList<>();
+        List<BatchResultErrorEntry> failed = new ArrayList<>();
+        for (ChangeMessageVisibilityBatchRequestEntry entry : request.entries()) {
+            if (queue.changeVisibility(entry.receiptHandle(), visibilityTimeout(entry.visibilityTimeout()))) {
+                successful.add(ChangeMessageVisibilityBatchResultEntry.builder().id(entry.id()).build());
+            } else {
+                failed.add(receiptHandleIsInvalid(entry.id(), entry.receiptHandle()));
+            }
+        }
+        return (ChangeMessageVisibilityBatchResponse) ChangeMessageVisibilityBatchResponse.builder()
+                .successful(successful).failed(failed).sdkHttpResponse(OK).build();
+    }
+
+    /**
+     * 设置每次调用的延迟, 在 [minLatencyMillis, maxLatencyMillis] 内均匀分布
+     *
+     * @param minLatencyMillis 最小延迟(毫秒)
+     * @param maxLatencyMillis 最大延迟(毫秒)
+     * @author wuqiong 2026/10/18
+     */
+    public void setLatencyMillis(long minLatencyMillis, long maxLatencyMillis) {
+        this.minLatencyMillis = Math.max(0L, minLatencyMillis);
+        this.maxLatencyMillis = Math.max(this.minLatencyMillis, maxLatencyMillis);
+    }
+
+    /**
+     * 设置调用失败的概率(0 ~ 1), 失败时抛出状态码为 500 的 SqsException, 整个请求失败
+     *
+     * @param errorRate 失败概率
+     * @author wuqiong 2026/10/18
+     */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = Math.max(0D, Math.min(1D, errorRate));
+    }
+
+    private InMemoryQueue queue(String queueUrl) {
+        InMemoryQueue queue = queueUrl == null ? null : queues.get(queueUrl);
+        if (queue == null) throw error(QueueDoesNotExistException.builder(), 400,
+                "AWS.SimpleQueueService.NonExistentQueue", "The specified queue does not exist for this wsdl version.");
+        return queue;
+    }
+
+    private void injectFault() {
+        long max = maxLatencyMillis;
+        if (max > 0) {
+            long min = minLatencyMillis;
+            long latency = min == max ? min : ThreadLocalRandom.current().nextLong(min, max + 1);
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        double rate = errorRate;
+        if (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate)
+            throw error(SqsException.builder(), 500, "InternalError", "Injected failure");
+    }
+
+    private static int delaySeconds(InMemoryQueue queue, Integer delaySeconds) {
+        if (delaySeconds == null || delaySeconds == 0) return 0;
+        if (queue.isFifoQueue())
+            throw invalidParameter("Value " + delaySeconds + " for parameter DelaySeconds is invalid. Reason: The request include parameter that is not valid for this queue type.");
+        if (delaySeconds < 0 || delaySeconds > 900)
+            throw invalidParameter("Value " + delaySeconds + " for parameter DelaySeconds is invalid.");
+        return delaySeconds;
+    }
+
+    private static int visibilityTimeout(Integer visibilityTimeout) {
+        if (visibilityTimeout == null || visibilityTimeout < 0 || visibilityTimeout > 43200)
+            throw invalidParameter("Value " + visibilityTimeout + " for parameter VisibilityTimeout is invalid.");
+        return visibilityTimeout;
+    }
+
+    private static <T> void checkBatch(List<T> entries, Function<T, String> id) {
+        if (entries == null || entries.isEmpty())
+            throw error(SqsException.builder(), 400, "AWS.SimpleQueueService.EmptyBatchRequest",
+                    "There should be at least one entry in the request.");
+        if (entries.size() > 10)
+            throw error(SqsException.builder(), 400, "AWS.SimpleQueueService.TooManyEntriesInBatchRequest",
+                    "Maximum number of entries per request are 10.");
+        Set<String> ids = new HashSet<>();
+        for (T entry : entries) {
+            if (!ids.add(id.apply(entry)))
+                throw error(BatchEntryIdsNotDistinctException.builder(), 400,
+                        "AWS.SimpleQueueService.BatchEntryIdsNotDistinct", "Id " + id.apply(entry) + " repeated.");
+        }
+    }
+
+    static SqsException invalidParameter(String message) {
+        return error(SqsException.builder(), 400, "InvalidParameterValue", message);
+    }
+
+    private static SqsException receiptHandleIsInvalid(String receiptHandle) {
+        return error(ReceiptHandleIsInvalidException.builder(), 400, "ReceiptHandleIsInvalid",
+                "The input receipt handle \"" + receiptHandle + "\" is not a valid receipt handle.");
+    }
+
+    private static BatchResultErrorEntry receiptHandleIsInvalid(String id, String receiptHandle) {
+        return BatchResultErrorEntry.builder().id(id).senderFault(true).code("ReceiptHandleIsInvalid")
+                .message("The input receipt handle \"" + receiptHandle + "\" is not a valid receipt handle.").build();
+    }
+
+    private static SqsException error(SqsException.Builder builder, int statusCode, String errorCode, String message) {
+        return builder.statusCode(statusCode).message(message).awsErrorDetails(AwsErrorDetails.builder()
+                .errorCode(errorCode).errorMessage(message).serviceName(SERVICE_NAME).build()).build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -1,10 +1,23 @@
 package com.duxinglangzi.sqs.starter;
 
+import com.duxinglangzi.sqs.starter.common.Constants;
+import com.duxinglangzi.sqs.starter.compression.PayloadCompression;
+import com.duxinglangzi.sqs.starter.enums.CompressionType;
 import com.duxinglangzi.sqs.starter.factory.SqsEndpointFactory;
+import com.duxinglangzi.sqs.starter.metadata.QueueMetadata;
+import com.duxinglangzi.sqs.starter.metadata.QueueMetadataCache;
+import com.duxinglangzi.sqs.starter.metrics.QueueMetrics;
+import com.duxinglangzi.sqs.starter.metrics.SqsMetrics;
+import com.duxinglangzi.sqs.starter.offload.PayloadOffloading;
+import com.duxinglangzi.sqs.starter.producer.SendMessageBuffer;
 import org.springframework.util.Assert;
 import software.amazon.awssdk.services.sqs.model.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * sqs 连接
@@ -13,6 +26,9 @@ import java.util.Map;
  */
 public class CustomSqsClient {
 
+    // key: clientName + queueUrl
+    private static final Map<String, SendMessageBuffer> SEND_BUFFERS = new ConcurrentHashMap<>();
+
     /**
      * 发送标准消息队列的消息
      *
@@ -37,7 +53,23 @@ public class CustomSqsClient {
      * @author wuqiong 2022/6/25 15:44
      */
     public static SendMessageResponse sentStandardMessage(String clientName, String queueUrl, String messageBody, Integer delaySeconds, Map<String, MessageAttributeValue> messageAttributes) {
-        return SqsEndpointFactory.getSqsClient(clientName).sendMessage(createBuilder(queueUrl, messageBody, delaySeconds, messageAttributes).build());
+        return sentStandardMessage(clientName, queueUrl, messageBody, delaySeconds, messageAttributes, null);
+    }
+
+    /**
+     * 发送标准消息队列的消息, 并指定本次发送的压缩方式
+     *
+     * @param clientName        连接名称 , 为空则使用 defaults
+     * @param queueUrl          队列url地址
+     * @param messageBody       消息内容
+     * @param delaySeconds      延迟秒数
+     * @param messageAttributes 消息自定义参数
+     * @param compression       压缩方式, 为 null 时使用连接的配置, NONE 为不压缩
+     * @return SendMessageResponse
+     * @author wuqiong 2026/10/18
+     */
+    public static SendMessageResponse sentStandardMessage(String clientName, String queueUrl, String messageBody, Integer delaySeconds, Map<String, MessageAttributeValue> messageAttributes, CompressionType compression) {
+        return sendMessage(clientName, createBuilder(queueUrl, messageBody, delaySeconds, messageAttributes).build(), compression);
     }
 
     /**
@@ -68,14 +100,177 @@ public class CustomSqsClient {
      * @author wuqiong 2022/6/25 15:49
      */
     public static SendMessageResponse sentFifoMessage(String clientName, String queueUrl, String messageBody, String messageGroupId, String messageDeduplicationId, Integer delaySeconds, Map<String, MessageAttributeValue> messageAttributes) {
+        return sentFifoMessage(clientName, queueUrl, messageBody, messageGroupId, messageDeduplicationId, delaySeconds, messageAttributes, null);
+    }
+
+    /**
+     * 发送 FIFO 队列的消息, 并指定本次发送的压缩方式
+     *
+     * @param clientName             连接名称 , 为空则使用 defaults
+     * @param queueUrl               队列url地址
+     * @param messageBody            消息内容
+     * @param messageGroupId         消息组ID, FIFO队列此值必需存在
+     * @param messageDeduplicationId 消息重复ID, FIFO队列此值必需存在
+     * @param delaySeconds           延迟秒数
+     * @param messageAttributes      消息自定义参数
+     * @param compression            压缩方式, 为 null 时使用连接的配置, NONE 为不压缩
+     * @return SendMessageResponse
+     * @author wuqiong 2026/10/18
+     */
+    public static SendMessageResponse sentFifoMessage(String clientName, String queueUrl, String messageBody, String messageGroupId, String messageDeduplicationId, Integer delaySeconds, Map<String, MessageAttributeValue> messageAttributes, CompressionType compression) {
         SendMessageRequest.Builder builder = createBuilder(queueUrl, messageBody, delaySeconds, messageAttributes);
         Assert.hasText(messageGroupId, "参数 messageGroupId 值不能为空,请检查");
         Assert.hasText(messageDeduplicationId, "参数 messageDeduplicationId 值不能为空,请检查");
         builder.messageGroupId(messageGroupId);
         builder.messageDeduplicationId(messageDeduplicationId);
-        return SqsEndpointFactory.getSqsClient(clientName).sendMessage(builder.build());
+        return sendMessage(clientName, builder.build(), compression);
     }
 
+    /**
+     * 异步发送标准消息队列的消息
+     * <p>
+     * 并发发送的消息会被合并为 SendMessageBatch 请求 (最多10条且不超过256KB), 适用于高频发送小消息的场景.
+     *
+     * @param clientName        连接名称 , 为空则使用 defaults
+     * @param queueUrl          队列url地址
+     * @param messageBody       消息内容
+     * @param delaySeconds      延迟秒数
+     * @param messageAttributes 消息自定义参数
+     * @return CompletableFuture<SendMessageResponse>
+     * @author wuqiong 2026/10/18
+     */
+    public static CompletableFuture<SendMessageResponse> sentStandardMessageAsync(String clientName, String queueUrl, String messageBody, Integer delaySeconds, Map<String, MessageAttributeValue> messageAttributes) {
+        return sentStandardMessageAsync(clientName, queueUrl, messageBody, delaySeconds, messageAttributes, null);
+    }
+
+    /**
+     * 异步发送标准消息队列的消息, 并指定本次发送的压缩方式
+     *
+     * @param clientName        连接名称 , 为空则使用 defaults
+     * @param queueUrl          队列url地址
+     * @param messageBody       消息内容
+     * @param delaySeconds      延迟秒数
+     * @param messageAttributes 消息自定义参数
+     * @param compression       压缩方式, 为 null 时使用连接的配置, NONE 为不压缩
+     * @return CompletableFuture<SendMessageResponse>
+     * @author wuqiong 2026/10/18
+     */
+    public static CompletableFuture<SendMessageResponse> sentStandardMessageAsync(String clientName, String queueUrl, String messageBody, Integer delaySeconds, Map<String, MessageAttributeValue> messageAttributes, CompressionType compression) {
+        return sendMessageAsync(clientName, createBuilder(queueUrl, messageBody, delaySeconds, messageAttributes).build(), compression);
+    }
+
+    /**
+     * 异步发送 FIFO 队列的消息
+     * <p>
+     * 并发发送的消息会被合并为 SendMessageBatch 请求, 同一消息组内的消息按调用顺序发送.
+     *
+     * @param clientName             连接名称 , 为空则使用 defaults
+     * @param queueUrl               队列url地址
+     * @param messageBody            消息内容
+     * @param messageGroupId         消息组ID, FIFO队列此值必需存在
+     * @param messageDeduplicationId 消息重复ID, FIFO队列此值必需存在
+     * @param delaySeconds           延迟秒数
+     * @param messageAttributes      消息自定义参数
+     * @return CompletableFuture<SendMessageResponse>
+     * @author wuqiong 2026/10/18
+     */
+    public static CompletableFuture<SendMessageResponse> sentFifoMessageAsync(String clientName, String queueUrl, String messageBody, String messageGroupId, String messageDeduplicationId, Integer delaySeconds, Map<String, MessageAttributeValue> messageAttributes) {
+        return sentFifoMessageAsync(clientName, queueUrl, messageBody, messageGroupId, messageDeduplicationId, delaySeconds, messageAttributes, null);
+    }
+
+    /**
+     * 异步发送 FIFO 队列的消息, 并指定本次发送的压缩方式
+     *
+     * @param clientName             连接名称 , 为空则使用 defaults
+     * @param queueUrl               队列url地址
+     * @param messageBody            消息内容
+     * @param messageGroupId         消息组ID, FIFO队列此值必需存在
+     * @param messageDeduplicationId 消息重复ID, FIFO队列此值必需存在
+     * @param delaySeconds           延迟秒数
+     * @param messageAttributes      消息自定义参数
+     * @param compression            压缩方式, 为 null 时使用连接的配置, NONE 为不压缩
+     * @return CompletableFuture<SendMessageResponse>
+     * @author wuqiong 2026/10/18
+     */
+    public static CompletableFuture<SendMessageResponse> sentFifoMessageAsync(String clientName, String queueUrl, String messageBody, String messageGroupId, String messageDeduplicationId, Integer delaySeconds, Map<String, MessageAttributeValue> messageAttributes, CompressionType compression) {
+        SendMessageRequest.Builder builder = createBuilder(queueUrl, messageBody, delaySeconds, messageAttributes);
+        Assert.hasText(messageGroupId, "参数 messageGroupId 值不能为空,请检查");
+        Assert.hasText(messageDeduplicationId, "参数 messageDeduplicationId 值不能为空,请检查");
+        builder.messageGroupId(messageGroupId);
+        builder.messageDeduplicationId(messageDeduplicationId);
+        return sendMessageAsync(clientName, builder.build(), compression);
+    }
+
+    /**
+     * 发送大消息: 内容以流的方式直接写入 PayloadStore(claim-check), 队列内只发送存储的 key, 不经过堆内存
+     * <p>
+     * 需开启 duxinglangzi.queue.sqs.offload.enabled; 发送失败时删除已写入存储的内容.
+     *
+     * @param clientName             连接名称 , 为空则使用 defaults
+     * @param queueUrl               队列url地址
+     * @param payload                消息内容, 由调用方关闭
+     * @param messageGroupId         消息组ID, 仅 FIFO 队列需要, 标准队列传 null
+     * @param messageDeduplicationId 消息重复ID, 仅 FIFO 队列需要, 标准队列传 null
+     * @param delaySeconds           延迟秒数
+     * @param messageAttributes      消息自定义参数
+     * @return SendMessageResponse
+     * @author wuqiong 2026/10/18
+     */
+    public static SendMessageResponse sentOffloadedMessage(String clientName, String queueUrl, InputStream payload, String messageGroupId, String messageDeduplicationId, Integer delaySeconds, Map<String, MessageAttributeValue> messageAttributes) throws IOException {
+        Assert.hasText(queueUrl, "参数 queueUrl 值不能为空,请检查");
+        Assert.notNull(payload, "参数 payload 值不能为空,请检查");
+        SendMessageRequest.Builder builder = SendMessageRequest.builder().queueUrl(queueUrl);
+        if (delaySeconds != null) builder.delaySeconds(delaySeconds);
+        if (messageAttributes != null && !messageAttributes.isEmpty()) builder.messageAttributes(messageAttributes);
+        if (messageGroupId != null) builder.messageGroupId(messageGroupId);
+        if (messageDeduplicationId != null) builder.messageDeduplicationId(messageDeduplicationId);
+        return sendMessage(clientName, PayloadOffloading.offload(builder, payload, -1L).build(), CompressionType.NONE);
+    }
+
+    /**
+     * 立即发送所有缓冲区内尚未发送的消息, 并等待全部得到发送结果, 例如应用关闭前调用
+     *
+     * @author wuqiong 2026/10/18
+     */
+    public static void flushSendBuffers() {
+        CompletableFuture.allOf(SEND_BUFFERS.values().stream()
+                .map(SendMessageBuffer::flush)
+                .toArray(CompletableFuture[]::new)).join();
+    }
+
+    private static SendMessageResponse sendMessage(String clientName, SendMessageRequest request, CompressionType compression) {
+        QueueMetrics metrics = SqsMetrics.of(clientName, request.queueUrl());
+        long start = System.nanoTime();
+        boolean success = false;
+        // 先压缩, 压缩后仍超过阈值的内容存入存储, 只发送存储的 key
+        SendMessageRequest offloaded = PayloadOffloading.offloadIfNecessary(clientName,
+                PayloadCompression.compressIfNecessary(clientName, request, compression));
+        try {
+            SendMessageResponse response = SqsEndpointFactory.getSqsClient(clientName).sendMessage(offloaded);
+            success = true;
+            return response;
+        } finally {
+            metrics.recordSend(System.nanoTime() - start, success);
+            if (!success) PayloadOffloading.discard(offloaded);
+        }
+    }
+
+    private static CompletableFuture<SendMessageResponse> sendMessageAsync(String clientName, SendMessageRequest request, CompressionType compression) {
+        QueueMetrics metrics = SqsMetrics.of(clientName, request.queueUrl());
+        long start = System.nanoTime();
+        SendMessageRequest offloaded = PayloadOffloading.offloadIfNecessary(clientName,
+                PayloadCompression.compressIfNecessary(clientName, request, compression));
+        return sendBuffer(clientName, request.queueUrl()).send(offloaded)
+                .whenComplete((response, throwable) -> {
+                    metrics.recordSend(System.nanoTime() - start, throwable == null);
+                    if (throwable != null) PayloadOffloading.discard(offloaded);
+                });
+    }
+
+    private static SendMessageBuffer sendBuffer(String clientName, String queueUrl) {
+        return SEND_BUFFERS.computeIfAbsent(clientName + "|" + queueUrl, key -> new SendMessageBuffer(
+                queueUrl, SqsEndpointFactory.getSqsClient(clientName), Constants.DEFAULT_SEND_BATCH_LINGER_MILLIS));
+    }
 
     /**
      * 拉取一个 或者 多个消息
@@ -115,8 +310,15 @@ public class CustomSqsClient {
                 .queueUrl(queueUrl)
                 .receiptHandle(receiptHandle)
                 .build();
-        DeleteMessageResponse deleteMessageResponse = SqsEndpointFactory.getSqsClient(clientName).deleteMessage(buildDeleteRequest);
-        return deleteMessageResponse.sdkHttpResponse().isSuccessful();
+        long start = System.nanoTime();
+        boolean deleted = false;
+        try {
+            DeleteMessageResponse deleteMessageResponse = SqsEndpointFactory.getSqsClient(clientName).deleteMessage(buildDeleteRequest);
+            deleted = deleteMessageResponse.sdkHttpResponse().isSuccessful();
+            return deleted;
+        } finally {
+            SqsMetrics.of(clientName, queueUrl).recordDelete(System.nanoTime() - start, deleted ? 0 : 1);
+        }
     }
 
     /**
@@ -135,11 +337,19 @@ public class CustomSqsClient {
                 .queueUrl(queueUrl)
                 .entries(entries)
                 .build();
-        return SqsEndpointFactory.getSqsClient(clientName).deleteMessageBatch(buildDeleteBatchRequest);
+        long start = System.nanoTime();
+        int failed = entries == null ? 0 : entries.length;
+        try {
+            DeleteMessageBatchResponse response = SqsEndpointFactory.getSqsClient(clientName).deleteMessageBatch(buildDeleteBatchRequest);
+            failed = response.hasFailed() ? response.failed().size() : 0;
+            return response;
+        } finally {
+            SqsMetrics.of(clientName, queueUrl).recordDelete(System.nanoTime() - start, failed);
+        }
     }
 
     /**
-     * 根据名称查询 queue url
+     * 根据名称查询 queue url, 结果按连接缓存
      *
      * @param queueName  队列名称
      * @param clientName 连接名称 , 为空则使用 defaults
@@ -148,9 +358,19 @@ public class CustomSqsClient {
      */
     public static String queryQueueUrl(String clientName, String queueName) {
         Assert.hasText(queueName, "参数 queueName 值不能为空,请检查");
-        return SqsEndpointFactory.getSqsClient(clientName)
-                .getQueueUrl(GetQueueUrlRequest.builder().queueName(queueName).build())
-                .queueUrl();
+        return QueueMetadataCache.of(clientName).queueUrl(queueName);
+    }
+
+    /**
+     * 查询队列元数据(是否 FIFO、可见性超时、死信队列配置、最大消息大小), 结果按连接缓存
+     *
+     * @param clientName 连接名称 , 为空则使用 defaults
+     * @param queue      队列名称或地址
+     * @return QueueMetadata
+     * @author wuqiong 2026/10/18
+     */
+    public static QueueMetadata queryQueueMetadata(String clientName, String queue) {
+        return QueueMetadataCache.of(clientName).get(queue);
     }
 
     private static SendMessageRequest.Builder createBuilder(String queueUrl, String messageBody, Integer delaySeconds, Map<String, MessageAttributeValue> messageAttributes) {
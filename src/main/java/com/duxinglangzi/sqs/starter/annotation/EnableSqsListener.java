@@ -3,6 +3,7 @@ package com.duxinglangzi.sqs.starter.annotation;
 import com.duxinglangzi.sqs.starter.config.SqsConfig;
 import com.duxinglangzi.sqs.starter.config.SqsListenerConfigurationSelector;
 import com.duxinglangzi.sqs.starter.listener.ApplicationReadyListener;
+import com.duxinglangzi.sqs.starter.listener.ConnectionWarmUpListener;
 import org.springframework.context.annotation.Import;
 
 import java.lang.annotation.*;
@@ -16,6 +17,6 @@ import java.lang.annotation.*;
 @Inherited
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
-@Import({SqsConfig.class, SqsListenerConfigurationSelector.class, ApplicationReadyListener.class})
+@Import({SqsConfig.class, SqsListenerConfigurationSelector.class, ApplicationReadyListener.class, ConnectionWarmUpListener.class})
 public @interface EnableSqsListener {
 }
@@ -51,4 +51,90 @@ public @interface SqsListener {
      */
     int maxNumberOfMessages() default 10;
 
+    /**
+     * 长轮询等待时间(秒), 取值 0-20, 默认10秒
+     * <p>
+     * 长轮询返回空结果后会立即再次拉取; 为0时为短轮询, 空结果后等待1秒再拉取.
+     */
+    int waitTimeSeconds() default 10;
+
+    /**
+     * 单个 listener 最大在途(处理中)消息数
+     * <p>
+     * 默认为0, 即按批次处理: 整批消息处理完成后才会拉取下一批.
+     * <p>
+     * 大于0时启用在途窗口模式: 有空闲槽位即拉取新消息, 标准队列每条消息处理完成后立即删除,
+     * FIFO 队列每个消息组处理完成后立即删除.
+     */
+    int maxInFlightMessages() default 0;
+
+    /**
+     * 该 listener 独立线程池(bulkhead)的线程数
+     * <p>
+     * 默认为0, 即使用连接配置的独立线程池 (SqsConfig worker-threads), 未配置时使用所有 listener 共享的线程池.
+     * <p>
+     * 大于0时, 该 listener 的消息在独立的线程池内处理, 且只拉取有空闲线程处理的消息, 此时 maxInFlightMessages 不再生效.
+     */
+    int workerThreads() default 0;
+
+    /**
+     * 并发拉取消息的线程数, 每个线程独立进行长轮询
+     * <p>
+     * 默认为0, 即使用 SqsConfig 内对应连接配置的 concurrency (未配置则为1)
+     */
+    int concurrency() default 0;
+
+    /**
+     * 最大拉取线程数, 大于 concurrency 时按队列积压自动扩缩容
+     * <p>
+     * 拉取线程数在 [concurrency, maxConcurrency] 之间调整, 由 listener 自身配置的在途消息上限随之等比例调整;
+     * 默认为0, 即使用 SqsConfig 内对应连接配置的 max-concurrency (未配置则不扩缩容)
+     */
+    int maxConcurrency() default 0;
+
+    /**
+     * 批量 listener 单批最多消息数, 仅在方法参数为 List&lt;Message&gt; 时生效
+     * <p>
+     * 跨多次拉取聚合消息, 达到 batchSize 条或超过 batchWindowMillis 时调用一次方法.
+     */
+    int batchSize() default 100;
+
+    /**
+     * 批量 listener 聚合等待的最长时间(毫秒), 仅在方法参数为 List&lt;Message&gt; 时生效
+     * <p>
+     * 聚合期间消息已经开始计算可见性超时, 该值需要远小于队列的可见性超时时间.
+     */
+    long batchWindowMillis() default 1000L;
+
+    /**
+     * 处理中消息可见性超时的最长延长时间(秒), 从拉取到消息时开始计算
+     * <p>
+     * 默认为0, 即不延长. 大于0时, 处理中的消息会在可见性超时到期前自动延长(每次延长一个队列的可见性超时时间),
+     * 直到处理完成或达到该上限, 避免耗时较长的消息在处理过程中被重新投递. SQS 最多允许延长至12小时(43200秒).
+     */
+    long maxVisibilityExtensionSeconds() default 0L;
+
+    /**
+     * 是否启用自适应并发上限, 默认 false, 即使用连接的 adaptive-concurrency 配置
+     * <p>
+     * 启用后按 listener 方法的耗时(含线程池等待)及失败率调整在途消息上限: 耗时上升或失败率过高时收缩, 稳定时缓慢增长,
+     * 上限为 maxInFlightMessages(未设置时为每个拉取线程一个批次), 每次拉取请求的条数不超过剩余的槽位.
+     * 批量 listener 及使用独立线程池(workerThreads)的 listener 不支持.
+     */
+    boolean adaptiveConcurrency() default false;
+
+    /**
+     * 是否启用消费端去重, 默认 false
+     * <p>
+     * 标准队列至少投递一次, 启用后调用方法前按去重 key 检查: 已处理成功的重复消息不再调用方法, 按配置删除;
+     * 同一 key 的消息仍在处理中时跳过且不删除. 方法执行失败时移除记录, 重新投递后可以再次处理.
+     * 存储参考 duxinglangzi.queue.sqs.dedup 配置, 注册 DeduplicationStore bean 可替换为共享的存储.
+     */
+    boolean deduplicate() default false;
+
+    /**
+     * 去重 key 所在的消息属性名称, 默认为空, 即使用 messageId; 消息不包含该属性时同样使用 messageId
+     */
+    String deduplicationKey() default "";
+
 }
@@ -0,0 +1,51 @@
+package com.duxinglangzi.sqs.starter.codec;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 二进制消息内容, 支持 ByteBuffer / byte[] / SdkBytes
+ * <p>
+ * 消息存在二进制属性 {@link #PAYLOAD_ATTRIBUTE} 时, 通过 SdkBytes.asByteBuffer() 读取, 不复制数据
+ * (需在 @SqsListener messageAttributeNames 内包含该属性); 否则使用消息体的 UTF-8 字节.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class BinaryPayloadCodec implements PayloadCodec {
+
+    // 存放二进制消息内容的消息属性名称
+    public static final String PAYLOAD_ATTRIBUTE = "payload";
+
+    @Override
+    public boolean canDecode(Type targetType) {
+        return ByteBuffer.class == targetType || byte[].class == targetType || SdkBytes.class == targetType;
+    }
+
+    @Override
+    public Object decode(Message message, Type targetType) {
+        if (ByteBuffer.class == targetType) return payloadBuffer(message);
+        SdkBytes bytes = binaryAttribute(message);
+        if (bytes == null) bytes = SdkBytes.fromUtf8String(message.body());
+        return SdkBytes.class == targetType ? bytes : bytes.asByteArray();
+    }
+
+    /**
+     * 消息内容的只读 ByteBuffer, 优先使用二进制属性
+     */
+    public static ByteBuffer payloadBuffer(Message message) {
+        SdkBytes bytes = binaryAttribute(message);
+        if (bytes != null) return bytes.asByteBuffer();
+        return ByteBuffer.wrap(message.body().getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer();
+    }
+
+    private static SdkBytes binaryAttribute(Message message) {
+        if (!message.hasMessageAttributes()) return null;
+        MessageAttributeValue value = message.messageAttributes().get(PAYLOAD_ATTRIBUTE);
+        return value == null ? null : value.binaryValue();
+    }
+}
@@ -0,0 +1,42 @@
+package com.duxinglangzi.sqs.starter.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON 消息解码, 支持任意可由 Jackson 反序列化的类型(包括泛型)
+ * <p>
+ * 每个目标类型的 ObjectReader 只创建一次并缓存, 避免每条消息重复解析类型信息.
+ * 作为兜底的解码器, 排在其他内置解码器之后.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class JacksonPayloadCodec implements PayloadCodec {
+
+    private final ObjectMapper objectMapper;
+    private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    public JacksonPayloadCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean canDecode(Type targetType) {
+        return true;
+    }
+
+    @Override
+    public Object decode(Message message, Type targetType) throws Exception {
+        return reader(targetType).readValue(message.body());
+    }
+
+    private ObjectReader reader(Type targetType) {
+        return readers.computeIfAbsent(targetType,
+                type -> objectMapper.readerFor(objectMapper.getTypeFactory().constructType(type)));
+    }
+}
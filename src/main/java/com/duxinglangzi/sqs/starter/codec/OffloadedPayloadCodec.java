@@ -0,0 +1,34 @@
+package com.duxinglangzi.sqs.starter.codec;
+
+import com.duxinglangzi.sqs.starter.offload.OffloadedPayload;
+import com.duxinglangzi.sqs.starter.offload.PayloadOffloading;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+/**
+ * 支持 OffloadedPayload / InputStream, 存入存储(claim-check)的消息内容由 listener 按需读取
+ * <p>
+ * 参数为 InputStream 时由 listener 负责关闭.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class OffloadedPayloadCodec implements PayloadCodec {
+
+    @Override
+    public boolean canDecode(Type targetType) {
+        return OffloadedPayload.class == targetType || InputStream.class == targetType;
+    }
+
+    @Override
+    public Object decode(Message message, Type targetType) throws Exception {
+        OffloadedPayload payload = PayloadOffloading.payload(message);
+        return InputStream.class == targetType ? payload.openStream() : payload;
+    }
+
+    @Override
+    public boolean resolvesOffloadedPayload() {
+        return true;
+    }
+}
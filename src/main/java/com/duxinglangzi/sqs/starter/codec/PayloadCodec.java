@@ -0,0 +1,44 @@
+package com.duxinglangzi.sqs.starter.codec;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.lang.reflect.Type;
+
+/**
+ * 消息内容解码器
+ * <p>
+ * listener 方法的第一个参数不是 Message 时, 由解码器将消息转换为该参数的类型.
+ * 注册为 spring bean 的解码器优先于内置解码器, 多个时按 {@link org.springframework.core.annotation.Order} 排序.
+ * <p>
+ * 解码失败时抛出的异常与 listener 方法抛出的异常相同, 按 {@link com.duxinglangzi.sqs.starter.enums.MessageDeletionPolicy} 处理.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public interface PayloadCodec {
+
+    /**
+     * 是否支持解码为该类型, 注册 listener 时调用一次
+     *
+     * @param targetType listener 方法第一个参数的类型
+     * @return boolean
+     */
+    boolean canDecode(Type targetType);
+
+    /**
+     * 将消息解码为目标类型, 每条消息调用一次, 实现类需要保证线程安全
+     *
+     * @param message    消息
+     * @param targetType listener 方法第一个参数的类型
+     * @return Object
+     */
+    Object decode(Message message, Type targetType) throws Exception;
+
+    /**
+     * 是否自行读取存入存储(claim-check)的消息内容, 为 false 时容器在解码前读取完整内容并替换消息体
+     *
+     * @return boolean
+     */
+    default boolean resolvesOffloadedPayload() {
+        return false;
+    }
+}
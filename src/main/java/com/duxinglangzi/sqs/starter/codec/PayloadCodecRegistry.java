@@ -0,0 +1,71 @@
+package com.duxinglangzi.sqs.starter.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 消息内容解码器注册表
+ * <p>
+ * 顺序: spring 容器内的 PayloadCodec bean → OffloadedPayload/InputStream → String → 二进制 → protobuf → Jackson(classpath 存在时).
+ * 解码器在注册 listener 时按参数类型确定一次, 处理消息时不再查找.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class PayloadCodecRegistry {
+
+    private static final String JACKSON_OBJECT_MAPPER = "com.fasterxml.jackson.databind.ObjectMapper";
+    private final List<PayloadCodec> codecs;
+
+    public PayloadCodecRegistry(List<PayloadCodec> codecs) {
+        this.codecs = codecs;
+    }
+
+    /**
+     * 以 spring 容器内的 PayloadCodec bean 及内置解码器创建注册表
+     *
+     * @param beanFactory beanFactory
+     * @return PayloadCodecRegistry
+     * @author wuqiong 2026/10/18
+     */
+    public static PayloadCodecRegistry create(ListableBeanFactory beanFactory) {
+        List<PayloadCodec> codecs = new ArrayList<>(beanFactory.getBeansOfType(PayloadCodec.class).values());
+        AnnotationAwareOrderComparator.sort(codecs);
+        codecs.add(new OffloadedPayloadCodec());
+        codecs.add(new StringPayloadCodec());
+        codecs.add(new BinaryPayloadCodec());
+        codecs.add(new ProtobufPayloadCodec());
+        if (ClassUtils.isPresent(JACKSON_OBJECT_MAPPER, PayloadCodecRegistry.class.getClassLoader()))
+            codecs.add(JacksonCodecs.create(beanFactory));
+        return new PayloadCodecRegistry(codecs);
+    }
+
+    /**
+     * 查找可以解码为该类型的解码器
+     *
+     * @param targetType listener 方法第一个参数的类型
+     * @return PayloadCodec, 不存在时返回 null
+     * @author wuqiong 2026/10/18
+     */
+    public PayloadCodec find(Type targetType) {
+        for (PayloadCodec codec : codecs) {
+            if (codec.canDecode(targetType)) return codec;
+        }
+        return null;
+    }
+
+    /**
+     * 隔离对 Jackson 的引用, classpath 不存在 Jackson 时不会加载此类
+     */
+    private static class JacksonCodecs {
+        private static PayloadCodec create(ListableBeanFactory beanFactory) {
+            ObjectMapper objectMapper = beanFactory.getBeanProvider(ObjectMapper.class).getIfAvailable(ObjectMapper::new);
+            return new JacksonPayloadCodec(objectMapper);
+        }
+    }
+}
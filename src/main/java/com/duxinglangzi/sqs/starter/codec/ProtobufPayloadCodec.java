@@ -0,0 +1,63 @@
+package com.duxinglangzi.sqs.starter.codec;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * protobuf 消息解码, 目标类型为生成的 protobuf 消息类
+ * <p>
+ * 通过反射调用生成类的静态方法 parseFrom(ByteBuffer), 不依赖 protobuf 的 jar 包, 每个类型只查找一次.
+ * 消息内容优先读取二进制属性 {@link BinaryPayloadCodec#PAYLOAD_ATTRIBUTE}, 否则将消息体按 Base64 解码.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class ProtobufPayloadCodec implements PayloadCodec {
+
+    private static final String MESSAGE_LITE = "com.google.protobuf.MessageLite";
+    private final Map<Class<?>, MethodHandle> parsers = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean canDecode(Type targetType) {
+        return targetType instanceof Class && isProtobufMessage((Class<?>) targetType) && parser((Class<?>) targetType) != null;
+    }
+
+    @Override
+    public Object decode(Message message, Type targetType) throws Exception {
+        ByteBuffer payload = message.hasMessageAttributes() && message.messageAttributes().containsKey(BinaryPayloadCodec.PAYLOAD_ATTRIBUTE) ?
+                BinaryPayloadCodec.payloadBuffer(message) : ByteBuffer.wrap(Base64.getDecoder().decode(message.body()));
+        try {
+            return parser((Class<?>) targetType).invoke(payload);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private MethodHandle parser(Class<?> type) {
+        return parsers.computeIfAbsent(type, key -> {
+            try {
+                return MethodHandles.publicLookup().findStatic(key, "parseFrom", MethodType.methodType(key, ByteBuffer.class));
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        });
+    }
+
+    private static boolean isProtobufMessage(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Class<?> each : current.getInterfaces()) {
+                if (MESSAGE_LITE.equals(each.getName()) || isProtobufMessage(each)) return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,23 @@
+package com.duxinglangzi.sqs.starter.codec;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.lang.reflect.Type;
+
+/**
+ * 直接使用消息体字符串
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class StringPayloadCodec implements PayloadCodec {
+
+    @Override
+    public boolean canDecode(Type targetType) {
+        return String.class == targetType;
+    }
+
+    @Override
+    public Object decode(Message message, Type targetType) {
+        return message.body();
+    }
+}
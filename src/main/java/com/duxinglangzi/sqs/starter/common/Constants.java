@@ -12,4 +12,52 @@ public class Constants {
     // 长轮询最大等待时间
     public static final int DEFAULT_WAIT_TIME_SECONDS = 10;
 
+    // 删除缓冲区凑批的最长等待时间(毫秒)
+    public static final long DEFAULT_DELETE_BATCH_WINDOW_MILLIS = 10L;
+
+    // 发送缓冲区凑批的最长等待时间(毫秒)
+    public static final long DEFAULT_SEND_BATCH_LINGER_MILLIS = 10L;
+
+    // SDK 默认的最大连接数
+    public static final int DEFAULT_HTTP_MAX_CONNECTIONS = 50;
+
+    // 自动计算连接池大小时, 为发送消息等 listener 之外的调用预留的连接数
+    public static final int DEFAULT_HTTP_CONNECTION_HEADROOM = 10;
+
+    // 应用就绪前等待容器初始化及连接预热的最长时间(秒)
+    public static final long DEFAULT_WARM_UP_TIMEOUT_SECONDS = 30L;
+
+    // 积压的消化时间低于目标时间的该比例时才考虑缩容
+    public static final double DEFAULT_AUTOSCALE_SCALE_IN_RATIO = 0.25;
+
+    // 在途消息数低于容量的该比例时才考虑缩容
+    public static final double DEFAULT_AUTOSCALE_SCALE_IN_UTILIZATION = 0.5;
+
+    // 连续满足缩容条件的采样次数, 达到后才缩容
+    public static final int DEFAULT_AUTOSCALE_SCALE_IN_SAMPLES = 3;
+
+    // 自适应并发上限的采样窗口
+    public static final long DEFAULT_ADAPTIVE_CONCURRENCY_WINDOW_NANOS = 1_000_000_000L;
+
+    // 采样窗口内至少需要的样本数, 不足时继续累积
+    public static final int DEFAULT_ADAPTIVE_CONCURRENCY_MIN_SAMPLES = 10;
+
+    // 长期平均耗时的平滑系数, 约为最近20个窗口
+    public static final double DEFAULT_ADAPTIVE_CONCURRENCY_LONG_WINDOW_SMOOTHING = 0.05;
+
+    // 本窗口耗时超过长期耗时的该倍数时才收缩上限
+    public static final double DEFAULT_ADAPTIVE_CONCURRENCY_TOLERANCE = 1.5;
+
+    // 新上限的平滑系数
+    public static final double DEFAULT_ADAPTIVE_CONCURRENCY_SMOOTHING = 0.2;
+
+    // 失败率超过该值时乘性减小上限
+    public static final double DEFAULT_ADAPTIVE_CONCURRENCY_ERROR_RATE = 0.1;
+
+    // 失败率过高时上限的减小比例
+    public static final double DEFAULT_ADAPTIVE_CONCURRENCY_BACKOFF_RATIO = 0.9;
+
+    // 解压后消息内容的最大字节数, 防止压缩炸弹
+    public static final int DEFAULT_MAX_DECOMPRESSED_BYTES = 64 * 1024 * 1024;
+
 }
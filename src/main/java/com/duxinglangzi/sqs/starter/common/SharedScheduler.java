@@ -0,0 +1,41 @@
+package com.duxinglangzi.sqs.starter.common;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * starter 内部共享的定时调度线程
+ * <p>
+ * 仅用于延迟重试、批次超时等轻量的定时任务, 任务内不允许执行阻塞操作;
+ * 定时触发的阻塞调用(如 SqsClient 请求)需交给 {@link #blockingExecutor()} 执行.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class SharedScheduler {
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "SQS_Starter_Scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final AtomicInteger BLOCKING_INDEX = new AtomicInteger();
+    private static final ExecutorService BLOCKING_EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "SQS_Starter_Blocking-" + BLOCKING_INDEX.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public static ScheduledExecutorService get() {
+        return SCHEDULER;
+    }
+
+    /**
+     * 执行定时任务触发的阻塞调用, 不占用 listener 线程池
+     */
+    public static ExecutorService blockingExecutor() {
+        return BLOCKING_EXECUTOR;
+    }
+}
@@ -0,0 +1,128 @@
+package com.duxinglangzi.sqs.starter.compression;
+
+import java.io.IOException;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * gzip 格式(RFC 1952)的压缩及解压缩
+ * <p>
+ * 直接使用 Deflater/Inflater 并自行处理头部及尾部, Deflater/Inflater 从池中复用,
+ * 避免 GZIPInputStream/GZIPOutputStream 每条消息创建一次本地内存.
+ * <p>
+ * 内容来自队列, 解压时校验头部各字段的边界、尾部的 CRC32 及 ISIZE, 输出超过最大字节数时抛出 ZipException.
+ *
+ * @author wuqiong 2026/10/18
+ */
+class GzipPayloadCompressor implements PayloadCompressor {
+
+    private static final int MAGIC_1 = 0x1f;
+    private static final int MAGIC_2 = 0x8b;
+    private static final int CM_DEFLATE = 8;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+    private static final int HEADER_SIZE = 10;
+    private static final int TRAILER_SIZE = 8;
+    private static final int MAX_PREALLOCATE_RATIO = 32;
+
+    private final ObjectPool<Deflater> deflaters;
+    private final ObjectPool<Inflater> inflaters;
+
+    GzipPayloadCompressor(int maxIdle) {
+        this.deflaters = new ObjectPool<>(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, true), d -> true, Deflater::end, maxIdle);
+        this.inflaters = new ObjectPool<>(() -> new Inflater(true), i -> true, Inflater::end, maxIdle);
+    }
+
+    @Override
+    public void compress(byte[] src, int off, int len, ReusableBuffer out) {
+        out.write(new byte[]{(byte) MAGIC_1, (byte) MAGIC_2, CM_DEFLATE, 0, 0, 0, 0, 0, 0, (byte) 0xff}, 0, HEADER_SIZE);
+        Deflater deflater = deflaters.acquire();
+        try {
+            deflater.setInput(src, off, len);
+            deflater.finish();
+            while (!deflater.finished()) {
+                out.ensureRemaining(Math.max(512, len / 4));
+                int written = deflater.deflate(out.array(), out.size(), out.capacity() - out.size());
+                out.size(out.size() + written);
+            }
+        } finally {
+            deflater.reset();
+            deflaters.release(deflater);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(src, off, len);
+        writeIntLE(out, (int) crc.getValue());
+        writeIntLE(out, len);
+    }
+
+    @Override
+    public void decompress(byte[] src, int off, int len, ReusableBuffer out, int maxBytes) throws IOException {
+        if (len < HEADER_SIZE + TRAILER_SIZE || (src[off] & 0xff) != MAGIC_1 || (src[off + 1] & 0xff) != MAGIC_2
+                || src[off + 2] != CM_DEFLATE)
+            throw new ZipException("Not in GZIP format");
+        // 头部的可变字段不能进入尾部
+        int end = off + len - TRAILER_SIZE;
+        int flags = src[off + 3] & 0xff;
+        int pos = off + HEADER_SIZE;
+        if ((flags & FEXTRA) != 0) {
+            if (pos + 2 > end) throw new ZipException("Corrupt GZIP header");
+            pos += 2 + ((src[pos] & 0xff) | (src[pos + 1] & 0xff) << 8);
+        }
+        if ((flags & FNAME) != 0) pos = skipZeroTerminated(src, pos, end);
+        if ((flags & FCOMMENT) != 0) pos = skipZeroTerminated(src, pos, end);
+        if ((flags & FHCRC) != 0) pos += 2;
+        if (pos > end) throw new ZipException("Corrupt GZIP header");
+        int expectedCrc = readIntLE(src, end);
+        int expectedSize = readIntLE(src, end + 4);
+        // ISIZE 为原始大小对 2^32 取模且来自消息内容, 仅用于预分配, 限制在合理范围内
+        int preallocate = expectedSize > 0 ? Math.min(expectedSize, len * MAX_PREALLOCATE_RATIO) : len * 4;
+        out.ensureRemaining(Math.min(preallocate, maxBytes));
+        int start = out.size();
+        Inflater inflater = inflaters.acquire();
+        try {
+            inflater.setInput(src, pos, end - pos);
+            while (!inflater.finished()) {
+                // 最多输出到最大字节数 + 1, 超过最大字节数时才能被发现
+                int limit = (int) Math.min(Integer.MAX_VALUE - 16, (long) maxBytes - (out.size() - start) + 1);
+                out.ensureRemaining(Math.min(Math.max(512, len), limit));
+                int written = inflater.inflate(out.array(), out.size(), Math.min(out.capacity() - out.size(), limit));
+                if (written == 0 && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary()))
+                    throw new ZipException("Unexpected end of GZIP data");
+                out.size(out.size() + written);
+                if (out.size() - start > maxBytes) throw new ZipException("GZIP payload exceeds " + maxBytes + " bytes");
+            }
+            // 压缩数据之后不能有多余的内容(不支持多个 member)
+            if (inflater.getRemaining() > 0) throw new ZipException("Trailing data after GZIP member");
+        } catch (DataFormatException e) {
+            throw new ZipException(e.getMessage());
+        } finally {
+            inflater.reset();
+            inflaters.release(inflater);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(out.array(), start, out.size() - start);
+        if ((int) crc.getValue() != expectedCrc || out.size() - start != expectedSize) throw new ZipException("Corrupt GZIP trailer");
+    }
+
+    private static int skipZeroTerminated(byte[] src, int pos, int end) throws ZipException {
+        while (pos < end && src[pos] != 0) pos++;
+        if (pos >= end) throw new ZipException("Corrupt GZIP header");
+        return pos + 1;
+    }
+
+    private static void writeIntLE(ReusableBuffer out, int value) {
+        out.write(value & 0xff);
+        out.write((value >>> 8) & 0xff);
+        out.write((value >>> 16) & 0xff);
+        out.write((value >>> 24) & 0xff);
+    }
+
+    private static int readIntLE(byte[] src, int pos) {
+        return (src[pos] & 0xff) | (src[pos + 1] & 0xff) << 8 | (src[pos + 2] & 0xff) << 16 | (src[pos + 3] & 0xff) << 24;
+    }
+}
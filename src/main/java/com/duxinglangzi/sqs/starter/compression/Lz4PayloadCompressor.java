@@ -0,0 +1,60 @@
+package com.duxinglangzi.sqs.starter.compression;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+import java.io.IOException;
+import java.util.zip.ZipException;
+
+/**
+ * LZ4 块格式的压缩及解压缩, 前4个字节(大端)为原始大小
+ * <p>
+ * 仅在 classpath 存在 org.lz4:lz4-java 时加载此类. 内容来自队列, 解压使用不信任原始大小的 safeDecompressor,
+ * 输出不超过原始大小及最大字节数.
+ *
+ * @author wuqiong 2026/10/18
+ */
+class Lz4PayloadCompressor implements PayloadCompressor {
+
+    private static final int LENGTH_SIZE = 4;
+    // LZ4 块格式的最大压缩比约为 255, 超过时原始大小必然有误
+    private static final int MAX_RATIO = 255;
+    private final LZ4Compressor compressor;
+    private final LZ4SafeDecompressor decompressor;
+
+    Lz4PayloadCompressor() {
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        this.compressor = factory.fastCompressor();
+        this.decompressor = factory.safeDecompressor();
+    }
+
+    @Override
+    public void compress(byte[] src, int off, int len, ReusableBuffer out) {
+        int maxLength = compressor.maxCompressedLength(len);
+        out.ensureRemaining(LENGTH_SIZE + maxLength);
+        out.write(len >>> 24);
+        out.write(len >>> 16);
+        out.write(len >>> 8);
+        out.write(len);
+        int written = compressor.compress(src, off, len, out.array(), out.size(), maxLength);
+        out.size(out.size() + written);
+    }
+
+    @Override
+    public void decompress(byte[] src, int off, int len, ReusableBuffer out, int maxBytes) throws IOException {
+        if (len < LENGTH_SIZE) throw new ZipException("Corrupt LZ4 payload");
+        int length = (src[off] & 0xff) << 24 | (src[off + 1] & 0xff) << 16 | (src[off + 2] & 0xff) << 8 | (src[off + 3] & 0xff);
+        if (length < 0 || length > (long) (len - LENGTH_SIZE) * MAX_RATIO + 16) throw new ZipException("Corrupt LZ4 payload");
+        if (length > maxBytes) throw new ZipException("LZ4 payload exceeds " + maxBytes + " bytes: " + length);
+        out.ensureRemaining(length);
+        int written;
+        try {
+            written = decompressor.decompress(src, off + LENGTH_SIZE, len - LENGTH_SIZE, out.array(), out.size(), length);
+        } catch (RuntimeException e) {
+            throw new ZipException("Corrupt LZ4 payload: " + e.getMessage());
+        }
+        if (written != length) throw new ZipException("Corrupt LZ4 payload");
+        out.size(out.size() + written);
+    }
+}
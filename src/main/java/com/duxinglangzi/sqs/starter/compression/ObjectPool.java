@@ -0,0 +1,61 @@
+package com.duxinglangzi.sqs.starter.compression;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 简单的对象池, 用于复用解压缩的缓冲区及 Inflater/Deflater
+ * <p>
+ * 不使用 ThreadLocal, 虚拟线程下同样可以复用; 空闲对象超过 maxIdle 或不可复用时丢弃,
+ * 丢弃前调用 discard 释放其持有的资源(如 Inflater/Deflater 的 native 内存).
+ *
+ * @author wuqiong 2026/10/18
+ */
+class ObjectPool<T> {
+
+    private final Queue<T> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final Supplier<T> factory;
+    // 归还时判断是否可以复用, 例如缓冲区过大时不再保留
+    private final Predicate<T> reusable;
+    // 丢弃对象时的回调
+    private final Consumer<T> discard;
+    private final int maxIdle;
+
+    ObjectPool(Supplier<T> factory, Predicate<T> reusable, int maxIdle) {
+        this(factory, reusable, object -> {
+        }, maxIdle);
+    }
+
+    ObjectPool(Supplier<T> factory, Predicate<T> reusable, Consumer<T> discard, int maxIdle) {
+        this.factory = factory;
+        this.reusable = reusable;
+        this.discard = discard;
+        this.maxIdle = maxIdle;
+    }
+
+    T acquire() {
+        T object = idle.poll();
+        if (object == null) return factory.get();
+        idleCount.decrementAndGet();
+        return object;
+    }
+
+    void release(T object) {
+        if (object == null) return;
+        if (!reusable.test(object)) {
+            discard.accept(object);
+            return;
+        }
+        if (idleCount.incrementAndGet() > maxIdle) {
+            idleCount.decrementAndGet();
+            discard.accept(object);
+            return;
+        }
+        idle.offer(object);
+    }
+}
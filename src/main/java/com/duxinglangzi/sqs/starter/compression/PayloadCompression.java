@@ -0,0 +1,257 @@
+package com.duxinglangzi.sqs.starter.compression;
+
+import com.duxinglangzi.sqs.starter.common.Constants;
+import com.duxinglangzi.sqs.starter.config.SqsConfig;
+import com.duxinglangzi.sqs.starter.enums.CompressionType;
+import com.duxinglangzi.sqs.starter.offload.PayloadOffloading;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 消息内容的透明压缩
+ * <p>
+ * 发送时按 clientName 的配置(或单次调用指定的方式)压缩超过阈值的消息体, 压缩后的内容以 Base64 作为消息体,
+ * 并添加消息属性 {@link #ENCODING_ATTRIBUTE}(压缩方式); 压缩后没有变小时按原内容发送.
+ * 消费时容器按消息属性解压后再解码, 解压使用池化的缓冲区及 Inflater, 不依赖 ThreadLocal.
+ * 压缩内容来自队列, 解压后超过 {@link #setMaxDecompressedBytes(int)} 的消息以 ZipException 失败.
+ * <p>
+ * 与 claim-check 同时使用时先压缩再判断是否存入存储, 存储内保存的是压缩后的内容.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public final class PayloadCompression {
+
+    // 标记消息内容已压缩的消息属性, 值为 CompressionType#getEncoding
+    public static final String ENCODING_ATTRIBUTE = "PayloadEncoding";
+    // SQS 单条消息最多10个消息属性
+    private static final int MAX_MESSAGE_ATTRIBUTES = 10;
+    private static final int POOL_MAX_IDLE = 64;
+    private static final int BUFFER_INITIAL_CAPACITY = 8 * 1024;
+    // 超过该容量的缓冲区使用后不放回池内, 避免偶发的大消息长期占用内存
+    private static final int BUFFER_MAX_RETAINED = 1024 * 1024;
+    private static final boolean LZ4_PRESENT =
+            ClassUtils.isPresent("net.jpountz.lz4.LZ4Factory", PayloadCompression.class.getClassLoader());
+
+    private static final ObjectPool<ReusableBuffer> buffers = new ObjectPool<>(
+            () -> new ReusableBuffer(BUFFER_INITIAL_CAPACITY), b -> b.capacity() <= BUFFER_MAX_RETAINED, POOL_MAX_IDLE);
+    private static final PayloadCompressor gzip = new GzipPayloadCompressor(POOL_MAX_IDLE);
+    private static volatile PayloadCompressor lz4;
+    private static volatile int maxDecompressedBytes = Constants.DEFAULT_MAX_DECOMPRESSED_BYTES;
+
+    // key: clientName
+    private static final Map<String, Settings> clientSettings = new ConcurrentHashMap<>();
+
+    private PayloadCompression() {
+    }
+
+    /**
+     * 设置 clientName 发送时的默认压缩方式, 由 starter 在启动时按配置调用
+     *
+     * @param clientName     连接名称, 为空则为 defaults
+     * @param type           压缩方式, NONE 或 null 为不压缩
+     * @param thresholdBytes 消息体超过该字节数时压缩
+     * @author wuqiong 2026/10/18
+     */
+    public static void configure(String clientName, CompressionType type, int thresholdBytes) {
+        if (type == null || type == CompressionType.NONE) {
+            clientSettings.remove(normalize(clientName));
+            return;
+        }
+        compressor(type);
+        clientSettings.put(normalize(clientName), new Settings(type, Math.max(0, thresholdBytes)));
+    }
+
+    /**
+     * 设置解压后消息内容的最大字节数, 由 starter 在启动时按配置调用
+     */
+    public static void setMaxDecompressedBytes(int maxDecompressedBytes) {
+        PayloadCompression.maxDecompressedBytes = maxDecompressedBytes > 0 ?
+                maxDecompressedBytes : Constants.DEFAULT_MAX_DECOMPRESSED_BYTES;
+    }
+
+    /**
+     * 消息内容是否已压缩
+     */
+    public static boolean isCompressed(Message message) {
+        return message.hasMessageAttributes() && message.messageAttributes().containsKey(ENCODING_ATTRIBUTE);
+    }
+
+    /**
+     * 消息的压缩方式, 未压缩时返回 NONE
+     *
+     * @param message 消息
+     * @return CompressionType
+     * @author wuqiong 2026/10/18
+     */
+    public static CompressionType compressionOf(Message message) throws IOException {
+        if (!isCompressed(message)) return CompressionType.NONE;
+        String encoding = message.messageAttributes().get(ENCODING_ATTRIBUTE).stringValue();
+        CompressionType type = CompressionType.fromEncoding(encoding);
+        if (type == null) throw new IOException("unsupported payload encoding: " + encoding);
+        return type;
+    }
+
+    /**
+     * 在拉取请求的消息属性名称内加入 {@link #ENCODING_ATTRIBUTE}
+     */
+    public static List<String> withEncodingAttribute(List<String> messageAttributeNames) {
+        List<String> names = messageAttributeNames == null ? new ArrayList<>() : new ArrayList<>(messageAttributeNames);
+        if (!names.contains(ENCODING_ATTRIBUTE) && !names.contains("All") && !names.contains(".*")) names.add(ENCODING_ATTRIBUTE);
+        return names;
+    }
+
+    /**
+     * 按配置压缩消息体, 返回替换后的请求; 未配置、未超过阈值或压缩后没有变小时原样返回
+     *
+     * @param clientName 连接名称
+     * @param request    发送请求
+     * @param type       单次调用指定的压缩方式, 为 null 时使用 clientName 的配置, NONE 为不压缩
+     * @return SendMessageRequest
+     * @author wuqiong 2026/10/18
+     */
+    public static SendMessageRequest compressIfNecessary(String clientName, SendMessageRequest request, CompressionType type) {
+        Settings settings = clientSettings.get(normalize(clientName));
+        if (type == null) type = settings == null ? CompressionType.NONE : settings.type;
+        if (type == CompressionType.NONE || request.messageBody() == null) return request;
+        if (request.hasMessageAttributes() && (request.messageAttributes().size() >= MAX_MESSAGE_ATTRIBUTES
+                || request.messageAttributes().containsKey(ENCODING_ATTRIBUTE)
+                || request.messageAttributes().containsKey(PayloadOffloading.POINTER_ATTRIBUTE))) return request;
+        byte[] body = request.messageBody().getBytes(StandardCharsets.UTF_8);
+        if (settings != null && body.length < settings.thresholdBytes) return request;
+
+        ReusableBuffer buffer = buffers.acquire();
+        try {
+            buffer.reset();
+            compressor(type).compress(body, 0, body.length, buffer);
+            // Base64 后为原大小的 4/3, 没有变小时不压缩
+            if ((buffer.size() + 2) / 3 * 4 >= body.length) return request;
+            ByteBuffer encoded = Base64.getEncoder().encode(ByteBuffer.wrap(buffer.array(), 0, buffer.size()));
+            Map<String, MessageAttributeValue> attributes = new HashMap<>();
+            if (request.hasMessageAttributes()) attributes.putAll(request.messageAttributes());
+            attributes.put(ENCODING_ATTRIBUTE, MessageAttributeValue.builder()
+                    .dataType("String").stringValue(type.getEncoding()).build());
+            return request.toBuilder()
+                    .messageBody(new String(encoded.array(), 0, encoded.remaining(), StandardCharsets.ISO_8859_1))
+                    .messageAttributes(attributes)
+                    .build();
+        } finally {
+            buffers.release(buffer);
+        }
+    }
+
+    /**
+     * 解压消息体, 返回消息体为原内容且不含 {@link #ENCODING_ATTRIBUTE} 的消息;
+     * 未压缩或内容仍在存储内(需先读取)的消息原样返回
+     *
+     * @param message 消息
+     * @return Message
+     * @author wuqiong 2026/10/18
+     */
+    public static Message decompress(Message message) throws IOException {
+        if (!isCompressed(message) || PayloadOffloading.isOffloaded(message)) return message;
+        CompressionType type = compressionOf(message);
+        byte[] compressed;
+        try {
+            compressed = Base64.getDecoder().decode(message.body());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("invalid " + type.getEncoding() + " payload, messageId: " + message.messageId(), e);
+        }
+        ReusableBuffer buffer = buffers.acquire();
+        try {
+            buffer.reset();
+            compressor(type).decompress(compressed, 0, compressed.length, buffer, maxDecompressedBytes);
+            Map<String, MessageAttributeValue> attributes = new HashMap<>(message.messageAttributes());
+            attributes.remove(ENCODING_ATTRIBUTE);
+            return message.toBuilder()
+                    .body(new String(buffer.array(), 0, buffer.size(), StandardCharsets.UTF_8))
+                    .messageAttributes(attributes)
+                    .build();
+        } finally {
+            buffers.release(buffer);
+        }
+    }
+
+    /**
+     * 批量解压, 均未压缩时返回原列表
+     */
+    public static List<Message> decompress(List<Message> messages) throws IOException {
+        List<Message> result = null;
+        for (int i = 0; i < messages.size(); i++) {
+            Message message = messages.get(i);
+            Message decompressed = decompress(message);
+            if (decompressed != message && result == null) result = new ArrayList<>(messages.subList(0, i));
+            if (result != null) result.add(decompressed);
+        }
+        return result == null ? messages : result;
+    }
+
+    /**
+     * 包装读取压缩内容(Base64)的流, 返回读取原内容的流; gzip 为流式解压, 由调用方按需读取,
+     * 其余方式读取完整内容后解压, 解压后不超过最大字节数
+     *
+     * @param compressed 压缩内容
+     * @param type       压缩方式
+     * @return InputStream
+     * @author wuqiong 2026/10/18
+     */
+    public static InputStream decompressingStream(InputStream compressed, CompressionType type) throws IOException {
+        if (type == null || type == CompressionType.NONE) return compressed;
+        if (type == CompressionType.GZIP) return new GZIPInputStream(Base64.getDecoder().wrap(compressed));
+        try (InputStream inputStream = Base64.getDecoder().wrap(compressed)) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = inputStream.read(chunk)) != -1) outputStream.write(chunk, 0, read);
+            byte[] bytes = outputStream.toByteArray();
+            ReusableBuffer buffer = new ReusableBuffer(BUFFER_INITIAL_CAPACITY);
+            compressor(type).decompress(bytes, 0, bytes.length, buffer, maxDecompressedBytes);
+            return new ByteArrayInputStream(buffer.array(), 0, buffer.size());
+        }
+    }
+
+    private static String normalize(String clientName) {
+        return StringUtils.hasText(clientName) ? clientName : SqsConfig.DEFAULT_CLIENT_NAME;
+    }
+
+    private static PayloadCompressor compressor(CompressionType type) {
+        switch (type) {
+            case GZIP:
+                return gzip;
+            case LZ4:
+                if (!LZ4_PRESENT)
+                    throw new IllegalStateException("lz4 compression requires org.lz4:lz4-java on the classpath");
+                PayloadCompressor compressor = lz4;
+                if (compressor == null) lz4 = compressor = new Lz4PayloadCompressor();
+                return compressor;
+            default:
+                throw new IllegalArgumentException("unsupported compression type: " + type);
+        }
+    }
+
+    private static class Settings {
+        private final CompressionType type;
+        private final int thresholdBytes;
+
+        private Settings(CompressionType type, int thresholdBytes) {
+            this.type = type;
+            this.thresholdBytes = thresholdBytes;
+        }
+    }
+}
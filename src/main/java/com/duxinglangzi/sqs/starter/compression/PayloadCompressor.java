@@ -0,0 +1,20 @@
+package com.duxinglangzi.sqs.starter.compression;
+
+import java.io.IOException;
+
+/**
+ * 压缩及解压缩的实现, 结果写入调用方提供的可复用缓冲区, 实现类需要保证线程安全
+ *
+ * @author wuqiong 2026/10/18
+ */
+interface PayloadCompressor {
+
+    void compress(byte[] src, int off, int len, ReusableBuffer out);
+
+    /**
+     * 解压缩, 内容来自队列, 不可信任
+     *
+     * @param maxBytes 解压后的最大字节数, 超过时抛出 ZipException
+     */
+    void decompress(byte[] src, int off, int len, ReusableBuffer out, int maxBytes) throws IOException;
+}
@@ -0,0 +1,57 @@
+package com.duxinglangzi.sqs.starter.compression;
+
+import java.util.Arrays;
+
+/**
+ * 可复用的字节缓冲区, 按需扩容, 归还到池后下次使用前重置
+ *
+ * @author wuqiong 2026/10/18
+ */
+class ReusableBuffer {
+
+    private byte[] array;
+    private int size;
+
+    ReusableBuffer(int initialCapacity) {
+        this.array = new byte[initialCapacity];
+    }
+
+    /**
+     * 保证剩余空间不少于 minRemaining
+     */
+    void ensureRemaining(int minRemaining) {
+        if (array.length - size >= minRemaining) return;
+        array = Arrays.copyOf(array, Math.max(array.length * 2, size + minRemaining));
+    }
+
+    void write(byte[] src, int off, int len) {
+        ensureRemaining(len);
+        System.arraycopy(src, off, array, size, len);
+        size += len;
+    }
+
+    void write(int b) {
+        ensureRemaining(1);
+        array[size++] = (byte) b;
+    }
+
+    byte[] array() {
+        return array;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void size(int size) {
+        this.size = size;
+    }
+
+    int capacity() {
+        return array.length;
+    }
+
+    void reset() {
+        size = 0;
+    }
+}
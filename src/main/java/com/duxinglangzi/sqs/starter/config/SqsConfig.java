@@ -1,5 +1,9 @@
 package com.duxinglangzi.sqs.starter.config;
 
+import com.duxinglangzi.sqs.starter.common.Constants;
+import com.duxinglangzi.sqs.starter.enums.CompressionType;
+import com.duxinglangzi.sqs.starter.enums.HttpEngine;
+import com.duxinglangzi.sqs.starter.enums.TransportType;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
@@ -15,11 +19,26 @@ import java.util.Map;
  * duxinglangzi:
  *   queue:
  *     sqs:
+ *       async-event-loop-threads: 4 # 可选, 所有异步连接共享的 event loop 线程数
+ *       virtual-threads: true # 可选, JDK 21 及以上使用虚拟线程执行拉取及消息处理
+ *       max-decompressed-bytes: 67108864 # 可选, 解压后消息内容的最大字节数
+ *       offload:
+ *         enabled: true # 可选, 超过阈值的消息内容存入 PayloadStore, 队列内只发送 key
+ *         directory: /data/sqs-payloads # 未注册 PayloadStore bean 时使用的本地目录
+ *       dedup:
+ *         capacity: 131072 # 可选, 进程内去重存储最多记录的 key 数(每条约16字节)
+ *         ttl-seconds: 3600 # 可选, 已处理的 key 保留时间
  *       instances:
  *         defaults: # 默认的，如果不设置，程序会将第一个设置为默认的
  *           region: us-west-1
  *           secret-access-key: Ya8raaaaaaaaaaaaaaaaaaaad8AjBii29x
  *           access-key-id: AKbbbHbbbbbbbUF27W
+ *           concurrency: 2 # 该连接下 listener 默认的拉取线程数, 可被 @SqsListener(concurrency) 覆盖
+ *           max-concurrency: 8 # 可选, 大于 concurrency 时按积压自动扩缩容, 可被 @SqsListener(maxConcurrency) 覆盖
+ *           adaptive-concurrency: true # 可选, 按处理耗时及失败率自适应调整 listener 的在途消息上限
+ *           transport: async # 传输方式, 默认 sync
+ *           worker-threads: 20 # 可选, 该连接下的 listener 共享的独立线程池大小
+ *           compression: gzip # 可选, 发送时压缩超过 compression-threshold-bytes 的消息体(gzip / lz4), 默认不压缩
  *         second:  # 第二个
  *           region: us-west-2
  *           secret-access-key: Ya8rccccccccccccccccccccd8AjBii29x
@@ -37,7 +56,47 @@ import java.util.Map;
 @ConfigurationProperties(prefix = "duxinglangzi.queue.sqs")
 public class SqsConfig {
 
+    public static final String DEFAULT_CLIENT_NAME = "defaults";
+
     private Map<String, EndpointInstance> instances;
+    /**
+     * 所有异步连接共享的 event loop 线程数, 默认为0, 即使用 netty 的默认值
+     */
+    private int asyncEventLoopThreads;
+    /**
+     * 是否使用虚拟线程执行拉取及 listener 方法, 仅 JDK 21 及以上生效, 默认 false
+     */
+    private boolean virtualThreads;
+    /**
+     * 停止时等待处理中的消息完成的最长时间(秒), 默认20秒, 需小于 spring.lifecycle.timeout-per-shutdown-phase(默认30秒)
+     * <p>
+     * 已拉取但尚未开始处理的消息会立即重置可见性, 不受此时间影响.
+     */
+    private long shutdownTimeoutSeconds = 20L;
+    /**
+     * 队列地址及属性缓存的刷新间隔(秒), 默认300秒, 过期后仍使用旧值并在后台刷新
+     */
+    private long queueMetadataTtlSeconds = 300L;
+    /**
+     * 自动扩缩容采样队列积压的间隔(秒), 默认10秒
+     */
+    private long autoscaleIntervalSeconds = 10L;
+    /**
+     * 自动扩缩容的目标: 积压的消息在该时间(秒)内消化完成, 默认30秒
+     */
+    private long autoscaleTargetDrainSeconds = 30L;
+    /**
+     * 解压后消息内容的最大字节数, 超过时该消息按解码失败处理, 默认 64MB
+     */
+    private int maxDecompressedBytes = Constants.DEFAULT_MAX_DECOMPRESSED_BYTES;
+    /**
+     * 大消息内容的 claim-check 配置
+     */
+    private OffloadProperties offload = new OffloadProperties();
+    /**
+     * 消费端去重配置, 对 @SqsListener(deduplicate = true) 的 listener 生效
+     */
+    private DeduplicationProperties dedup = new DeduplicationProperties();
 
     public static class EndpointInstance {
         private String accessKeyId;
@@ -47,6 +106,46 @@ public class SqsConfig {
          * <p> 参考 {@link Region}
          */
         private String region;
+        /**
+         * 该连接下每个 listener 默认的并发拉取线程数
+         */
+        private int concurrency = 1;
+        /**
+         * 该连接下每个 listener 默认的最大拉取线程数, 大于 concurrency 时按积压自动扩缩容
+         */
+        private int maxConcurrency = 0;
+        /**
+         * 该连接下的 listener 是否默认启用自适应并发上限, 可被 @SqsListener(adaptiveConcurrency = true) 单独启用
+         */
+        private boolean adaptiveConcurrency;
+        /**
+         * 传输方式, 默认同步
+         * <p> 参考 {@link TransportType}
+         */
+        private TransportType transport = TransportType.SYNC;
+        /**
+         * 该连接下的 listener 共享的独立线程池(bulkhead)线程数, 默认为0, 即使用所有连接共享的线程池
+         * <p>
+         * 大于0时, 该连接下的 listener 只拉取有空闲线程处理的消息, 不会因其他连接的队列繁忙而等待.
+         */
+        private int workerThreads;
+        /**
+         * 应用就绪前预先建立的连接数(完成 TLS 握手), 默认为0, 即不预热
+         */
+        private int warmUpConnections;
+        /**
+         * HTTP 连接配置
+         */
+        private HttpClientProperties http = new HttpClientProperties();
+        /**
+         * 该连接发送消息时的默认压缩方式, 默认不压缩; 消费时按消息属性解压, 与此配置无关
+         * <p> 参考 {@link CompressionType}
+         */
+        private CompressionType compression = CompressionType.NONE;
+        /**
+         * 消息体超过该字节数时压缩, 默认1024
+         */
+        private int compressionThresholdBytes = 1024;
 
         public String getAccessKeyId() {
             return accessKeyId;
@@ -71,6 +170,265 @@ public class SqsConfig {
         public void setRegion(String region) {
             this.region = region;
         }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public boolean isAdaptiveConcurrency() {
+            return adaptiveConcurrency;
+        }
+
+        public void setAdaptiveConcurrency(boolean adaptiveConcurrency) {
+            this.adaptiveConcurrency = adaptiveConcurrency;
+        }
+
+        public TransportType getTransport() {
+            return transport;
+        }
+
+        public void setTransport(TransportType transport) {
+            this.transport = transport;
+        }
+
+        public int getWorkerThreads() {
+            return workerThreads;
+        }
+
+        public void setWorkerThreads(int workerThreads) {
+            this.workerThreads = workerThreads;
+        }
+
+        public int getWarmUpConnections() {
+            return warmUpConnections;
+        }
+
+        public void setWarmUpConnections(int warmUpConnections) {
+            this.warmUpConnections = warmUpConnections;
+        }
+
+        public HttpClientProperties getHttp() {
+            return http;
+        }
+
+        public void setHttp(HttpClientProperties http) {
+            this.http = http;
+        }
+
+        public CompressionType getCompression() {
+            return compression;
+        }
+
+        public void setCompression(CompressionType compression) {
+            this.compression = compression;
+        }
+
+        public int getCompressionThresholdBytes() {
+            return compressionThresholdBytes;
+        }
+
+        public void setCompressionThresholdBytes(int compressionThresholdBytes) {
+            this.compressionThresholdBytes = compressionThresholdBytes;
+        }
+    }
+
+    /**
+     * 消费端去重配置
+     */
+    public static class DeduplicationProperties {
+        /**
+         * 未注册 DeduplicationStore bean 时, 内置的进程内存储最多记录的 key 数, 超过时淘汰最早过期的
+         */
+        private int capacity = 1 << 17;
+        /**
+         * key 的保留时间(秒), 需大于消息可能重新投递的时间, 默认1小时
+         */
+        private long ttlSeconds = 3600L;
+        /**
+         * 已处理成功的重复消息是否删除, 默认 true; 为 false 时不删除, 可见性超时后仍会重新投递
+         */
+        private boolean deleteDuplicates = true;
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public long getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        public void setTtlSeconds(long ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+
+        public boolean isDeleteDuplicates() {
+            return deleteDuplicates;
+        }
+
+        public void setDeleteDuplicates(boolean deleteDuplicates) {
+            this.deleteDuplicates = deleteDuplicates;
+        }
+    }
+
+    /**
+     * 大消息内容的 claim-check 配置
+     */
+    public static class OffloadProperties {
+        /**
+         * 是否启用, 默认 false
+         */
+        private boolean enabled;
+        /**
+         * 消息(内容 + 消息属性)超过该字节数时存入存储, 默认为0, 即使用队列的 MaximumMessageSize
+         */
+        private long thresholdBytes;
+        /**
+         * 未注册 PayloadStore bean 时, 内置的本地文件存储使用的目录, 默认为临时目录下的 sqs-payloads
+         */
+        private String directory = System.getProperty("java.io.tmpdir") + "/sqs-payloads";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getThresholdBytes() {
+            return thresholdBytes;
+        }
+
+        public void setThresholdBytes(long thresholdBytes) {
+            this.thresholdBytes = thresholdBytes;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+    }
+
+    /**
+     * HTTP 连接配置, 时间为0时使用 SDK 的默认值
+     */
+    public static class HttpClientProperties {
+        /**
+         * 同步连接的 HTTP 实现, 默认 apache; 异步连接固定使用 netty
+         * <p> 参考 {@link HttpEngine}
+         */
+        private HttpEngine engine = HttpEngine.APACHE;
+        /**
+         * 最大连接数(异步连接为最大并发请求数), 默认0, 即按该连接下 listener 的拉取线程数及在途消息数计算, 且不小于 SDK 默认的50
+         */
+        private int maxConnections;
+        /**
+         * 从连接池获取连接的最长等待时间(毫秒)
+         */
+        private long connectionAcquisitionTimeoutMillis;
+        /**
+         * 连接空闲多久后关闭(毫秒)
+         */
+        private long connectionMaxIdleTimeMillis;
+        /**
+         * 是否在后台回收空闲连接, 默认 true
+         */
+        private boolean useIdleConnectionReaper = true;
+        /**
+         * 是否开启 TCP keep-alive, 默认 false
+         */
+        private boolean tcpKeepAlive;
+        /**
+         * 建立连接的超时时间(毫秒)
+         */
+        private long connectionTimeoutMillis;
+        /**
+         * 读取超时时间(毫秒), 需大于长轮询的等待时间
+         */
+        private long socketTimeoutMillis;
+
+        public HttpEngine getEngine() {
+            return engine;
+        }
+
+        public void setEngine(HttpEngine engine) {
+            this.engine = engine;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public long getConnectionAcquisitionTimeoutMillis() {
+            return connectionAcquisitionTimeoutMillis;
+        }
+
+        public void setConnectionAcquisitionTimeoutMillis(long connectionAcquisitionTimeoutMillis) {
+            this.connectionAcquisitionTimeoutMillis = connectionAcquisitionTimeoutMillis;
+        }
+
+        public long getConnectionMaxIdleTimeMillis() {
+            return connectionMaxIdleTimeMillis;
+        }
+
+        public void setConnectionMaxIdleTimeMillis(long connectionMaxIdleTimeMillis) {
+            this.connectionMaxIdleTimeMillis = connectionMaxIdleTimeMillis;
+        }
+
+        public boolean isUseIdleConnectionReaper() {
+            return useIdleConnectionReaper;
+        }
+
+        public void setUseIdleConnectionReaper(boolean useIdleConnectionReaper) {
+            this.useIdleConnectionReaper = useIdleConnectionReaper;
+        }
+
+        public boolean isTcpKeepAlive() {
+            return tcpKeepAlive;
+        }
+
+        public void setTcpKeepAlive(boolean tcpKeepAlive) {
+            this.tcpKeepAlive = tcpKeepAlive;
+        }
+
+        public long getConnectionTimeoutMillis() {
+            return connectionTimeoutMillis;
+        }
+
+        public void setConnectionTimeoutMillis(long connectionTimeoutMillis) {
+            this.connectionTimeoutMillis = connectionTimeoutMillis;
+        }
+
+        public long getSocketTimeoutMillis() {
+            return socketTimeoutMillis;
+        }
+
+        public void setSocketTimeoutMillis(long socketTimeoutMillis) {
+            this.socketTimeoutMillis = socketTimeoutMillis;
+        }
     }
 
     public Map<String, EndpointInstance> getInstances() {
@@ -80,4 +438,90 @@ public class SqsConfig {
     public void setInstances(Map<String, EndpointInstance> instances) {
         this.instances = instances;
     }
+
+    public int getAsyncEventLoopThreads() {
+        return asyncEventLoopThreads;
+    }
+
+    public void setAsyncEventLoopThreads(int asyncEventLoopThreads) {
+        this.asyncEventLoopThreads = asyncEventLoopThreads;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public long getShutdownTimeoutSeconds() {
+        return shutdownTimeoutSeconds;
+    }
+
+    public void setShutdownTimeoutSeconds(long shutdownTimeoutSeconds) {
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+    }
+
+    public int getMaxDecompressedBytes() {
+        return maxDecompressedBytes;
+    }
+
+    public void setMaxDecompressedBytes(int maxDecompressedBytes) {
+        this.maxDecompressedBytes = maxDecompressedBytes;
+    }
+
+    public long getQueueMetadataTtlSeconds() {
+        return queueMetadataTtlSeconds;
+    }
+
+    public void setQueueMetadataTtlSeconds(long queueMetadataTtlSeconds) {
+        this.queueMetadataTtlSeconds = queueMetadataTtlSeconds;
+    }
+
+    public long getAutoscaleIntervalSeconds() {
+        return autoscaleIntervalSeconds;
+    }
+
+    public void setAutoscaleIntervalSeconds(long autoscaleIntervalSeconds) {
+        this.autoscaleIntervalSeconds = autoscaleIntervalSeconds;
+    }
+
+    public DeduplicationProperties getDedup() {
+        return dedup;
+    }
+
+    public void setDedup(DeduplicationProperties dedup) {
+        this.dedup = dedup;
+    }
+
+    public OffloadProperties getOffload() {
+        return offload;
+    }
+
+    public void setOffload(OffloadProperties offload) {
+        this.offload = offload;
+    }
+
+    public long getAutoscaleTargetDrainSeconds() {
+        return autoscaleTargetDrainSeconds;
+    }
+
+    public void setAutoscaleTargetDrainSeconds(long autoscaleTargetDrainSeconds) {
+        this.autoscaleTargetDrainSeconds = autoscaleTargetDrainSeconds;
+    }
+
+    /**
+     * 根据连接名称获取端点实例, 未配置 defaults 时, 将第一个作为默认的
+     *
+     * @param clientName 连接名称
+     * @return EndpointInstance
+     * @author wuqiong 2026/10/18
+     */
+    public EndpointInstance getInstance(String clientName) {
+        if (instances == null || instances.isEmpty()) return null;
+        EndpointInstance instance = instances.get(clientName);
+        if (instance == null && DEFAULT_CLIENT_NAME.equals(clientName)) instance = instances.values().iterator().next();
+        return instance;
+    }
 }
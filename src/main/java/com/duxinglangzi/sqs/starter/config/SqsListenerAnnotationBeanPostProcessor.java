@@ -1,8 +1,20 @@
 package com.duxinglangzi.sqs.starter.config;
 
 import com.duxinglangzi.sqs.starter.annotation.SqsListener;
+import com.duxinglangzi.sqs.starter.codec.PayloadCodecRegistry;
+import com.duxinglangzi.sqs.starter.compression.PayloadCompression;
 import com.duxinglangzi.sqs.starter.common.Constants;
+import com.duxinglangzi.sqs.starter.common.VirtualThreads;
+import com.duxinglangzi.sqs.starter.container.InFlightMessageWindow;
+import com.duxinglangzi.sqs.starter.dedup.DeduplicationStore;
+import com.duxinglangzi.sqs.starter.dedup.HashedDeduplicationStore;
+import com.duxinglangzi.sqs.starter.enums.CompressionType;
 import com.duxinglangzi.sqs.starter.factory.SqsEndpointFactory;
+import com.duxinglangzi.sqs.starter.metadata.QueueMetadataCache;
+import com.duxinglangzi.sqs.starter.metrics.SqsMetrics;
+import com.duxinglangzi.sqs.starter.offload.FileSystemPayloadStore;
+import com.duxinglangzi.sqs.starter.offload.PayloadOffloading;
+import com.duxinglangzi.sqs.starter.offload.PayloadStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.support.AopUtils;
@@ -16,15 +28,24 @@ import org.springframework.context.ApplicationContextAware;
 import org.springframework.core.MethodIntrospector;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -76,12 +97,133 @@ public class SqsListenerAnnotationBeanPostProcessor implements
     @Override
     public void afterSingletonsInstantiated() {
         sqsConfig = configurableListableBeanFactory.getBean(SqsConfig.class);
-        SqsEndpointFactory.createBatchByConfig(sqsConfig);
+        SqsEndpointFactory.createBatchByConfig(sqsConfig, connectionDemand());
+        QueueMetadataCache.setDefaultTtlMillis(TimeUnit.SECONDS.toMillis(sqsConfig.getQueueMetadataTtlSeconds()));
+        SqsMetrics.bind(configurableListableBeanFactory);
+        configurePayloadOffloading();
+        configurePayloadCompression();
         if (this.registrars.isEmpty()) return;
-        Map<String, Long> registrarsMap = this.registrars.stream().map(each -> each.getListenerEntry().getValue().clientName())
-                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
-        asyncTaskExecutor = createDefaultTaskExecutor(registrarsMap);
-        this.registrars.forEach(e -> e.registerListenerContainer(configurableListableBeanFactory, sqsConfig, asyncTaskExecutor));
+        // 配置了独立线程池(bulkhead)的 listener, 其余 listener 使用共享的线程池
+        Map<SqsListenerEndpointRegistrar, Bulkhead> bulkheads = new HashMap<>();
+        Map<String, Bulkhead> clientBulkheads = new HashMap<>();
+        List<SqsListenerEndpointRegistrar> sharedRegistrars = new ArrayList<>();
+        for (SqsListenerEndpointRegistrar registrar : this.registrars) {
+            SqsListener listener = registrar.getListenerEntry().getValue();
+            SqsConfig.EndpointInstance instance = sqsConfig.getInstance(listener.clientName());
+            if (listener.workerThreads() > 0) {
+                bulkheads.put(registrar, createBulkhead(
+                        "SQS_Listener_Worker[" + registrar.getListenerEntry().getKey().getName() + "] - ", listener.workerThreads()));
+            } else if (instance != null && instance.getWorkerThreads() > 0) {
+                bulkheads.put(registrar, clientBulkheads.computeIfAbsent(listener.clientName(),
+                        clientName -> createBulkhead("SQS_Client_Worker[" + clientName + "] - ", instance.getWorkerThreads())));
+            } else {
+                sharedRegistrars.add(registrar);
+            }
+        }
+        if (!sharedRegistrars.isEmpty()) {
+            // 按连接名称统计拉取线程数(自动扩缩容时按最大值), 每个拉取线程对应一个批次的消息
+            Map<String, Long> registrarsMap = sharedRegistrars.stream().collect(Collectors.groupingBy(
+                    each -> each.getListenerEntry().getValue().clientName(),
+                    Collectors.summingLong(each -> each.maxConcurrency(sqsConfig))));
+            asyncTaskExecutor = createDefaultTaskExecutor(registrarsMap);
+        }
+        PayloadCodecRegistry codecRegistry = PayloadCodecRegistry.create(configurableListableBeanFactory);
+        ThreadFactory pollerThreadFactory = isVirtualThreadsEnabled() ? VirtualThreads.threadFactory("SQS_Listener_Poller-") : null;
+        DeduplicationStore deduplicationStore = deduplicationStore();
+        this.registrars.forEach(e -> {
+            Bulkhead bulkhead = bulkheads.get(e);
+            if (bulkhead == null) {
+                e.registerListenerContainer(configurableListableBeanFactory, sqsConfig, asyncTaskExecutor, null, pollerThreadFactory, codecRegistry, deduplicationStore);
+            } else {
+                e.registerListenerContainer(configurableListableBeanFactory, sqsConfig, bulkhead.executor, bulkhead.workerSlots, pollerThreadFactory, codecRegistry, deduplicationStore);
+            }
+        });
+    }
+
+    /**
+     * 按连接统计 listener 需要的 http 连接数: 长轮询的拉取线程各占一个连接, 在途消息的删除及可见性续期请求也会占用连接
+     */
+    private Map<SqsConfig.EndpointInstance, Integer> connectionDemand() {
+        Map<SqsConfig.EndpointInstance, Integer> demand = new IdentityHashMap<>();
+        Set<String> countedClients = new HashSet<>();
+        for (SqsListenerEndpointRegistrar registrar : this.registrars) {
+            SqsListener listener = registrar.getListenerEntry().getValue();
+            SqsConfig.EndpointInstance instance = sqsConfig.getInstance(listener.clientName());
+            if (instance == null) continue;
+            int pollers = registrar.maxConcurrency(sqsConfig);
+            int inFlight;
+            if (listener.workerThreads() > 0) {
+                inFlight = listener.workerThreads();
+            } else if (instance.getWorkerThreads() > 0) {
+                // 同一连接的 listener 共用一个线程池, 只统计一次
+                inFlight = countedClients.add(listener.clientName()) ? instance.getWorkerThreads() : 0;
+            } else if (listener.maxInFlightMessages() > 0) {
+                // 自动扩缩容时在途消息上限随拉取线程数等比例扩大
+                inFlight = listener.maxInFlightMessages() * pollers / registrar.concurrency(sqsConfig);
+            } else {
+                inFlight = pollers * Math.min(Constants.DEFAULT_BATCH_MESSAGE, listener.maxNumberOfMessages());
+            }
+            demand.merge(instance, pollers + inFlight, Integer::sum);
+        }
+        return demand;
+    }
+
+    /**
+     * 启用 claim-check: 优先使用 spring 容器内的 PayloadStore, 否则使用配置目录下的本地文件存储
+     */
+    private void configurePayloadOffloading() {
+        SqsConfig.OffloadProperties offload = sqsConfig.getOffload();
+        if (!offload.isEnabled()) return;
+        PayloadStore payloadStore = configurableListableBeanFactory.getBeanProvider(PayloadStore.class).getIfAvailable();
+        if (payloadStore == null) {
+            try {
+                payloadStore = new FileSystemPayloadStore(Paths.get(offload.getDirectory()));
+            } catch (IOException e) {
+                throw new IllegalStateException("duxinglangzi.queue.sqs.offload.directory cannot be created: " + offload.getDirectory(), e);
+            }
+        }
+        PayloadOffloading.configure(payloadStore, offload.getThresholdBytes());
+        logger.info("[SqsListenerAnnotationBeanPostProcessor_configurePayloadOffloading] 启用大消息 claim-check, store:{} ,thresholdBytes:{}",
+                payloadStore.getClass().getName(), offload.getThresholdBytes());
+    }
+
+    /**
+     * 存在启用去重的 listener 时, 所有 listener 共享的去重存储; DeduplicationStore bean 优先
+     */
+    private DeduplicationStore deduplicationStore() {
+        if (this.registrars.stream().noneMatch(e -> e.getListenerEntry().getValue().deduplicate())) return null;
+        DeduplicationStore store = configurableListableBeanFactory.getBeanProvider(DeduplicationStore.class).getIfAvailable();
+        if (store != null) return store;
+        SqsConfig.DeduplicationProperties dedup = sqsConfig.getDedup();
+        HashedDeduplicationStore hashedStore = new HashedDeduplicationStore(
+                dedup.getCapacity(), TimeUnit.SECONDS.toMillis(dedup.getTtlSeconds()));
+        logger.info("[SqsListenerAnnotationBeanPostProcessor_deduplicationStore] 启用消费端去重, capacity:{} ,ttlSeconds:{}",
+                hashedStore.capacity(), dedup.getTtlSeconds());
+        return hashedStore;
+    }
+
+    private void configurePayloadCompression() {
+        PayloadCompression.setMaxDecompressedBytes(sqsConfig.getMaxDecompressedBytes());
+        if (sqsConfig.getInstances() == null) return;
+        for (String clientName : sqsConfig.getInstances().keySet())
+            configurePayloadCompression(clientName, sqsConfig.getInstance(clientName));
+        // 未配置 defaults 时第一个连接作为默认的
+        if (!sqsConfig.getInstances().containsKey(SqsConfig.DEFAULT_CLIENT_NAME))
+            configurePayloadCompression(SqsConfig.DEFAULT_CLIENT_NAME, sqsConfig.getInstance(SqsConfig.DEFAULT_CLIENT_NAME));
+    }
+
+    private void configurePayloadCompression(String clientName, SqsConfig.EndpointInstance instance) {
+        if (instance == null || instance.getCompression() == null || instance.getCompression() == CompressionType.NONE) return;
+        PayloadCompression.configure(clientName, instance.getCompression(), instance.getCompressionThresholdBytes());
+        logger.info("[SqsListenerAnnotationBeanPostProcessor_configurePayloadCompression] 启用消息压缩, clientName:{} ,compression:{} ,thresholdBytes:{}",
+                clientName, instance.getCompression(), instance.getCompressionThresholdBytes());
+    }
+
+    private boolean isVirtualThreadsEnabled() {
+        if (!sqsConfig.isVirtualThreads()) return false;
+        if (VirtualThreads.isSupported()) return true;
+        logger.warn("duxinglangzi.queue.sqs.virtual-threads is enabled, but the current JDK does not support virtual threads (JDK 21+ required), fall back to platform threads");
+        return false;
     }
 
     @Override
@@ -94,8 +236,41 @@ public class SqsListenerAnnotationBeanPostProcessor implements
         this.applicationContext = applicationContext;
     }
 
+    /**
+     * 创建独立线程池(bulkhead)及与线程数相同的在途窗口, 使用该线程池的 listener 只拉取有空闲线程处理的消息
+     */
+    protected Bulkhead createBulkhead(String threadNamePrefix, int workerThreads) {
+        if (isVirtualThreadsEnabled()) {
+            // 虚拟线程不需要池化, 由窗口限制并发数
+            return new Bulkhead(new TaskExecutorAdapter(VirtualThreads.newVirtualThreadPerTaskExecutor(threadNamePrefix)),
+                    new InFlightMessageWindow(workerThreads));
+        }
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setThreadNamePrefix(threadNamePrefix);
+        threadPoolTaskExecutor.setCorePoolSize(workerThreads);
+        threadPoolTaskExecutor.setMaxPoolSize(workerThreads);
+        // 窗口已限制任务数不超过线程数, 队列仅用于容纳线程释放槽位后尚未回到线程池的短暂间隙
+        threadPoolTaskExecutor.setQueueCapacity(workerThreads);
+        threadPoolTaskExecutor.afterPropertiesSet();
+        return new Bulkhead(threadPoolTaskExecutor, new InFlightMessageWindow(workerThreads));
+    }
+
+    protected static class Bulkhead {
+        private final AsyncTaskExecutor executor;
+        private final InFlightMessageWindow workerSlots;
+
+        protected Bulkhead(AsyncTaskExecutor executor, InFlightMessageWindow workerSlots) {
+            this.executor = executor;
+            this.workerSlots = workerSlots;
+        }
+    }
+
     // 不注册到spring 是怕有人在使用过程中，使用了这个线程池,导致积压消息
     protected AsyncTaskExecutor createDefaultTaskExecutor(Map<String, Long> registrarsMap) {
+        if (isVirtualThreadsEnabled()) {
+            // 每条消息一个虚拟线程, 阻塞的 listener 方法不再受线程池大小及队列容量限制
+            return new TaskExecutorAdapter(VirtualThreads.newVirtualThreadPerTaskExecutor("VirtualTaskExecutor_SQS_Listener - "));
+        }
         int corePoolSize = registrarsMap.values().stream().collect(Collectors.summingInt(l -> l.intValue()));
         int maxPoolSize = corePoolSize * Constants.DEFAULT_BATCH_MESSAGE;
         ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
@@ -1,10 +1,20 @@
 package com.duxinglangzi.sqs.starter.config;
 
 import com.duxinglangzi.sqs.starter.annotation.SqsListener;
+import com.duxinglangzi.sqs.starter.codec.PayloadCodec;
+import com.duxinglangzi.sqs.starter.codec.PayloadCodecRegistry;
+import com.duxinglangzi.sqs.starter.container.AdaptivePollingStrategy;
+import com.duxinglangzi.sqs.starter.container.AsyncMessageListenerContainer;
+import com.duxinglangzi.sqs.starter.container.BatchMessageAcknowledgment;
+import com.duxinglangzi.sqs.starter.container.InFlightMessageWindow;
+import com.duxinglangzi.sqs.starter.container.ListenerInvokerFactory;
 import com.duxinglangzi.sqs.starter.container.MessageListenerContainer;
 import com.duxinglangzi.sqs.starter.container.QueueMessageAcknowledgment;
+import com.duxinglangzi.sqs.starter.dedup.DeduplicationStore;
 import com.duxinglangzi.sqs.starter.enums.MessageDeletionPolicy;
+import com.duxinglangzi.sqs.starter.enums.TransportType;
 import com.duxinglangzi.sqs.starter.factory.SqsEndpointFactory;
+import com.duxinglangzi.sqs.starter.metadata.QueueMetadataCache;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.core.env.Environment;
 import org.springframework.core.task.AsyncTaskExecutor;
@@ -13,10 +23,14 @@ import software.amazon.awssdk.services.sqs.model.Message;
 import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -31,7 +45,10 @@ public class SqsListenerEndpointRegistrar {
     private Environment environment;
     private Map.Entry<Method, SqsListener> listenerEntry;
 
-    public void registerListenerContainer(ConfigurableListableBeanFactory beanFactory, SqsConfig sqsConfig, AsyncTaskExecutor asyncTaskExecutor) {
+    public void registerListenerContainer(ConfigurableListableBeanFactory beanFactory, SqsConfig sqsConfig,
+                                          AsyncTaskExecutor asyncTaskExecutor, InFlightMessageWindow workerSlots,
+                                          ThreadFactory pollerThreadFactory, PayloadCodecRegistry codecRegistry,
+                                          DeduplicationStore deduplicationStore) {
         if (beanFactory.containsBean(getRegisterID())) return; // 如果已经存在则不在创建
         SqsClient sqsClient = SqsEndpointFactory.getSqsClient(getListenerEntry().getValue().clientName());
         if (sqsClient == null) {
@@ -44,26 +61,92 @@ public class SqsListenerEndpointRegistrar {
         }
 
         List<Class<?>> parameterTypes = parameterTypes();
-        if (!parameterTypes.contains(Message.class)) {
-            throw new IllegalArgumentException(
-                    "@SqsListener method not parameter type : software.amazon.awssdk.services.sqs.model.Message , please check ");
+        boolean batchListener = isBatchListener();
+        PayloadCodec payloadCodec = null;
+        Type payloadType = payloadType();
+        if (!batchListener && Message.class != payloadType) {
+            // 第一个参数不是 Message 时, 注册时即确定解码器
+            payloadCodec = payloadType == null || codecRegistry == null ? null : codecRegistry.find(payloadType);
+            if (payloadCodec == null) throw new IllegalArgumentException(
+                    "@SqsListener method not parameter type : software.amazon.awssdk.services.sqs.model.Message , and no PayloadCodec found for type : "
+                            + payloadType + " , please check ");
         }
+        Class<?> acknowledgmentType = batchListener ? BatchMessageAcknowledgment.class : QueueMessageAcknowledgment.class;
         if (MessageDeletionPolicy.NEVER == getListenerEntry().getValue().deletionPolicy() &&
-                !parameterTypes.contains(QueueMessageAcknowledgment.class)) {
+                !parameterTypes.contains(acknowledgmentType)) {
             throw new IllegalArgumentException(
-                    "@SqsListener method not parameter type : com.duxinglangzi.sqs.starter.container.QueueMessageAcknowledgment , please check ");
+                    "@SqsListener method not parameter type : " + acknowledgmentType.getName() + " , please check ");
+        }
+        SqsConfig.EndpointInstance endpointInstance = sqsConfig.getInstance(getListenerEntry().getValue().clientName());
+        MessageListenerContainer container;
+        if (endpointInstance != null && TransportType.ASYNC == endpointInstance.getTransport()) {
+            container = new AsyncMessageListenerContainer(
+                    environment.resolvePlaceholders(getListenerEntry().getValue().queueUrl()),
+                    attributeNameList(getListenerEntry().getValue().attributeNames()),
+                    new ArrayList<>(Arrays.asList(getListenerEntry().getValue().messageAttributeNames())),
+                    getListenerEntry().getValue().maxNumberOfMessages(),
+                    getListenerEntry().getValue().deletionPolicy(),
+                    getListenerEntry().getKey(),
+                    getBean(),
+                    sqsClient,
+                    SqsEndpointFactory.getSqsAsyncClient(getListenerEntry().getValue().clientName(), endpointInstance),
+                    asyncTaskExecutor
+            );
+        } else {
+            container = new MessageListenerContainer(
+                    environment.resolvePlaceholders(getListenerEntry().getValue().queueUrl()),
+                    attributeNameList(getListenerEntry().getValue().attributeNames()),
+                    new ArrayList<>(Arrays.asList(getListenerEntry().getValue().messageAttributeNames())),
+                    getListenerEntry().getValue().maxNumberOfMessages(),
+                    getListenerEntry().getValue().deletionPolicy(),
+                    getListenerEntry().getKey(),
+                    getBean(),
+                    sqsClient,
+                    asyncTaskExecutor
+            );
         }
-        beanFactory.registerSingleton(getRegisterID(), new MessageListenerContainer(
-                environment.resolvePlaceholders(getListenerEntry().getValue().queueUrl()),
-                attributeNameList(getListenerEntry().getValue().attributeNames()),
-                new ArrayList<>(Arrays.asList(getListenerEntry().getValue().messageAttributeNames())),
-                getListenerEntry().getValue().maxNumberOfMessages(),
-                getListenerEntry().getValue().deletionPolicy(),
-                getListenerEntry().getKey(),
-                getBean(),
-                sqsClient,
-                asyncTaskExecutor
-        ));
+        container.setClientName(getListenerEntry().getValue().clientName());
+        container.setQueueMetadataCache(QueueMetadataCache.of(getListenerEntry().getValue().clientName()));
+        container.setMaxInFlightMessages(getListenerEntry().getValue().maxInFlightMessages());
+        // 批量 listener 的窗口按消息数计算, 不与线程数对应, 仅使用独立线程池
+        if (workerSlots != null && !batchListener) container.setInFlightWindow(workerSlots);
+        container.setConcurrency(concurrency(sqsConfig));
+        container.setAutoscaling(maxConcurrency(sqsConfig),
+                TimeUnit.SECONDS.toMillis(sqsConfig.getAutoscaleIntervalSeconds()), sqsConfig.getAutoscaleTargetDrainSeconds());
+        container.setAdaptiveConcurrency(getListenerEntry().getValue().adaptiveConcurrency()
+                || (endpointInstance != null && endpointInstance.isAdaptiveConcurrency()));
+        container.setPollerThreadFactory(pollerThreadFactory);
+        // 注册时生成一次调用器, 处理消息时不再经过反射
+        container.setListenerInvoker(ListenerInvokerFactory.create(getListenerEntry().getKey()));
+        if (payloadCodec != null) container.setPayloadCodec(payloadCodec, payloadType);
+        container.setPollingStrategy(new AdaptivePollingStrategy(
+                getListenerEntry().getValue().waitTimeSeconds(), getListenerEntry().getValue().maxNumberOfMessages()));
+        container.setMaxVisibilityExtensionSeconds(getListenerEntry().getValue().maxVisibilityExtensionSeconds());
+        container.setShutdownTimeoutMillis(TimeUnit.SECONDS.toMillis(sqsConfig.getShutdownTimeoutSeconds()));
+        if (deduplicationStore != null && getListenerEntry().getValue().deduplicate())
+            container.setDeduplication(deduplicationStore, getListenerEntry().getValue().deduplicationKey(),
+                    sqsConfig.getDedup().isDeleteDuplicates());
+        if (batchListener)
+            container.setBatchListener(getListenerEntry().getValue().batchSize(), getListenerEntry().getValue().batchWindowMillis());
+        beanFactory.registerSingleton(getRegisterID(), container);
+    }
+
+    int concurrency(SqsConfig sqsConfig) {
+        if (getListenerEntry().getValue().concurrency() > 0) return getListenerEntry().getValue().concurrency();
+        SqsConfig.EndpointInstance instance = sqsConfig.getInstance(getListenerEntry().getValue().clientName());
+        return instance == null ? 1 : instance.getConcurrency();
+    }
+
+    /**
+     * 自动扩缩容时的最大拉取线程数, 未启用时与 concurrency 相同
+     */
+    int maxConcurrency(SqsConfig sqsConfig) {
+        int maxConcurrency = getListenerEntry().getValue().maxConcurrency();
+        if (maxConcurrency <= 0) {
+            SqsConfig.EndpointInstance instance = sqsConfig.getInstance(getListenerEntry().getValue().clientName());
+            maxConcurrency = instance == null ? 0 : instance.getMaxConcurrency();
+        }
+        return Math.max(concurrency(sqsConfig), maxConcurrency);
     }
 
     private List<QueueAttributeName> attributeNameList(String[] attributeNames) {
@@ -71,6 +154,24 @@ public class SqsListenerEndpointRegistrar {
         return Arrays.asList(attributeNames).stream().map(e -> QueueAttributeName.fromValue(e)).collect(Collectors.toList());
     }
 
+    /**
+     * 第一个参数为 List&lt;Message&gt; 时为批量 listener
+     */
+    private boolean isBatchListener() {
+        Type[] types = listenerEntry.getKey().getGenericParameterTypes();
+        if (types.length == 0 || !(types[0] instanceof ParameterizedType)) return false;
+        ParameterizedType type = (ParameterizedType) types[0];
+        return List.class == type.getRawType() && Message.class == type.getActualTypeArguments()[0];
+    }
+
+    /**
+     * 第一个参数为消息内容, 第二个参数(可选)为 acknowledgment
+     */
+    private Type payloadType() {
+        Type[] types = listenerEntry.getKey().getGenericParameterTypes();
+        return types.length == 0 ? null : types[0];
+    }
+
     private List<Class<?>> parameterTypes() {
         return Arrays.stream(listenerEntry.getKey().getParameterTypes()).collect(Collectors.toList());
     }
@@ -1,41 +1,154 @@
 package com.duxinglangzi.sqs.starter.container;
 
+import com.duxinglangzi.sqs.starter.common.SharedScheduler;
 import com.duxinglangzi.sqs.starter.listener.ApplicationReadyListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.SmartLifecycle;
 
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * 抽象一个消息拉取器,生命周期交给spring进行管理
  *
  * @author wuqiong 2022/6/25
  */
 public abstract class AbstractMessageListenerContainer implements SmartLifecycle {
-    protected boolean isRunning = false;
+    private static final Logger logger = LoggerFactory.getLogger(AbstractMessageListenerContainer.class);
+    protected volatile boolean isRunning = false;
     protected Long SLEEP_TIME_MILLI_SECONDS = 1000L;
+    // 每个 listener 并发拉取消息的线程数
+    protected int concurrency = 1;
+    protected final AtomicInteger activePollers = new AtomicInteger();
+    // 目标拉取线程数, 自动扩缩容时在 concurrency 与 maxConcurrency 之间调整
+    protected volatile int pollerTarget;
+    // 正在运行的拉取线程的序号
+    private final Set<Integer> pollerIndexes = ConcurrentHashMap.newKeySet();
+    // 拉取线程工厂, 为空时使用普通的平台线程
+    protected ThreadFactory pollerThreadFactory;
+    // 初始化(解析队列地址及属性)完成时完成
+    protected volatile CompletableFuture<Void> initialization;
 
     protected abstract void doStart();
     protected abstract void doInit();
+    // 停止拉取后的收尾工作, 在 isRunning 置为 false 之后执行
+    protected abstract void doStop();
 
+    /**
+     * 启动时即开始初始化, 各容器的初始化并行执行; 待spring 应用程序准备就绪后, 立即开始拉取消息
+     */
     @Override
     public void start() {
         setRunning(true);
-        new Thread(() -> {
-            // 待spring 应用程序准备就绪后,再开始拉取消息
-            while (!ApplicationReadyListener.START_LISTENER_CONTAINER.get()) sleep(5L * SLEEP_TIME_MILLI_SECONDS);
-            doInit();// 初始化部分参数
-            while (isRunning() && !Thread.currentThread().isInterrupted()) doStart();
-        }).start();
+        initialization = CompletableFuture.runAsync(this::doInit, SharedScheduler.blockingExecutor());
+        initialization.thenCombine(ApplicationReadyListener.whenReady(), (init, ready) -> ready)
+                .whenComplete((ready, throwable) -> {
+                    if (throwable != null) {
+                        setRunning(false);
+                        logger.error("[AbstractMessageListenerContainer_start] 容器初始化失败, container:{} ,errorMessage:{}",
+                                pollerName(0), throwable.getLocalizedMessage(), throwable);
+                        return;
+                    }
+                    if (isRunning()) startPolling();
+                });
+    }
+
+    /**
+     * 初始化完成且应用就绪后启动拉取, 所有拉取线程共享同一个运行状态
+     */
+    protected void startPolling() {
+        resizePollers(concurrency);
+    }
+
+    /**
+     * 调整拉取线程数: 调大时立即启动新的拉取线程, 调小时序号超出的拉取线程在本次拉取完成后退出
+     *
+     * @param pollers 拉取线程数, 最小为1
+     * @author wuqiong 2026/10/18
+     */
+    public void resizePollers(int pollers) {
+        pollerTarget = Math.max(1, pollers);
+        if (!isRunning()) return;
+        for (int i = 0; i < pollerTarget; i++) {
+            int index = i;
+            if (pollerIndexes.add(index)) newPollerThread(() -> poll(index), index).start();
+        }
+    }
+
+    /**
+     * 等待初始化完成
+     *
+     * @param timeoutMillis 最长等待时间(毫秒)
+     * @return 初始化成功完成为 true
+     * @author wuqiong 2026/10/18
+     */
+    public boolean awaitInitialization(long timeoutMillis) {
+        CompletableFuture<Void> future = initialization;
+        if (future == null) return false;
+        try {
+            future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    protected Thread newPollerThread(Runnable runnable, int index) {
+        if (pollerThreadFactory == null) return new Thread(runnable, pollerName(index));
+        Thread thread = pollerThreadFactory.newThread(runnable);
+        thread.setName(pollerName(index));
+        return thread;
+    }
+
+    private void poll(int index) {
+        activePollers.incrementAndGet();
+        try {
+            do {
+                while (isPolling(index)) doStart();
+                pollerIndexes.remove(index);
+                // 退出的同时又调大了拉取线程数, 重新占用该序号继续拉取
+            } while (isPolling(index) && pollerIndexes.add(index));
+        } finally {
+            activePollers.decrementAndGet();
+        }
+    }
+
+    private boolean isPolling(int index) {
+        return isRunning() && index < pollerTarget && !Thread.currentThread().isInterrupted();
+    }
+
+    protected String pollerName(int index) {
+        return getClass().getSimpleName() + "_Poller-" + index;
     }
 
     @Override
     public void stop() {
         setRunning(false);
+        doStop();
     }
 
+    /**
+     * 先停止拉取, 收尾工作在独立线程中执行, 完成后再回调, 多个容器可以同时收尾
+     */
     @Override
     public void stop(Runnable callback) {
-        callback.run();
         setRunning(false);
-        sleep(SLEEP_TIME_MILLI_SECONDS);
+        Thread thread = new Thread(() -> {
+            try {
+                doStop();
+            } finally {
+                callback.run();
+            }
+        }, getClass().getSimpleName() + "_Shutdown");
+        thread.start();
     }
 
     @Override
@@ -47,7 +160,40 @@ public abstract class AbstractMessageListenerContainer implements SmartLifecycle
         isRunning = bool;
     }
 
+    /**
+     * 设置并发拉取消息的线程数, 最小为1
+     */
+    public void setConcurrency(int concurrency) {
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    /**
+     * 设置拉取线程工厂, 例如虚拟线程工厂
+     */
+    public void setPollerThreadFactory(ThreadFactory pollerThreadFactory) {
+        this.pollerThreadFactory = pollerThreadFactory;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * 目标拉取线程数, 未启动时为0
+     */
+    public int getPollerTarget() {
+        return pollerTarget;
+    }
+
+    /**
+     * 当前正在运行的拉取线程数
+     */
+    public int getActivePollers() {
+        return activePollers.get();
+    }
+
     protected void sleep(long sleepTimeMilliSeconds) {
+        if (sleepTimeMilliSeconds <= 0) return;
         try {
             Thread.sleep(sleepTimeMilliSeconds);
         } catch (InterruptedException e) {
@@ -0,0 +1,138 @@
+package com.duxinglangzi.sqs.starter.container;
+
+import com.duxinglangzi.sqs.starter.common.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+
+/**
+ * 按处理耗时及失败率自适应调整 listener 的并发上限(在途消息数)
+ * <p>
+ * 参考 gradient 算法, 每个采样窗口计算 listener 方法的平均耗时及消息在线程池中的平均等待时间:
+ * <ul>
+ * <li>耗时梯度 = tolerance * 长期平均耗时 / 本窗口耗时: 下游变慢时小于1, 上限随之收缩</li>
+ * <li>排队梯度 = 耗时 / (耗时 + 线程池等待): 在途消息超过线程数、在线程池中排队时小于1, 上限随之收缩</li>
+ * <li>新上限 = 当前上限 * min(耗时梯度, 排队梯度) + sqrt(当前上限), 梯度限制在 [0.5, 1];
+ * 平方根项保证耗时稳定时上限缓慢增长, 探测更高的并发, 并允许少量排队</li>
+ * <li>本窗口失败率超过 {@link Constants#DEFAULT_ADAPTIVE_CONCURRENCY_ERROR_RATE} 时按
+ * {@link Constants#DEFAULT_ADAPTIVE_CONCURRENCY_BACKOFF_RATIO} 乘性减小(AIMD), 不再增长</li>
+ * <li>在途消息数不足上限一半时不增长, 避免空闲时上限无意义地升高</li>
+ * </ul>
+ * 新上限经平滑后限制在 [minLimit, maxLimit] 之间, 通过回调设置到在途窗口, 拉取时请求的条数随之变化.
+ * <p>
+ * {@link #onSample(long, boolean)} 在消息处理的热路径上调用, 只做无锁累加; 窗口结束时由当前线程完成计算.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final IntSupplier inFlight;
+    private final IntConsumer limitListener;
+    private final long windowNanos;
+    private final LongAdder latencyNanos = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder queueWaits = new LongAdder();
+    private final AtomicBoolean updating = new AtomicBoolean();
+    private volatile long windowStart = System.nanoTime();
+    private volatile int limit;
+    // 以下字段只在窗口计算时访问(updating 保证同一时间只有一个线程计算)
+    private double estimatedLimit;
+    private double longHandlerNanos;
+
+    /**
+     * @param initialLimit  初始上限
+     * @param minLimit      最小上限
+     * @param maxLimit      最大上限
+     * @param inFlight      当前在途消息数
+     * @param limitListener 上限变化时的回调
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, IntSupplier inFlight, IntConsumer limitListener) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+        this.estimatedLimit = this.limit;
+        this.inFlight = inFlight;
+        this.limitListener = limitListener;
+        this.windowNanos = Constants.DEFAULT_ADAPTIVE_CONCURRENCY_WINDOW_NANOS;
+    }
+
+    /**
+     * 记录一条消息的 listener 方法执行耗时
+     *
+     * @param nanos   执行耗时
+     * @param success 是否执行成功
+     * @author wuqiong 2026/10/18
+     */
+    public void onSample(long nanos, boolean success) {
+        latencyNanos.add(nanos);
+        samples.increment();
+        if (!success) failures.increment();
+        long now = System.nanoTime();
+        if (now - windowStart >= windowNanos && updating.compareAndSet(false, true)) {
+            try {
+                update(now);
+            } finally {
+                updating.set(false);
+            }
+        }
+    }
+
+    /**
+     * 记录消息(或批次)在线程池中的等待时间, 线程池饱和时等待时间变长, 同样使上限收缩
+     */
+    public void onQueueWait(long nanos) {
+        queueWaitNanos.add(nanos);
+        queueWaits.increment();
+    }
+
+    private void update(long now) {
+        long count = samples.sum();
+        // 样本过少时继续累积, 避免个别慢消息引起大幅调整
+        if (count < Constants.DEFAULT_ADAPTIVE_CONCURRENCY_MIN_SAMPLES) return;
+        double handlerNanos = Math.max(1D, (double) latencyNanos.sumThenReset() / samples.sumThenReset());
+        long waits = queueWaits.sumThenReset();
+        double waitNanos = waits > 0 ? (double) queueWaitNanos.sumThenReset() / waits : 0D;
+        double errorRate = (double) failures.sumThenReset() / count;
+        windowStart = now;
+
+        if (longHandlerNanos == 0) longHandlerNanos = handlerNanos;
+        else longHandlerNanos = longHandlerNanos * (1 - Constants.DEFAULT_ADAPTIVE_CONCURRENCY_LONG_WINDOW_SMOOTHING)
+                + handlerNanos * Constants.DEFAULT_ADAPTIVE_CONCURRENCY_LONG_WINDOW_SMOOTHING;
+        // 长期耗时远高于当前耗时(如下游恢复)时加快向当前耗时收敛
+        if (longHandlerNanos / handlerNanos > 2) longHandlerNanos = longHandlerNanos * 0.95 + handlerNanos * 0.05;
+
+        double newLimit;
+        if (errorRate > Constants.DEFAULT_ADAPTIVE_CONCURRENCY_ERROR_RATE) {
+            newLimit = estimatedLimit * Constants.DEFAULT_ADAPTIVE_CONCURRENCY_BACKOFF_RATIO;
+        } else {
+            double latencyGradient = Constants.DEFAULT_ADAPTIVE_CONCURRENCY_TOLERANCE * longHandlerNanos / handlerNanos;
+            double queueGradient = handlerNanos / (handlerNanos + waitNanos);
+            double gradient = Math.max(0.5, Math.min(1.0, Math.min(latencyGradient, queueGradient)));
+            newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            if (newLimit > estimatedLimit && inFlight.getAsInt() < estimatedLimit / 2) return;
+            newLimit = estimatedLimit * (1 - Constants.DEFAULT_ADAPTIVE_CONCURRENCY_SMOOTHING)
+                    + newLimit * Constants.DEFAULT_ADAPTIVE_CONCURRENCY_SMOOTHING;
+        }
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        int previous = limit;
+        limit = (int) estimatedLimit;
+        if (limit == previous) return;
+        if (logger.isDebugEnabled())
+            logger.debug("[AdaptiveConcurrencyLimiter_update] 调整并发上限, limit:{} -> {} ,handlerMillis:{} ,longHandlerMillis:{} ,queueWaitMillis:{} ,errorRate:{}",
+                    previous, limit, handlerNanos / 1_000_000, longHandlerNanos / 1_000_000, waitNanos / 1_000_000, errorRate);
+        limitListener.accept(limit);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
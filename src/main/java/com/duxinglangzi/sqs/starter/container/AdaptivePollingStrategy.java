@@ -0,0 +1,85 @@
+package com.duxinglangzi.sqs.starter.container;
+
+import com.duxinglangzi.sqs.starter.common.Constants;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 默认的自适应拉取策略
+ * <p>
+ * 1. 长轮询(waitTimeSeconds &gt; 0)返回空结果后立即再次拉取, 短轮询时等待1秒;
+ * 长轮询却立即返回空结果(如服务端或模拟器不支持长轮询)时, 两次空拉取之间至少间隔1秒, 避免空转.
+ * <p>
+ * 2. 拉取发生异常时按指数退避并加入随机抖动(1秒起, 最长60秒), 拉取成功后重置.
+ * <p>
+ * 3. 拉取条数随队列繁忙程度调整, 介于1与 maxNumberOfMessages 之间: 拉满时翻倍, 未拉满时减半(不少于本次拉取到的条数).
+ * 长轮询返回空结果时不调整, 空闲后到来的第一批消息仍按空闲前的条数拉取; 短轮询返回空结果时减半.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class AdaptivePollingStrategy implements PollingStrategy {
+
+    private static final long SHORT_POLLING_INTERVAL_MILLIS = 1000L;
+    // 空拉取之间的最小间隔
+    private static final long EMPTY_RECEIVE_MIN_INTERVAL_MILLIS = 1000L;
+    private static final long BACKOFF_INITIAL_MILLIS = 1000L;
+    private static final long BACKOFF_MAX_MILLIS = 60000L;
+
+    private final int waitTimeSeconds;
+    private final int maxNumberOfMessages;
+    private final AtomicInteger currentNumberOfMessages;
+    private final AtomicInteger consecutiveErrors = new AtomicInteger();
+
+    public AdaptivePollingStrategy(int maxNumberOfMessages) {
+        this(Constants.DEFAULT_WAIT_TIME_SECONDS, maxNumberOfMessages);
+    }
+
+    public AdaptivePollingStrategy(int waitTimeSeconds, int maxNumberOfMessages) {
+        this.waitTimeSeconds = Math.min(20, Math.max(0, waitTimeSeconds));
+        this.maxNumberOfMessages = Math.min(Constants.DEFAULT_BATCH_MESSAGE, Math.max(1, maxNumberOfMessages));
+        this.currentNumberOfMessages = new AtomicInteger(this.maxNumberOfMessages);
+    }
+
+    @Override
+    public int waitTimeSeconds() {
+        return waitTimeSeconds;
+    }
+
+    @Override
+    public int nextMaxNumberOfMessages() {
+        return currentNumberOfMessages.get();
+    }
+
+    @Override
+    public long onReceived(int requested, int received) {
+        // 未提供耗时时按长轮询等待了完整的时间处理
+        return onReceived(requested, received, waitTimeSeconds * 1000L);
+    }
+
+    @Override
+    public long onReceived(int requested, int received, long elapsedMillis) {
+        consecutiveErrors.set(0);
+        if (received == 0) {
+            if (waitTimeSeconds == 0) {
+                currentNumberOfMessages.updateAndGet(n -> Math.max(1, n / 2));
+                return SHORT_POLLING_INTERVAL_MILLIS;
+            }
+            return Math.max(0L, Math.min(EMPTY_RECEIVE_MIN_INTERVAL_MILLIS, waitTimeSeconds * 1000L) - elapsedMillis);
+        }
+        if (received >= requested) {
+            currentNumberOfMessages.updateAndGet(n -> Math.min(maxNumberOfMessages, n * 2));
+        } else {
+            currentNumberOfMessages.updateAndGet(n -> Math.max(received, n / 2));
+        }
+        return 0L;
+    }
+
+    @Override
+    public long onReceiveError(Throwable exception) {
+        int errors = consecutiveErrors.incrementAndGet();
+        long backoff = Math.min(BACKOFF_MAX_MILLIS, BACKOFF_INITIAL_MILLIS << Math.min(errors - 1, 16));
+        // 一半固定, 一半随机, 避免多个实例同时重试
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+}
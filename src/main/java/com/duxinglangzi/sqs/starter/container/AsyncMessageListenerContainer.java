@@ -0,0 +1,251 @@
+package com.duxinglangzi.sqs.starter.container;
+
+import com.duxinglangzi.sqs.starter.common.Constants;
+import com.duxinglangzi.sqs.starter.common.SharedScheduler;
+import com.duxinglangzi.sqs.starter.enums.MessageDeletionPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 基于 SqsAsyncClient 的非阻塞消息拉取容器
+ * <p>
+ * 拉取 → 分发 → 删除 以 CompletableFuture 串联, 长轮询期间不占用任何线程,
+ * 只有 listener 方法本身在 asyncTaskExecutor 内执行.
+ * <p>
+ * SqsClient 仅用于启动时解析队列地址及队列属性.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class AsyncMessageListenerContainer extends MessageListenerContainer {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncMessageListenerContainer.class);
+    private final SqsAsyncClient sqsAsyncClient;
+    // 因没有空闲槽位而暂停的拉取循环, 有消息处理完成后唤醒
+    private final Queue<Runnable> waitingReceivers = new ConcurrentLinkedQueue<>();
+    // 当前的拉取循环数
+    private final AtomicInteger receiveLoops = new AtomicInteger();
+
+    public AsyncMessageListenerContainer(
+            String queueName, List<QueueAttributeName> attributeNames, List<String> messageAttributeNames, int maxNumberOfMessages,
+            MessageDeletionPolicy deletionPolicy, Method method, Object bean, SqsClient sqsClient, SqsAsyncClient sqsAsyncClient,
+            AsyncTaskExecutor asyncTaskExecutor) {
+        super(queueName, attributeNames, messageAttributeNames, maxNumberOfMessages, deletionPolicy, method, bean, sqsClient, asyncTaskExecutor);
+        this.sqsAsyncClient = sqsAsyncClient;
+    }
+
+    /**
+     * 每个拉取循环都是一条独立的 future 链, 不占用拉取线程; 调小时多余的拉取循环在下一次拉取前结束
+     */
+    @Override
+    public void resizePollers(int pollers) {
+        pollerTarget = Math.max(1, pollers);
+        while (isRunning()) {
+            int loops = receiveLoops.get();
+            if (loops >= pollerTarget) return;
+            if (receiveLoops.compareAndSet(loops, loops + 1)) receive();
+        }
+    }
+
+    @Override
+    public void doInit() {
+        super.doInit();
+        // 未设置在途窗口时, 默认每个拉取循环最多一个批次的消息在处理中
+        if (inFlightWindow == null) {
+            inFlightWindow = new InFlightMessageWindow(maxNumberOfMessages * concurrency);
+            ownsInFlightWindow = true;
+        }
+        // 窗口可能与其他 listener 共享, 任意消息处理完成都会尝试唤醒本容器暂停的拉取循环
+        inFlightWindow.addReleaseListener(this::wakeUpReceiver);
+    }
+
+    @Override
+    protected DeleteMessageBuffer createDeleteBuffer() {
+        return DeleteMessageBuffer.create(queueUrl, sqsAsyncClient, Constants.DEFAULT_DELETE_BATCH_WINDOW_MILLIS);
+    }
+
+    @Override
+    public void doStart() {
+        resizePollers(pollerTarget);
+    }
+
+    private void receive() {
+        if (!isRunning()) {
+            receiveLoops.decrementAndGet();
+            return;
+        }
+        int loops = receiveLoops.get();
+        if (loops > pollerTarget && receiveLoops.compareAndSet(loops, loops - 1)) return;
+        int permits = reserve();
+        if (permits == 0) {
+            waitingReceivers.add(this::receive);
+            // 防止在加入等待队列前, 槽位已全部释放而错过唤醒
+            if (inFlightWindow.getInFlight() < inFlightWindow.getLimit()) wakeUpReceiver();
+            return;
+        }
+        ReceiveMessageRequest request = receiveRequest(permits);
+        // 拉取条数可能小于占用的槽位, 多余的槽位立即归还
+        release(permits - request.maxNumberOfMessages());
+        int requested = request.maxNumberOfMessages();
+        activePollers.incrementAndGet();
+        long receiveStart = System.nanoTime();
+        sqsAsyncClient.receiveMessage(request).whenComplete((response, throwable) -> {
+            activePollers.decrementAndGet();
+            if (throwable != null) {
+                metrics.recordReceiveError();
+                release(requested);
+                logger.error("[AsyncMessageListenerContainer_receive] 拉取消息发生异常 ,Pull message exception. queueUrl:{} ,methodName:{} ,errorMessage:{}",
+                        queueUrl, method.getName(), throwable.getLocalizedMessage());
+                // 按退避时间等待,因网络、队列配置等问题引起的日志死循环打印及请求风暴问题
+                receiveAfter(pollingStrategy.onReceiveError(throwable));
+                return;
+            }
+            List<Message> messages = response.hasMessages() ? response.messages() : new ArrayList<>();
+            long receiveNanos = System.nanoTime() - receiveStart;
+            metrics.recordReceive(receiveNanos, requested, messages.size());
+            release(requested - messages.size());
+            long delay = pollingStrategy.onReceived(requested, messages.size(), TimeUnit.NANOSECONDS.toMillis(receiveNanos));
+            if (messages.isEmpty()) {
+                receiveAfter(delay);
+                return;
+            }
+            if (!isRunning()) {
+                // 长轮询期间容器已停止, 不再分发, 立即交还给其他节点
+                release(messages.size());
+                releaseMessagesAsync(messages).whenComplete((r, t) -> {
+                    if (t != null)
+                        logger.error("[AsyncMessageListenerContainer_receive] 重置消息可见性发生异常, queueUrl:{} ,errorMessage:{}",
+                                queueUrl, t.getLocalizedMessage());
+                });
+                return;
+            }
+            trackVisibility(messages);
+            dispatch(messages);
+            receive();
+        });
+    }
+
+    private void receiveAfter(long delayMillis) {
+        if (delayMillis <= 0) {
+            receive();
+            return;
+        }
+        SharedScheduler.get().schedule(this::receive, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void dispatch(List<Message> messages) {
+        if (batchAccumulator != null) {
+            // 批次处理完成后通过 releaseInFlight 释放槽位
+            batchAccumulator.add(messages);
+            return;
+        }
+        if (isFifoQueue) {
+            groupByMessageGroupId(messages).forEach((groupId, groupMessages) ->
+                    groupDispatcher.execute(groupId, new MessageGroupExecutor(groupMessages, this::release)));
+            return;
+        }
+        for (Message message : messages) {
+            CompletableFuture<Boolean> invocation;
+            try {
+                long submittedAt = System.nanoTime();
+                invocation = CompletableFuture.supplyAsync(() -> {
+                    recordQueueWait(System.nanoTime() - submittedAt);
+                    // 停止时已被释放的消息不再处理, 也不删除
+                    return startProcessing(message) && shouldDelete(invokeListener(message));
+                }, asyncTaskExecutor);
+            } catch (RejectedExecutionException e) {
+                // 未能提交的消息在可见性超时后会重新投递
+                logger.error("[AsyncMessageListenerContainer_dispatch] 线程池拒绝执行, queueUrl:{} ,messageId:{}",
+                        queueUrl, message.messageId());
+                discard(message);
+                release(1);
+                continue;
+            }
+            invocation.thenCompose(deletable -> deletable ?
+                            deleteBuffer.delete(message.receiptHandle()) : CompletableFuture.completedFuture(null))
+                    .whenComplete((r, throwable) -> {
+                        if (throwable != null)
+                            logger.error("[AsyncMessageListenerContainer_dispatch] 删除消息发生异常, queueUrl:{} ,messageId:{} ,errorMessage:{}",
+                                    queueUrl, message.messageId(), throwable.getLocalizedMessage());
+                        release(1);
+                    });
+        }
+    }
+
+    @Override
+    protected void finishMessageGroup(List<Message> unprocessed, Map<String, String> deletable, Runnable onComplete) {
+        CompletableFuture<?> release = unprocessed.isEmpty() ?
+                CompletableFuture.completedFuture(null) : releaseMessagesAsync(unprocessed);
+        CompletableFuture<?> delete = deletable.isEmpty() ?
+                CompletableFuture.completedFuture(null) : deleteBuffer.deleteAll(deletable.values());
+        CompletableFuture.allOf(release, delete).whenComplete((r, throwable) -> {
+            if (throwable != null)
+                logger.error("[AsyncMessageListenerContainer_finishMessageGroup] 消息组处理异常, queueUrl:{} ,errorMessage:{}",
+                        queueUrl, throwable.getLocalizedMessage());
+            onComplete.run();
+        });
+    }
+
+    private CompletableFuture<ChangeMessageVisibilityBatchResponse> releaseMessagesAsync(List<Message> messages) {
+        if (offloadedPayloads != null) messages.forEach(offloadedPayloads::untrack);
+        List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                    .id(Integer.toString(i)).receiptHandle(messages.get(i).receiptHandle()).visibilityTimeout(0).build());
+        }
+        return sqsAsyncClient.changeMessageVisibilityBatch(
+                ChangeMessageVisibilityBatchRequest.builder().queueUrl(queueUrl).entries(entries).build());
+    }
+
+    /**
+     * 异步连接的请求本身即为并发, 依次发出即可
+     */
+    @Override
+    public CompletableFuture<Void> warmUp(int connections) {
+        GetQueueAttributesRequest request = warmUpRequest();
+        CompletableFuture<?>[] futures = new CompletableFuture[connections];
+        for (int i = 0; i < connections; i++) futures[i] = sqsAsyncClient.getQueueAttributes(request);
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * 尽可能多地占用空闲槽位(不超过本次拉取条数), 没有空闲槽位时返回 0
+     */
+    private int reserve() {
+        return inFlightWindow.tryAcquire(pollingStrategy.nextMaxNumberOfMessages());
+    }
+
+    private void release(int permits) {
+        // 窗口释放槽位后会回调 wakeUpReceiver
+        inFlightWindow.release(permits);
+    }
+
+    /**
+     * 唤醒一个等待槽位的拉取循环; 释放槽位的可能是 listener 线程、event loop 线程或拉取循环本身,
+     * 拉取循环交给共享的调度线程执行, 不在释放槽位的线程内同步执行, 也不会递归
+     */
+    private void wakeUpReceiver() {
+        Runnable receiver = waitingReceivers.poll();
+        if (receiver != null) SharedScheduler.get().execute(receiver);
+    }
+
+    /**
+     * 当前在途(处理中)的消息数
+     */
+    public int getInFlight() {
+        return inFlightWindow == null ? 0 : inFlightWindow.getInFlight();
+    }
+}
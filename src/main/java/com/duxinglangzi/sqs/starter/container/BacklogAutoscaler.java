@@ -0,0 +1,144 @@
+package com.duxinglangzi.sqs.starter.container;
+
+import com.duxinglangzi.sqs.starter.common.Constants;
+import com.duxinglangzi.sqs.starter.common.SharedScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 按队列积压自动调整 listener 的拉取线程数及在途消息上限
+ * <p>
+ * 定时通过 GetQueueAttributes 获取 ApproximateNumberOfMessages(积压) 及 ApproximateNumberOfMessagesNotVisible(处理中),
+ * 结合容器自身的消费速率估算积压的消化时间:
+ * <ul>
+ * <li>消化时间超过 targetDrainSeconds 时立即扩容: 所需速率为 新消息到达速率 + 积压 / targetDrainSeconds,
+ * 按所需速率与当前消费速率之比扩大, 单次最多翻倍</li>
+ * <li>消化时间低于 targetDrainSeconds 的 {@link Constants#DEFAULT_AUTOSCALE_SCALE_IN_RATIO}、
+ * 且在途消息数低于容量的 {@link Constants#DEFAULT_AUTOSCALE_SCALE_IN_UTILIZATION}, 连续
+ * {@link Constants#DEFAULT_AUTOSCALE_SCALE_IN_SAMPLES} 次时缩容, 每次缩小与下限差值的一半</li>
+ * <li>介于两者之间时保持不变, 避免在阈值附近来回调整</li>
+ * </ul>
+ * 拉取线程数在 [minPollers, maxPollers] 之间调整, 在途消息上限随拉取线程数等比例调整.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class BacklogAutoscaler {
+    private static final Logger logger = LoggerFactory.getLogger(BacklogAutoscaler.class);
+
+    private final MessageListenerContainer container;
+    private final SqsClient sqsClient;
+    private final String queueUrl;
+    private final int minPollers;
+    private final int maxPollers;
+    private final long intervalMillis;
+    private final long targetDrainSeconds;
+    private final AtomicBoolean sampling = new AtomicBoolean();
+    private ScheduledFuture<?> task;
+    // 以下字段只在采样线程内访问(sampling 保证同一时间只有一个采样)
+    private long lastCompleted;
+    private long lastSampleNanos;
+    private double drainRate;
+    private long lastVisible;
+    private int scaleInSamples;
+
+    public BacklogAutoscaler(MessageListenerContainer container, SqsClient sqsClient, String queueUrl,
+                             int minPollers, int maxPollers, long intervalMillis, long targetDrainSeconds) {
+        this.container = container;
+        this.sqsClient = sqsClient;
+        this.queueUrl = queueUrl;
+        this.minPollers = Math.max(1, minPollers);
+        this.maxPollers = Math.max(this.minPollers, maxPollers);
+        this.intervalMillis = Math.max(1000L, intervalMillis);
+        this.targetDrainSeconds = Math.max(1L, targetDrainSeconds);
+    }
+
+    public synchronized void start() {
+        if (task != null) return;
+        lastCompleted = container.getCompletedMessages();
+        lastSampleNanos = System.nanoTime();
+        task = SharedScheduler.get().scheduleWithFixedDelay(() -> {
+            // 上一次采样尚未完成(如请求超时)时跳过
+            if (sampling.compareAndSet(false, true)) SharedScheduler.blockingExecutor().execute(this::sample);
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (task != null) task.cancel(false);
+        task = null;
+    }
+
+    private void sample() {
+        try {
+            Map<QueueAttributeName, String> attributes = sqsClient.getQueueAttributes(GetQueueAttributesRequest.builder()
+                    .queueUrl(queueUrl)
+                    .attributeNames(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES,
+                            QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE)
+                    .build()).attributes();
+            long visible = parse(attributes.get(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES));
+            long notVisible = parse(attributes.get(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE));
+            long now = System.nanoTime();
+            long completed = container.getCompletedMessages();
+            double seconds = Math.max(1e-3, (now - lastSampleNanos) / 1e9);
+            double rate = (completed - lastCompleted) / seconds;
+            // 指数平均, 平滑单次采样的波动
+            drainRate = drainRate == 0 ? rate : (drainRate + rate) / 2;
+            // 积压的增长速率加上消费速率即为新消息的到达速率
+            double arrivalRate = Math.max(0, drainRate + (visible - lastVisible) / seconds);
+            lastCompleted = completed;
+            lastSampleNanos = now;
+            lastVisible = visible;
+            int current = container.getPollerTarget();
+            int desired = desiredPollers(current, visible, arrivalRate, container.getInFlightUtilization());
+            if (desired != current) {
+                logger.info("[BacklogAutoscaler_sample] 按积压调整拉取线程数, queueUrl:{} ,pollers:{} -> {} ,visible:{} ,notVisible:{} ,drainRate:{}/s",
+                        queueUrl, current, desired, visible, notVisible, String.format("%.1f", drainRate));
+                container.scaleTo(desired);
+            }
+        } catch (Exception e) {
+            logger.warn("[BacklogAutoscaler_sample] 获取队列积压发生异常, queueUrl:{} ,errorMessage:{}",
+                    queueUrl, e.getLocalizedMessage());
+        } finally {
+            sampling.set(false);
+        }
+    }
+
+    /**
+     * 按积压的消化时间计算目标拉取线程数
+     */
+    int desiredPollers(int current, long visible, double arrivalRate, double utilization) {
+        // 尚无消费速率时, 有积压即视为无法在目标时间内消化
+        double drainSeconds = visible == 0 ? 0 : drainRate <= 0 ? Double.MAX_VALUE : visible / drainRate;
+        if (drainSeconds > targetDrainSeconds) {
+            scaleInSamples = 0;
+            if (current >= maxPollers) return current;
+            double requiredRate = arrivalRate + (double) visible / targetDrainSeconds;
+            double factor = drainRate <= 0 ? 2.0 : Math.min(2.0, requiredRate / drainRate);
+            return Math.min(maxPollers, Math.max(current + 1, (int) Math.ceil(current * factor)));
+        }
+        if (drainSeconds >= targetDrainSeconds * Constants.DEFAULT_AUTOSCALE_SCALE_IN_RATIO
+                || utilization >= Constants.DEFAULT_AUTOSCALE_SCALE_IN_UTILIZATION || current <= minPollers) {
+            scaleInSamples = 0;
+            return current;
+        }
+        if (++scaleInSamples < Constants.DEFAULT_AUTOSCALE_SCALE_IN_SAMPLES) return current;
+        scaleInSamples = 0;
+        return Math.max(minPollers, current - Math.max(1, (current - minPollers) / 2));
+    }
+
+    private static long parse(String value) {
+        if (value == null) return 0L;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+}
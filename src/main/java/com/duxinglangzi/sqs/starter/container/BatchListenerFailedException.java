@@ -0,0 +1,36 @@
+package com.duxinglangzi.sqs.starter.container;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 批量 listener 部分消息处理失败
+ * <p>
+ * 批量 listener 方法抛出此异常时, 只有 failedMessageIds 内的消息被视为处理失败,
+ * 其余消息按删除策略正常删除. 抛出其他异常时, 整个批次均视为处理失败.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class BatchListenerFailedException extends RuntimeException {
+
+    private final Set<String> failedMessageIds;
+
+    public BatchListenerFailedException(String message, Collection<String> failedMessageIds) {
+        super(message);
+        this.failedMessageIds = Collections.unmodifiableSet(new HashSet<>(failedMessageIds));
+    }
+
+    public BatchListenerFailedException(String message, Collection<String> failedMessageIds, Throwable cause) {
+        super(message, cause);
+        this.failedMessageIds = Collections.unmodifiableSet(new HashSet<>(failedMessageIds));
+    }
+
+    /**
+     * 处理失败的消息ID
+     */
+    public Set<String> getFailedMessageIds() {
+        return failedMessageIds;
+    }
+}
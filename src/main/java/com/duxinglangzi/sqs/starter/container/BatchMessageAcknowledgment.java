@@ -0,0 +1,60 @@
+package com.duxinglangzi.sqs.starter.container;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 批量队列消息确认, 用于删除策略为 NEVER 的批量 listener
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class BatchMessageAcknowledgment {
+
+    private List<Message> messages;
+    private DeleteMessageBuffer deleteBuffer;
+    // 删除成功后的回调, 参数为删除的消息
+    private Consumer<Collection<Message>> acknowledgedListener;
+
+    public BatchMessageAcknowledgment(List<Message> messages, DeleteMessageBuffer deleteBuffer) {
+        this.messages = messages;
+        this.deleteBuffer = deleteBuffer;
+    }
+
+    /**
+     * 确认并删除本批次的全部消息, 全部删除成功则返回 true
+     *
+     * @return boolean
+     * @author wuqiong 2026/10/18
+     */
+    public boolean acknowledge() {
+        return acknowledge(messages);
+    }
+
+    /**
+     * 确认并删除本批次内指定的消息, 全部删除成功则返回 true
+     *
+     * @param acknowledged 需要删除的消息
+     * @return boolean
+     * @author wuqiong 2026/10/18
+     */
+    public boolean acknowledge(Collection<Message> acknowledged) {
+        boolean deleted = deleteBuffer.deleteAll(acknowledged.stream().map(Message::receiptHandle).collect(Collectors.toList())).join();
+        if (deleted && acknowledgedListener != null) acknowledgedListener.accept(acknowledged);
+        return deleted;
+    }
+
+    /**
+     * 设置消息删除成功后的回调, 容器用于结束消费端去重的 key
+     */
+    public void setAcknowledgedListener(Consumer<Collection<Message>> acknowledgedListener) {
+        this.acknowledgedListener = acknowledgedListener;
+    }
+
+    public List<Message> getMessages() {
+        return messages;
+    }
+}
@@ -0,0 +1,273 @@
+package com.duxinglangzi.sqs.starter.container;
+
+import com.duxinglangzi.sqs.starter.common.Constants;
+import com.duxinglangzi.sqs.starter.common.SharedScheduler;
+import com.duxinglangzi.sqs.starter.metrics.QueueMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResultEntry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 单个队列的消息删除缓冲区
+ * <p>
+ * 收集待删除消息的 receiptHandle, 凑满10条或第一条加入后超过 maxWaitMillis 时,
+ * 以一次 DeleteMessageBatch 请求删除, 每条消息的删除结果单独通过 future 返回.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class DeleteMessageBuffer {
+    private static final Logger logger = LoggerFactory.getLogger(DeleteMessageBuffer.class);
+
+    private final String queueUrl;
+    private final Function<DeleteMessageBatchRequest, CompletableFuture<DeleteMessageBatchResponse>> sender;
+    // 超时触发的删除在此执行, 避免阻塞共享的定时线程
+    private final Executor flushExecutor;
+    private final long maxWaitMillis;
+    private List<PendingDelete> buffer = new ArrayList<>(Constants.DEFAULT_BATCH_MESSAGE);
+    // 每发送一个批次加1, 用于丢弃过期的超时任务
+    private long generation;
+    private volatile QueueMetrics metrics = QueueMetrics.NOOP;
+    // 消息删除成功后的回调, 参数为 receiptHandle
+    private volatile Consumer<String> deletedListener;
+    // 已加入但尚未得到删除结果的消息数, 停止容器时等待其归零
+    private final AtomicInteger unfinished = new AtomicInteger();
+    private final Object completion = new Object();
+
+    private DeleteMessageBuffer(String queueUrl, Function<DeleteMessageBatchRequest, CompletableFuture<DeleteMessageBatchResponse>> sender,
+                                Executor flushExecutor, long maxWaitMillis) {
+        this.queueUrl = queueUrl;
+        this.sender = sender;
+        this.flushExecutor = flushExecutor;
+        this.maxWaitMillis = Math.max(0L, maxWaitMillis);
+    }
+
+    /**
+     * 基于 SqsClient 创建删除缓冲区
+     */
+    public static DeleteMessageBuffer create(String queueUrl, SqsClient sqsClient, long maxWaitMillis) {
+        return new DeleteMessageBuffer(queueUrl, request -> {
+            CompletableFuture<DeleteMessageBatchResponse> future = new CompletableFuture<>();
+            try {
+                future.complete(sqsClient.deleteMessageBatch(request));
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+            return future;
+        }, SharedScheduler.blockingExecutor(), maxWaitMillis);
+    }
+
+    /**
+     * 基于 SqsAsyncClient 创建删除缓冲区, 删除请求不会阻塞任何线程
+     */
+    public static DeleteMessageBuffer create(String queueUrl, SqsAsyncClient sqsAsyncClient, long maxWaitMillis) {
+        return new DeleteMessageBuffer(queueUrl, sqsAsyncClient::deleteMessageBatch, Runnable::run, maxWaitMillis);
+    }
+
+    /**
+     * 设置删除耗时及删除失败的指标记录
+     */
+    public void setMetrics(QueueMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * 设置消息删除成功后的回调, 例如删除存储内的消息内容
+     */
+    public void setDeletedListener(Consumer<String> deletedListener) {
+        this.deletedListener = deletedListener;
+    }
+
+    /**
+     * 加入一条待删除的消息
+     *
+     * @param receiptHandle 消息的 receiptHandle
+     * @return 删除成功为 true, 该条消息删除失败为 false, 整个请求失败时异常完成
+     * @author wuqiong 2026/10/18
+     */
+    public CompletableFuture<Boolean> delete(String receiptHandle) {
+        PendingDelete pending = new PendingDelete(receiptHandle);
+        unfinished.incrementAndGet();
+        List<PendingDelete> batch = null;
+        synchronized (this) {
+            buffer.add(pending);
+            if (buffer.size() >= Constants.DEFAULT_BATCH_MESSAGE) {
+                batch = drain();
+            } else if (buffer.size() == 1) {
+                scheduleFlush();
+            }
+        }
+        if (batch != null) send(batch);
+        return pending.future;
+    }
+
+    /**
+     * 加入多条待删除的消息, 全部删除成功时返回 true
+     *
+     * @param receiptHandles 消息的 receiptHandle
+     * @return CompletableFuture<Boolean>
+     * @author wuqiong 2026/10/18
+     */
+    public CompletableFuture<Boolean> deleteAll(Collection<String> receiptHandles) {
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(receiptHandles.size());
+        for (String receiptHandle : receiptHandles) futures.add(delete(receiptHandle));
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(v -> futures.stream().allMatch(CompletableFuture::join));
+    }
+
+    /**
+     * 立即发送缓冲区内的全部消息
+     */
+    public void flush() {
+        List<PendingDelete> batch;
+        synchronized (this) {
+            if (buffer.isEmpty()) return;
+            batch = drain();
+        }
+        send(batch);
+    }
+
+    /**
+     * 立即发送缓冲区内的全部消息, 并等待所有删除请求完成, 用于停止容器时
+     *
+     * @param timeoutMillis 最长等待时间(毫秒)
+     * @return 超时前全部完成为 true
+     * @author wuqiong 2026/10/18
+     */
+    public boolean flushAndAwait(long timeoutMillis) {
+        flush();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (completion) {
+            long remaining;
+            while (unfinished.get() > 0 && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                try {
+                    completion.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        return unfinished.get() == 0;
+    }
+
+    /**
+     * 尚未得到删除结果的消息数
+     */
+    public int getUnfinished() {
+        return unfinished.get();
+    }
+
+    private void scheduleFlush() {
+        long expected = generation;
+        SharedScheduler.get().schedule(() -> {
+            List<PendingDelete> batch;
+            synchronized (this) {
+                if (generation != expected || buffer.isEmpty()) return;
+                batch = drain();
+            }
+            try {
+                flushExecutor.execute(() -> send(batch));
+            } catch (RejectedExecutionException e) {
+                send(batch);
+            }
+        }, maxWaitMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private List<PendingDelete> drain() {
+        List<PendingDelete> batch = buffer;
+        buffer = new ArrayList<>(Constants.DEFAULT_BATCH_MESSAGE);
+        generation++;
+        return batch;
+    }
+
+    private void send(List<PendingDelete> batch) {
+        List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            entries.add(DeleteMessageBatchRequestEntry.builder()
+                    .id(Integer.toString(i)).receiptHandle(batch.get(i).receiptHandle).build());
+        }
+        long start = System.nanoTime();
+        CompletableFuture<DeleteMessageBatchResponse> response;
+        try {
+            response = sender.apply(DeleteMessageBatchRequest.builder().queueUrl(queueUrl).entries(entries).build());
+        } catch (Exception e) {
+            response = new CompletableFuture<>();
+            response.completeExceptionally(e);
+        }
+        response.whenComplete((result, throwable) -> {
+            try {
+                if (throwable != null) {
+                    logger.error("[DeleteMessageBuffer_send] 批量删除消息发生异常, queueUrl:{} ,size:{} ,errorMessage:{}",
+                            queueUrl, batch.size(), throwable.getLocalizedMessage());
+                    batch.forEach(e -> e.future.completeExceptionally(throwable));
+                    metrics.recordDelete(System.nanoTime() - start, batch.size());
+                    return;
+                }
+                metrics.recordDelete(System.nanoTime() - start, complete(batch, result));
+            } finally {
+                finished(batch.size());
+            }
+        });
+    }
+
+    private void finished(int size) {
+        if (unfinished.addAndGet(-size) > 0) return;
+        synchronized (completion) {
+            completion.notifyAll();
+        }
+    }
+
+    /**
+     * 按条目设置删除结果, 响应中未出现的条目视为删除失败
+     *
+     * @return 删除失败的消息数
+     */
+    private int complete(List<PendingDelete> batch, DeleteMessageBatchResponse response) {
+        if (response.hasSuccessful()) {
+            Consumer<String> listener = deletedListener;
+            for (DeleteMessageBatchResultEntry entry : response.successful()) {
+                PendingDelete pending = batch.get(Integer.parseInt(entry.id()));
+                if (listener != null) listener.accept(pending.receiptHandle);
+                pending.future.complete(true);
+            }
+        }
+        int failed = 0;
+        if (response.hasFailed()) {
+            for (BatchResultErrorEntry entry : response.failed()) {
+                logger.error("[DeleteMessageBuffer_complete] 消息删除失败, queueUrl:{} ,code:{} ,senderFault:{} ,errorMessage:{}",
+                        queueUrl, entry.code(), entry.senderFault(), entry.message());
+                batch.get(Integer.parseInt(entry.id())).future.complete(false);
+            }
+        }
+        for (PendingDelete pending : batch) {
+            if (pending.future.complete(false)) failed++;
+        }
+        return failed;
+    }
+
+    private static class PendingDelete {
+        private final String receiptHandle;
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        private PendingDelete(String receiptHandle) {
+            this.receiptHandle = receiptHandle;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.duxinglangzi.sqs.starter.container;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 在途消息窗口
+ * <p>
+ * 限制 listener 同时处理中的消息数量, 有空闲槽位时即可继续拉取消息,
+ * 不必等待上一批次的消息全部处理完成.
+ * <p>
+ * 多个 listener 共享同一个线程池(bulkhead)时, 也共享同一个窗口, 槽位数等于线程数,
+ * 保证拉取到的每条消息都有空闲的线程处理.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class InFlightMessageWindow {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotReleased = lock.newCondition();
+    private volatile int limit;
+    private volatile int inFlight;
+    // 释放槽位后的回调, 用于唤醒非阻塞的拉取循环
+    private final List<Runnable> releaseListeners = new CopyOnWriteArrayList<>();
+
+    public InFlightMessageWindow(int limit) {
+        if (limit < 1) throw new IllegalArgumentException("InFlightMessageWindow limit must be greater than 0");
+        this.limit = limit;
+    }
+
+    /**
+     * 等待至少一个空闲槽位, 并尽可能多地占用槽位(不超过 max)
+     *
+     * @param max     最多占用的槽位数
+     * @param timeout 最长等待时间
+     * @param unit    时间单位
+     * @return int 实际占用的槽位数, 等待超时则返回 0
+     * @author wuqiong 2026/10/18
+     */
+    public int acquire(int max, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (inFlight >= limit) {
+                if (nanos <= 0L) return 0;
+                nanos = slotReleased.awaitNanos(nanos);
+            }
+            int acquired = Math.min(max, limit - inFlight);
+            inFlight += acquired;
+            return acquired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 不等待, 尽可能多地占用空闲槽位(不超过 max)
+     *
+     * @param max 最多占用的槽位数
+     * @return int 实际占用的槽位数, 没有空闲槽位则返回 0
+     * @author wuqiong 2026/10/18
+     */
+    public int tryAcquire(int max) {
+        lock.lock();
+        try {
+            int acquired = Math.max(0, Math.min(max, limit - inFlight));
+            inFlight += acquired;
+            return acquired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 添加释放槽位后的回调
+     */
+    public void addReleaseListener(Runnable listener) {
+        releaseListeners.add(listener);
+    }
+
+    /**
+     * 释放槽位
+     *
+     * @param permits 释放的槽位数
+     * @author wuqiong 2026/10/18
+     */
+    public void release(int permits) {
+        if (permits <= 0) return;
+        lock.lock();
+        try {
+            inFlight = Math.max(0, inFlight - permits);
+            slotReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        releaseListeners.forEach(Runnable::run);
+    }
+
+    /**
+     * 调整槽位数, 调小时已占用的槽位不受影响, 释放后才生效
+     *
+     * @param limit 槽位数, 最小为1
+     * @author wuqiong 2026/10/18
+     */
+    public void setLimit(int limit) {
+        int previous;
+        lock.lock();
+        try {
+            previous = this.limit;
+            this.limit = Math.max(1, limit);
+            slotReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        // 调大后唤醒等待槽位的非阻塞拉取循环
+        if (limit > previous) releaseListeners.forEach(Runnable::run);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,22 @@
+package com.duxinglangzi.sqs.starter.container;
+
+/**
+ * listener 方法调用器
+ * <p>
+ * 注册时由 {@link ListenerInvokerFactory} 将 listener 方法编译为直接调用, 代替每条消息的反射调用.
+ *
+ * @author wuqiong 2026/10/18
+ */
+@FunctionalInterface
+public interface ListenerInvoker {
+
+    /**
+     * 调用 listener 方法, 方法抛出的异常原样抛出, 不会被包装为 InvocationTargetException
+     *
+     * @param bean           listener 所在的 bean
+     * @param payload        消息 (Message 或 List&lt;Message&gt;)
+     * @param acknowledgment 消息确认对象, 方法只有一个参数时忽略
+     * @author wuqiong 2026/10/18
+     */
+    void invoke(Object bean, Object payload, Object acknowledgment) throws Throwable;
+}
@@ -0,0 +1,144 @@
+package com.duxinglangzi.sqs.starter.container;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * listener 方法调用器工厂
+ * <p>
+ * 优先通过 LambdaMetafactory 生成直接调用的实现类, 性能与普通方法调用相同;
+ * 方法或类不是 public、或 listener 所在的类从 starter 的类加载器不可见(如 DevTools 的 restart 类加载器)时,
+ * 退回到 MethodHandle, 最后退回到反射.
+ * <p>
+ * 生成的实现类定义在 starter 的类加载器内, 首次调用时才解析 listener 的类, 类加载器不可见时
+ * 生成可以成功但每次调用都会抛出 NoClassDefFoundError, 因此生成前先检查可见性.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public final class ListenerInvokerFactory {
+    private static final Logger logger = LoggerFactory.getLogger(ListenerInvokerFactory.class);
+
+    private ListenerInvokerFactory() {
+    }
+
+    /**
+     * 为 listener 方法生成调用器, 方法需要有1个或2个参数
+     *
+     * @param method listener 方法
+     * @return ListenerInvoker
+     * @author wuqiong 2026/10/18
+     */
+    public static ListenerInvoker create(Method method) {
+        try {
+            return lambda(method);
+        } catch (Throwable e) {
+            logger.info("[ListenerInvokerFactory_create] 无法生成 lambda 调用器, 使用 MethodHandle 调用, method:{} ,reason:{}",
+                    method, e.toString());
+        }
+        try {
+            return methodHandle(method);
+        } catch (Throwable e) {
+            logger.warn("[ListenerInvokerFactory_create] 无法生成 MethodHandle 调用器, 使用反射调用, method:{} ,reason:{}",
+                    method, e.toString());
+        }
+        return reflection(method);
+    }
+
+    /**
+     * 通过 LambdaMetafactory 生成调用器, 仅支持 public 类的 public 方法,
+     * 且方法所在的类及参数类型需要从 starter 的类加载器可见
+     */
+    public static ListenerInvoker lambda(Method method) throws Throwable {
+        checkVisible(method.getDeclaringClass());
+        for (Class<?> parameterType : method.getParameterTypes()) checkVisible(parameterType);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle target = lookup.unreflect(method);
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        if (parameterTypes.length == 1) {
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "invoke",
+                    MethodType.methodType(SingleArgumentInvoker.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    target,
+                    MethodType.methodType(void.class, method.getDeclaringClass(), parameterTypes[0]));
+            SingleArgumentInvoker invoker = (SingleArgumentInvoker) callSite.getTarget().invokeExact();
+            return (bean, payload, acknowledgment) -> invoker.invoke(bean, payload);
+        }
+        if (parameterTypes.length == 2) {
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "invoke",
+                    MethodType.methodType(TwoArgumentInvoker.class),
+                    MethodType.methodType(void.class, Object.class, Object.class, Object.class),
+                    target,
+                    MethodType.methodType(void.class, method.getDeclaringClass(), parameterTypes[0], parameterTypes[1]));
+            TwoArgumentInvoker invoker = (TwoArgumentInvoker) callSite.getTarget().invokeExact();
+            return invoker::invoke;
+        }
+        throw new IllegalArgumentException("@SqsListener method must have 1 or 2 parameters: " + method);
+    }
+
+    private static void checkVisible(Class<?> type) {
+        while (type.isArray()) type = type.getComponentType();
+        if (type.isPrimitive()) return;
+        ClassLoader classLoader = ListenerInvokerFactory.class.getClassLoader();
+        if (!ClassUtils.isVisible(type, classLoader))
+            throw new IllegalStateException("class " + type.getName() + " is not visible from " + classLoader);
+    }
+
+    /**
+     * 通过 MethodHandle 生成调用器, 支持非 public 方法
+     */
+    public static ListenerInvoker methodHandle(Method method) throws IllegalAccessException {
+        method.setAccessible(true);
+        MethodHandle target = MethodHandles.lookup().unreflect(method);
+        int parameterCount = method.getParameterCount();
+        if (parameterCount == 1) {
+            MethodHandle handle = target.asType(MethodType.methodType(void.class, Object.class, Object.class));
+            // invokeExact 需以语句形式调用, 调用点类型才是 (Object,Object)void
+            return (bean, payload, acknowledgment) -> {
+                handle.invokeExact(bean, payload);
+            };
+        }
+        if (parameterCount == 2) {
+            MethodHandle handle = target.asType(MethodType.methodType(void.class, Object.class, Object.class, Object.class));
+            return (bean, payload, acknowledgment) -> {
+                handle.invokeExact(bean, payload, acknowledgment);
+            };
+        }
+        throw new IllegalArgumentException("@SqsListener method must have 1 or 2 parameters: " + method);
+    }
+
+    /**
+     * 通过反射生成调用器, 方法抛出的异常会从 InvocationTargetException 中取出后抛出
+     */
+    public static ListenerInvoker reflection(Method method) {
+        method.setAccessible(true);
+        boolean withAcknowledgment = method.getParameterCount() > 1;
+        return (bean, payload, acknowledgment) -> {
+            try {
+                if (withAcknowledgment) {
+                    method.invoke(bean, payload, acknowledgment);
+                } else {
+                    method.invoke(bean, payload);
+                }
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    interface SingleArgumentInvoker {
+        void invoke(Object bean, Object payload);
+    }
+
+    interface TwoArgumentInvoker {
+        void invoke(Object bean, Object payload, Object acknowledgment);
+    }
+}
@@ -0,0 +1,79 @@
+package com.duxinglangzi.sqs.starter.container;
+
+import com.duxinglangzi.sqs.starter.common.SharedScheduler;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 跨多次拉取聚合消息批次
+ * <p>
+ * 聚合的消息数达到 batchSize, 或第一条消息到达后超过 batchWindowMillis, 即输出一个批次.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class MessageBatchAccumulator {
+
+    private final int batchSize;
+    private final long batchWindowMillis;
+    private final Consumer<List<Message>> batchConsumer;
+    private List<Message> buffer = new ArrayList<>();
+    // 每输出一个批次加1, 用于丢弃过期的超时任务
+    private long generation;
+
+    public MessageBatchAccumulator(int batchSize, long batchWindowMillis, Consumer<List<Message>> batchConsumer) {
+        this.batchSize = Math.max(1, batchSize);
+        this.batchWindowMillis = Math.max(0L, batchWindowMillis);
+        this.batchConsumer = batchConsumer;
+    }
+
+    /**
+     * 加入新拉取到的消息
+     */
+    public void add(List<Message> messages) {
+        List<List<Message>> batches = new ArrayList<>(1);
+        synchronized (this) {
+            boolean wasEmpty = buffer.isEmpty();
+            for (Message message : messages) {
+                buffer.add(message);
+                if (buffer.size() >= batchSize) batches.add(drain());
+            }
+            if (!buffer.isEmpty() && (wasEmpty || !batches.isEmpty())) scheduleFlush();
+        }
+        batches.forEach(batchConsumer);
+    }
+
+    /**
+     * 立即输出当前已聚合的消息
+     */
+    public void flush() {
+        List<Message> batch;
+        synchronized (this) {
+            if (buffer.isEmpty()) return;
+            batch = drain();
+        }
+        batchConsumer.accept(batch);
+    }
+
+    private void scheduleFlush() {
+        long expected = generation;
+        SharedScheduler.get().schedule(() -> {
+            List<Message> batch;
+            synchronized (this) {
+                if (generation != expected || buffer.isEmpty()) return;
+                batch = drain();
+            }
+            batchConsumer.accept(batch);
+        }, batchWindowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private List<Message> drain() {
+        List<Message> batch = buffer;
+        buffer = new ArrayList<>(batchSize);
+        generation++;
+        return batch;
+    }
+}
@@ -0,0 +1,100 @@
+package com.duxinglangzi.sqs.starter.container;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 按消息组(MessageGroupId)分发任务的执行器
+ * <p>
+ * 同一消息组的任务严格按提交顺序依次执行, 不同消息组的任务在线程池内并行执行.
+ * 消息组内没有待执行的任务时, 会立即移除该组, 不会长期占用内存.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class MessageGroupDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(MessageGroupDispatcher.class);
+
+    private final Executor executor;
+    private final Map<String, GroupQueue> groups = new ConcurrentHashMap<>();
+
+    public MessageGroupDispatcher(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 提交一个任务到指定的消息组
+     * <p>
+     * 线程池拒绝执行时, 由调用线程直接执行该消息组的任务.
+     *
+     * @param groupId 消息组ID
+     * @param task    任务
+     * @author wuqiong 2026/10/18
+     */
+    public void execute(String groupId, Runnable task) {
+        String key = groupId == null ? "" : groupId;
+        boolean[] schedule = new boolean[1];
+        GroupQueue groupQueue = groups.compute(key, (k, queue) -> {
+            if (queue == null) queue = new GroupQueue(k);
+            queue.tasks.add(task);
+            if (!queue.running) {
+                queue.running = true;
+                schedule[0] = true;
+            }
+            return queue;
+        });
+        if (!schedule[0]) return;
+        try {
+            executor.execute(groupQueue);
+        } catch (RejectedExecutionException e) {
+            groupQueue.run();
+        }
+    }
+
+    /**
+     * 当前有待执行任务的消息组数量
+     */
+    public int getActiveGroups() {
+        return groups.size();
+    }
+
+    private class GroupQueue implements Runnable {
+        private final String groupId;
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean running;
+
+        private GroupQueue(String groupId) {
+            this.groupId = groupId;
+        }
+
+        @Override
+        public void run() {
+            Runnable task;
+            while ((task = next()) != null) {
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    logger.error("[MessageGroupDispatcher] 消息组任务执行异常, groupId:{} ,errorMessage:{}",
+                            groupId, e.getLocalizedMessage());
+                }
+            }
+        }
+
+        private Runnable next() {
+            Runnable[] next = new Runnable[1];
+            groups.compute(groupId, (k, queue) -> {
+                next[0] = queue.tasks.poll();
+                if (next[0] != null) return queue;
+                queue.running = false;
+                return null;
+            });
+            return next[0];
+        }
+    }
+}
@@ -1,7 +1,17 @@
 package com.duxinglangzi.sqs.starter.container;
 
+import com.duxinglangzi.sqs.starter.codec.PayloadCodec;
+import com.duxinglangzi.sqs.starter.compression.PayloadCompression;
+import com.duxinglangzi.sqs.starter.dedup.DeduplicationStore;
 import com.duxinglangzi.sqs.starter.common.Constants;
+import com.duxinglangzi.sqs.starter.common.SharedScheduler;
 import com.duxinglangzi.sqs.starter.enums.MessageDeletionPolicy;
+import com.duxinglangzi.sqs.starter.metadata.QueueMetadata;
+import com.duxinglangzi.sqs.starter.metadata.QueueMetadataCache;
+import com.duxinglangzi.sqs.starter.metrics.QueueMetrics;
+import com.duxinglangzi.sqs.starter.metrics.SqsMetrics;
+import com.duxinglangzi.sqs.starter.offload.OffloadedPayloadTracker;
+import com.duxinglangzi.sqs.starter.offload.PayloadOffloading;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.task.AsyncTaskExecutor;
@@ -10,13 +20,25 @@ import software.amazon.awssdk.services.sqs.model.*;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.net.URI;
-import java.net.URISyntaxException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
 /**
@@ -27,18 +49,71 @@ import java.util.stream.Collectors;
 public class MessageListenerContainer extends AbstractMessageListenerContainer {
     private static final Logger logger = LoggerFactory.getLogger(MessageListenerContainer.class);
 
-    private String queueUrl;
+    protected String queueUrl;
     private String queueName;
-    private Method method;
+    protected Method method;
     private Object bean;
     private SqsClient sqsClient;
-    private MessageDeletionPolicy deletionPolicy;
+    protected MessageDeletionPolicy deletionPolicy;
     private List<QueueAttributeName> attributeNames;
     private List<String> messageAttributeNames;
-    private int maxNumberOfMessages;
-    private AsyncTaskExecutor asyncTaskExecutor;
-    private boolean isFifoQueue = false;
-    private ReceiveMessageRequest buildRequest;
+    protected int maxNumberOfMessages;
+    protected AsyncTaskExecutor asyncTaskExecutor;
+    protected boolean isFifoQueue = false;
+    protected ReceiveMessageRequest buildRequest;
+    protected int maxInFlightMessages;
+    protected InFlightMessageWindow inFlightWindow;
+    // 窗口由本容器创建(未与其他 listener 共享), 自动扩缩容时可调整其上限
+    protected boolean ownsInFlightWindow;
+    protected MessageGroupDispatcher groupDispatcher;
+    // 批量 listener: 方法参数为 List<Message>
+    protected boolean batchListener;
+    private int batchSize;
+    private long batchWindowMillis;
+    protected MessageBatchAccumulator batchAccumulator;
+    // 合并删除请求, 所有删除都经由此缓冲区以 DeleteMessageBatch 发送
+    protected DeleteMessageBuffer deleteBuffer;
+    // 大于0时自动延长处理中消息的可见性超时
+    private long maxVisibilityExtensionSeconds;
+    protected VisibilityTimeoutExtender visibilityExtender;
+    // 拉取策略, 为空时使用默认的 AdaptivePollingStrategy
+    protected PollingStrategy pollingStrategy;
+    // listener 方法调用器, 为空时在初始化时生成
+    private ListenerInvoker listenerInvoker;
+    // listener 第一个参数不是 Message 时, 用于将消息转换为该参数的类型
+    private PayloadCodec payloadCodec;
+    private Type payloadType;
+    // 连接名称, 用于指标标签
+    private String clientName;
+    protected QueueMetrics metrics = QueueMetrics.NOOP;
+    // 已拉取但尚未处理完成的消息数
+    private final AtomicInteger inFlightMessages = new AtomicInteger();
+    // 处理完成(或未能处理)的消息总数, 用于计算消费速率
+    private final AtomicLong completedMessages = new AtomicLong();
+    // 自动扩缩容, maxConcurrency 大于 concurrency 时启用
+    private int maxConcurrency;
+    private long autoscaleIntervalMillis;
+    private long autoscaleTargetDrainSeconds;
+    private int baseInFlightLimit;
+    private BacklogAutoscaler autoscaler;
+    // 已拉取但尚未开始处理的消息, key: receiptHandle; 开始处理前移除, 停止时剩余的消息立即重置可见性
+    private final Map<String, Message> unstartedMessages = new ConcurrentHashMap<>();
+    // 停止时等待处理中的消息完成的最长时间
+    private long shutdownTimeoutMillis = TimeUnit.SECONDS.toMillis(20L);
+    // 队列地址及属性的缓存, 为空时在初始化时创建容器独享的缓存
+    private QueueMetadataCache queueMetadataCache;
+    // 启用 claim-check 时记录消息内容存入存储的消息, 删除消息后删除存储的内容
+    protected OffloadedPayloadTracker offloadedPayloads;
+    protected QueueMetadata queueMetadata;
+    // 消费端去重, 为空时不去重
+    private DeduplicationStore deduplicationStore;
+    // 去重 key 所在的消息属性, 为空时使用 messageId
+    private String deduplicationKeyAttribute;
+    // 已处理成功的重复消息是否删除
+    private boolean deleteDuplicates;
+    // 按处理耗时及失败率自适应调整在途消息上限
+    private boolean adaptiveConcurrency;
+    protected AdaptiveConcurrencyLimiter concurrencyLimiter;
 
     public MessageListenerContainer(
             String queueName, List<QueueAttributeName> attributeNames, List<String> messageAttributeNames,int maxNumberOfMessages,
@@ -55,51 +130,166 @@ public class MessageListenerContainer extends AbstractMessageListenerContainer {
     }
 
     public void doInit() {
-        queueUrl = resolveDestination(queueName);
-        isFifoQueue = checkFifoQueue(queueUrl);
+        if (listenerInvoker == null) listenerInvoker = ListenerInvokerFactory.create(method);
+        if (queueMetadataCache == null)
+            queueMetadataCache = new QueueMetadataCache(() -> sqsClient, TimeUnit.MINUTES.toMillis(5L), 1);
+        // 同一连接下监听同一队列的 listener 及发送消息时共享查询结果
+        queueUrl = queueMetadataCache.queueUrl(queueName);
+        queueMetadata = queueMetadataCache.get(queueUrl);
+        metrics = SqsMetrics.of(clientName, queueUrl);
+        metrics.bindInFlight(inFlightMessages::get);
+        isFifoQueue = queueMetadata.isFifoQueue();
+        if (pollingStrategy == null) pollingStrategy = new AdaptivePollingStrategy(maxNumberOfMessages);
         ReceiveMessageRequest.Builder requestBuilder = ReceiveMessageRequest.builder().queueUrl(queueUrl);
         requestBuilder.maxNumberOfMessages(maxNumberOfMessages);// 最大10条消息
-        requestBuilder.waitTimeSeconds(Constants.DEFAULT_WAIT_TIME_SECONDS);// 长轮询10秒
+        requestBuilder.waitTimeSeconds(pollingStrategy.waitTimeSeconds());// 长轮询, 默认10秒
         if (attributeNames != null) requestBuilder.attributeNames(attributeNames);
-        if (messageAttributeNames != null) requestBuilder.messageAttributeNames(messageAttributeNames);
+        // 拉取标记属性才能识别内容已压缩或存入存储的消息
+        List<String> attributeNamesToReceive = PayloadCompression.withEncodingAttribute(messageAttributeNames);
+        if (deduplicationKeyAttribute != null && !attributeNamesToReceive.contains(deduplicationKeyAttribute)
+                && !attributeNamesToReceive.contains("All") && !attributeNamesToReceive.contains(".*"))
+            attributeNamesToReceive.add(deduplicationKeyAttribute);
+        if (PayloadOffloading.isEnabled()) attributeNamesToReceive = PayloadOffloading.withPointerAttribute(attributeNamesToReceive);
+        requestBuilder.messageAttributeNames(attributeNamesToReceive);
+        if (isFifoQueue) {
+            // FIFO 队列按消息组并行处理, 需要拉取消息的 MessageGroupId
+            requestBuilder.attributeNamesWithStrings(fifoAttributeNames());
+            groupDispatcher = new MessageGroupDispatcher(asyncTaskExecutor);
+        }
         this.buildRequest = requestBuilder.build();
+        this.deleteBuffer = createDeleteBuffer();
+        this.deleteBuffer.setMetrics(metrics);
+        if (PayloadOffloading.isEnabled()) {
+            offloadedPayloads = new OffloadedPayloadTracker(PayloadOffloading.store());
+            deleteBuffer.setDeletedListener(offloadedPayloads::deleted);
+        }
+        if (maxVisibilityExtensionSeconds > 0 && queueMetadata.getVisibilityTimeoutSeconds() > 0) {
+            visibilityExtender = new VisibilityTimeoutExtender(
+                    queueUrl, sqsClient, queueMetadata.getVisibilityTimeoutSeconds(), maxVisibilityExtensionSeconds);
+            visibilityExtender.start();
+        }
+        if (batchListener)
+            batchAccumulator = new MessageBatchAccumulator(batchSize, batchWindowMillis, this::dispatchBatch);
+        if (inFlightWindow == null) {
+            // 未使用独立线程池(bulkhead)的窗口时, 按 listener 的配置创建
+            if (batchListener) {
+                inFlightWindow = new InFlightMessageWindow(batchInFlightLimit());
+            } else if (maxInFlightMessages > 0) {
+                inFlightWindow = new InFlightMessageWindow(maxInFlightMessages);
+            } else if (adaptiveConcurrency) {
+                inFlightWindow = new InFlightMessageWindow(concurrency * maxNumberOfMessages);
+            }
+            ownsInFlightWindow = inFlightWindow != null;
+        }
+        if (adaptiveConcurrency) createConcurrencyLimiter();
+    }
+
+    /**
+     * 自适应并发上限只调整本容器独有的在途窗口: 批量 listener 的窗口控制批次数, 共享的窗口(bulkhead)与线程数对应, 均不调整
+     */
+    private void createConcurrencyLimiter() {
+        if (batchListener || !ownsInFlightWindow) {
+            logger.warn("[MessageListenerContainer_createConcurrencyLimiter] 批量 listener 或使用独立线程池(bulkhead)时不支持自适应并发上限, queueUrl:{}", queueUrl);
+            return;
+        }
+        // 未设置 maxInFlightMessages 时, 最大为每个拉取线程(按扩容上限)一个批次
+        int maxLimit = maxInFlightMessages > 0 ? maxInFlightMessages : Math.max(concurrency, maxConcurrency) * maxNumberOfMessages;
+        int initialLimit = Math.min(inFlightWindow.getLimit(), concurrency * maxNumberOfMessages);
+        InFlightMessageWindow window = inFlightWindow;
+        concurrencyLimiter = new AdaptiveConcurrencyLimiter(initialLimit, 1, maxLimit, window::getInFlight, window::setLimit);
+        window.setLimit(concurrencyLimiter.getLimit());
+        metrics.bindConcurrencyLimit(concurrencyLimiter::getLimit);
+    }
+
+    /**
+     * 启动拉取后开始按积压自动扩缩容
+     */
+    @Override
+    protected void startPolling() {
+        super.startPolling();
+        if (maxConcurrency <= concurrency) return;
+        if (inFlightWindow != null) baseInFlightLimit = inFlightWindow.getLimit();
+        autoscaler = new BacklogAutoscaler(this, sqsClient, queueUrl, concurrency, maxConcurrency,
+                autoscaleIntervalMillis, autoscaleTargetDrainSeconds);
+        autoscaler.start();
+    }
+
+    /**
+     * 调整拉取线程数, 本容器独有的在途窗口上限随之等比例调整;
+     * 批量 listener 的窗口用于控制批次数(FIFO 队列保证批次顺序), 不做调整
+     *
+     * @param pollers 拉取线程数, 限制在 [concurrency, maxConcurrency] 之间
+     * @author wuqiong 2026/10/18
+     */
+    public void scaleTo(int pollers) {
+        int target = Math.max(concurrency, Math.min(Math.max(concurrency, maxConcurrency), pollers));
+        // 启用自适应并发上限时由其调整窗口
+        if (ownsInFlightWindow && !batchListener && baseInFlightLimit > 0 && concurrencyLimiter == null)
+            inFlightWindow.setLimit((int) ((long) baseInFlightLimit * target / concurrency));
+        resizePollers(target);
+    }
+
+    /**
+     * 批量 listener 的在途消息上限, 默认同一时间只有一个批次在聚合或处理中;
+     * FIFO 队列为保证批次之间的顺序, 始终只允许一个批次
+     */
+    protected int batchInFlightLimit() {
+        return isFifoQueue ? batchSize : Math.max(batchSize, maxInFlightMessages);
+    }
+
+    protected DeleteMessageBuffer createDeleteBuffer() {
+        return DeleteMessageBuffer.create(queueUrl, sqsClient, Constants.DEFAULT_DELETE_BATCH_WINDOW_MILLIS);
     }
 
     public void doStart() {
+        if (inFlightWindow != null) {
+            doStartInFlightWindow();
+            return;
+        }
         try {
-            ReceiveMessageResponse receiveMessageResponse = sqsClient.receiveMessage(this.buildRequest);
-            if (!receiveMessageResponse.hasMessages()) {
-                sleep(SLEEP_TIME_MILLI_SECONDS);
+            ReceiveMessageRequest request = receiveRequest(maxNumberOfMessages);
+            long receiveStart = System.nanoTime();
+            ReceiveMessageResponse receiveMessageResponse = receiveMessage(request);
+            int received = receiveMessageResponse.hasMessages() ? receiveMessageResponse.messages().size() : 0;
+            long receiveNanos = System.nanoTime() - receiveStart;
+            metrics.recordReceive(receiveNanos, request.maxNumberOfMessages(), received);
+            long delay = pollingStrategy.onReceived(request.maxNumberOfMessages(), received, TimeUnit.NANOSECONDS.toMillis(receiveNanos));
+            if (received == 0) {
+                sleep(delay);
                 if (!isRunning()) Thread.currentThread().interrupt();
                 return;
             }
+            if (!isRunning()) {
+                // 长轮询期间容器已停止, 不再分发, 立即交还给其他节点
+                releaseMessages(receiveMessageResponse.messages());
+                return;
+            }
+            trackVisibility(receiveMessageResponse.messages());
             if (isFifoQueue) {
-                for (Message message : receiveMessageResponse.messages()) {
-                    Exception exception = null;
-                    try {
-                        if (MessageDeletionPolicy.NEVER == deletionPolicy) {
-                            method.invoke(bean, message, createAck(message));
-                        } else {
-                            method.invoke(bean, message);
-                        }
-                    } catch (IllegalAccessException | InvocationTargetException e) {
-                        exception = e;
-                        e.printStackTrace();
-                    }
-                    switch (deletionPolicy) {
-                        case ALWAYS:
-                            deleteMessage(message.receiptHandle());
-                            break;
-                        case SUCCESS:
-                            if (exception == null) deleteMessage(message.receiptHandle());
-                            break;
-                    }
+                Map<String, List<Message>> messageGroups = groupByMessageGroupId(receiveMessageResponse.messages());
+                CountDownLatch countDownLatch = new CountDownLatch(messageGroups.size());
+                messageGroups.forEach((groupId, messages) ->
+                        groupDispatcher.execute(groupId, new MessageGroupExecutor(messages, n -> countDownLatch.countDown())));
+                try {
+                    countDownLatch.await();
+                } catch (InterruptedException e) {
+                    logger.error("[MessageListenerContainer_doStart_countDownLatch] FIFO消息消费过程中多线程发生异常, queueUrl:{} ,deletionPolicy:{} ,errorMessage:{}",
+                            queueUrl, deletionPolicy.name(), e.getLocalizedMessage());
+                    Thread.currentThread().interrupt();
                 }
             } else {
                 CountDownLatch countDownLatch = new CountDownLatch(receiveMessageResponse.messages().size());
                 Map<String, String> concurrentHashMap = new ConcurrentHashMap();
                 for (Message message : receiveMessageResponse.messages()) {
-                    this.asyncTaskExecutor.execute(new SignalExecutingRunnable(countDownLatch, new MessageExecutor(message, concurrentHashMap)));
+                    try {
+                        this.asyncTaskExecutor.execute(new SignalExecutingRunnable(countDownLatch, new MessageExecutor(message, concurrentHashMap)));
+                    } catch (RejectedExecutionException e) {
+                        // 未能提交的消息在可见性超时后会重新投递, 同时计数, 避免一直等待
+                        logger.error("[MessageListenerContainer_doStart] 线程池拒绝执行, queueUrl:{} ,messageId:{}",
+                                queueUrl, message.messageId());
+                        discard(message);
+                        countDownLatch.countDown();
+                    }
                 }
                 try {
                     countDownLatch.await();
@@ -115,61 +305,715 @@ public class MessageListenerContainer extends AbstractMessageListenerContainer {
                     queueUrl, method.getName(), exc.getLocalizedMessage());
             // 防止删除消息时发生错误,或者拉取消息失败等情况
             exc.printStackTrace();
-            // 增加等待,因网络、队列配置等问题引起的日志死循环打印问题
-            sleep(SLEEP_TIME_MILLI_SECONDS);
+            // 按退避时间等待,因网络、队列配置等问题引起的日志死循环打印及请求风暴问题
+            sleep(pollingStrategy.onReceiveError(exc));
         }
     }
 
-    private QueueMessageAcknowledgment createAck(Message message) {
-        return new QueueMessageAcknowledgment(queueUrl, message.receiptHandle(), sqsClient);
+    /**
+     * 在途窗口模式: 有空闲槽位即拉取消息, 每条消息处理完成后立即删除并释放槽位,
+     * 避免单条慢消息阻塞整个批次.
+     */
+    private void doStartInFlightWindow() {
+        int permits = 0;
+        try {
+            permits = inFlightWindow.acquire(pollingStrategy.nextMaxNumberOfMessages(), SLEEP_TIME_MILLI_SECONDS, TimeUnit.MILLISECONDS);
+            if (permits == 0) return; // 没有空闲槽位, 重新检查运行状态后再等待
+            ReceiveMessageRequest request = receiveRequest(permits);
+            long receiveStart = System.nanoTime();
+            ReceiveMessageResponse receiveMessageResponse = receiveMessage(request);
+            int received = receiveMessageResponse.hasMessages() ? receiveMessageResponse.messages().size() : 0;
+            long receiveNanos = System.nanoTime() - receiveStart;
+            metrics.recordReceive(receiveNanos, request.maxNumberOfMessages(), received);
+            inFlightWindow.release(permits - received);
+            permits = received;
+            long delay = pollingStrategy.onReceived(request.maxNumberOfMessages(), received, TimeUnit.NANOSECONDS.toMillis(receiveNanos));
+            if (received == 0) {
+                sleep(delay);
+                if (!isRunning()) Thread.currentThread().interrupt();
+                return;
+            }
+            if (!isRunning()) {
+                // 长轮询期间容器已停止, 不再分发, 立即交还给其他节点
+                releaseMessages(receiveMessageResponse.messages());
+                inFlightWindow.release(permits);
+                permits = 0;
+                return;
+            }
+            trackVisibility(receiveMessageResponse.messages());
+            if (batchAccumulator != null) {
+                // 批次处理完成后释放槽位
+                batchAccumulator.add(receiveMessageResponse.messages());
+                permits = 0;
+                return;
+            }
+            if (isFifoQueue) {
+                // 每个消息组处理完成后释放该组占用的槽位
+                groupByMessageGroupId(receiveMessageResponse.messages()).forEach((groupId, messages) ->
+                        groupDispatcher.execute(groupId, new MessageGroupExecutor(messages, inFlightWindow::release)));
+                permits = 0;
+                return;
+            }
+            for (Message message : receiveMessageResponse.messages()) {
+                try {
+                    this.asyncTaskExecutor.execute(new InFlightMessageExecutor(message));
+                } catch (RejectedExecutionException e) {
+                    // 未能提交的消息在可见性超时后会重新投递
+                    logger.error("[MessageListenerContainer_doStartInFlightWindow] 线程池拒绝执行, queueUrl:{} ,messageId:{}",
+                            queueUrl, message.messageId());
+                    discard(message);
+                    inFlightWindow.release(1);
+                }
+                permits--;
+            }
+        } catch (InterruptedException e) {
+            inFlightWindow.release(permits);
+            Thread.currentThread().interrupt();
+        } catch (Exception exc) {
+            inFlightWindow.release(permits);
+            logger.error("[MessageListenerContainer_doStartInFlightWindow] 拉取消息发生异常 ,Pull message exception. queueUrl:{} ,methodName:{} ,errorMessage:{}",
+                    queueUrl, method.getName(), exc.getLocalizedMessage());
+            sleep(pollingStrategy.onReceiveError(exc));
+        }
     }
 
-    private boolean deleteMessage(String receiptHandle) {
-        DeleteMessageRequest buildDeleteRequest = DeleteMessageRequest.builder()
-                .queueUrl(queueUrl)
-                .receiptHandle(receiptHandle)
-                .build();
-        boolean isDelete = sqsClient.deleteMessage(buildDeleteRequest).sdkHttpResponse().isSuccessful();
-        if (!isDelete) throw new RuntimeException("Message Cannot delete ,receiptHandle: " + receiptHandle);
-        return true;
+    /**
+     * 拉取消息, 失败时记录拉取失败的指标
+     */
+    private ReceiveMessageResponse receiveMessage(ReceiveMessageRequest request) {
+        try {
+            return sqsClient.receiveMessage(request);
+        } catch (RuntimeException e) {
+            metrics.recordReceiveError();
+            throw e;
+        }
+    }
+
+    /**
+     * 按拉取策略生成本次拉取请求, 拉取条数不超过 limit
+     */
+    protected ReceiveMessageRequest receiveRequest(int limit) {
+        int numberOfMessages = Math.min(limit, pollingStrategy.nextMaxNumberOfMessages());
+        return numberOfMessages == maxNumberOfMessages ?
+                this.buildRequest : this.buildRequest.toBuilder().maxNumberOfMessages(numberOfMessages).build();
+    }
+
+    /**
+     * 调用 listener 方法, 返回执行过程中发生的异常, 执行成功则返回 null
+     */
+    protected Exception invokeListener(Message message) {
+        String deduplicationKey = null;
+        if (deduplicationStore != null) {
+            deduplicationKey = deduplicationKey(message);
+            DeduplicationStore.Status status = tryAcquire(deduplicationKey);
+            if (status != DeduplicationStore.Status.ACQUIRED) {
+                untrackVisibility(message);
+                return duplicate(message, status);
+            }
+        }
+        // NEVER 策略下由 listener 确认消息, 去重 key 随确认结束
+        AcknowledgedDeduplication acknowledgedDeduplication = deduplicationKey != null && MessageDeletionPolicy.NEVER == deletionPolicy ?
+                new AcknowledgedDeduplication(deduplicationKey) : null;
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            // 解码失败与 listener 方法抛出异常相同, 按删除策略处理; 先读取存储内的内容再解压
+            Object payload = payloadCodec == null ? PayloadCompression.decompress(message) : payloadCodec.decode(
+                    PayloadCompression.decompress(payloadCodec.resolvesOffloadedPayload() ?
+                            message : PayloadOffloading.resolve(message)), payloadType);
+            QueueMessageAcknowledgment acknowledgment = null;
+            if (MessageDeletionPolicy.NEVER == deletionPolicy) {
+                acknowledgment = createAck(message);
+                if (acknowledgedDeduplication != null) acknowledgment.setAcknowledgedListener(acknowledgedDeduplication::acknowledged);
+            }
+            listenerInvoker.invoke(bean, payload, acknowledgment);
+            recordHandler(System.nanoTime() - start, true);
+            success = true;
+            return null;
+        } catch (Throwable e) {
+            recordHandler(System.nanoTime() - start, false);
+            e.printStackTrace();
+            return asException(e);
+        } finally {
+            if (acknowledgedDeduplication != null) acknowledgedDeduplication.returned();
+            else if (deduplicationKey != null) finishDeduplication(deduplicationKey, success);
+            untrackVisibility(message);
+        }
+    }
+
+    /**
+     * 记录 listener 方法的执行耗时, 启用自适应并发上限时同时作为其样本
+     */
+    protected void recordHandler(long nanos, boolean success) {
+        metrics.recordHandler(nanos, success);
+        if (concurrencyLimiter != null) concurrencyLimiter.onSample(nanos, success);
+    }
+
+    /**
+     * 记录消息(或批次)在线程池中的等待时间
+     */
+    protected void recordQueueWait(long nanos) {
+        metrics.recordQueueWait(nanos);
+        if (concurrencyLimiter != null) concurrencyLimiter.onQueueWait(nanos);
+    }
+
+    /**
+     * 消息的去重 key: 配置的消息属性的值, 未配置或消息不包含该属性时为 messageId
+     */
+    protected String deduplicationKey(Message message) {
+        if (deduplicationKeyAttribute == null || !message.hasMessageAttributes()) return message.messageId();
+        MessageAttributeValue value = message.messageAttributes().get(deduplicationKeyAttribute);
+        return value == null || value.stringValue() == null ? message.messageId() : value.stringValue();
+    }
+
+    /**
+     * 登记去重 key, 存储不可用时按未重复处理
+     */
+    private DeduplicationStore.Status tryAcquire(String deduplicationKey) {
+        try {
+            return deduplicationStore.tryAcquire(queueUrl, deduplicationKey);
+        } catch (Exception e) {
+            logger.warn("[MessageListenerContainer_tryAcquire] 去重存储不可用, 按未重复处理, queueUrl:{} ,key:{} ,errorMessage:{}",
+                    queueUrl, deduplicationKey, e.getLocalizedMessage());
+            return DeduplicationStore.Status.ACQUIRED;
+        }
+    }
+
+    /**
+     * 处理成功时记录为已处理, 失败时移除, 重新投递后可以再次处理
+     */
+    private void finishDeduplication(String deduplicationKey, boolean success) {
+        try {
+            if (success) deduplicationStore.complete(queueUrl, deduplicationKey);
+            else deduplicationStore.release(queueUrl, deduplicationKey);
+        } catch (Exception e) {
+            logger.warn("[MessageListenerContainer_finishDeduplication] 更新去重存储失败, queueUrl:{} ,key:{} ,errorMessage:{}",
+                    queueUrl, deduplicationKey, e.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * 重复的消息不调用 listener: 已处理成功的按配置删除; 仍在处理中的不删除, 原消息处理失败时仍可重新投递.
+     * 删除策略为 NEVER 时消息只由 listener 确认删除, 重复的消息同样不删除
+     */
+    private Exception duplicate(Message message, DeduplicationStore.Status status) {
+        metrics.recordDuplicate();
+        boolean deletable = deleteDuplicates && DeduplicationStore.Status.COMPLETED == status
+                && MessageDeletionPolicy.NEVER != deletionPolicy;
+        if (logger.isDebugEnabled())
+            logger.debug("[MessageListenerContainer_duplicate] 跳过重复消息, queueUrl:{} ,messageId:{} ,status:{} ,delete:{}",
+                    queueUrl, message.messageId(), status, deletable);
+        if (deletable) return DuplicateMessageException.DELETABLE;
+        return DeduplicationStore.Status.COMPLETED == status ? DuplicateMessageException.COMPLETED : DuplicateMessageException.RETAINED;
+    }
+
+    protected boolean isCompletedDuplicate(Exception exception) {
+        return exception instanceof DuplicateMessageException && ((DuplicateMessageException) exception).completed;
+    }
+
+    protected boolean shouldDelete(Exception exception) {
+        // 重复的消息未调用 listener, 与删除策略无关
+        if (exception instanceof DuplicateMessageException) return ((DuplicateMessageException) exception).deletable;
+        switch (deletionPolicy) {
+            case ALWAYS:
+                return true;
+            case SUCCESS:
+                return exception == null;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 将聚合好的批次提交到线程池执行
+     */
+    protected void dispatchBatch(List<Message> batch) {
+        try {
+            long submittedAt = System.nanoTime();
+            asyncTaskExecutor.execute(() -> {
+                recordQueueWait(System.nanoTime() - submittedAt);
+                processBatch(batch);
+            });
+        } catch (RejectedExecutionException e) {
+            // 未能提交的消息在可见性超时后会重新投递
+            logger.error("[MessageListenerContainer_dispatchBatch] 线程池拒绝执行, queueUrl:{} ,batchSize:{}", queueUrl, batch.size());
+            batch.forEach(this::discard);
+            releaseInFlight(batch.size());
+        }
+    }
+
+    /**
+     * 调用批量 listener 方法, 并按删除策略批量删除消息
+     * <p>
+     * FIFO 队列中, 某个消息组内第一条失败消息之后的消息不会被删除, 而是立即重置可见性, 以保证组内顺序.
+     */
+    protected void processBatch(List<Message> messages) {
+        // 停止时已被释放的消息不再处理
+        List<Message> batch = startProcessing(messages);
+        try {
+            if (deduplicationStore != null) batch = deduplicate(batch);
+            if (batch.isEmpty()) return;
+            if (MessageDeletionPolicy.NEVER == deletionPolicy) {
+                // 由 listener 确认消息, 去重 key 随确认结束, 方法返回时尚未确认的消息移除 key
+                Map<String, AcknowledgedDeduplication> acknowledgedDeduplications = new HashMap<>();
+                if (deduplicationStore != null)
+                    batch.forEach(message -> acknowledgedDeduplications.put(
+                            message.messageId(), new AcknowledgedDeduplication(deduplicationKey(message))));
+                invokeBatchListener(batch, acknowledged -> acknowledged.forEach(message -> {
+                    AcknowledgedDeduplication deduplication = acknowledgedDeduplications.get(message.messageId());
+                    if (deduplication != null) deduplication.acknowledged();
+                }));
+                acknowledgedDeduplications.values().forEach(AcknowledgedDeduplication::returned);
+                return;
+            }
+            Set<String> failedMessageIds = failedMessageIds(batch, invokeBatchListener(batch, null));
+            List<Message> deletable = new ArrayList<>(batch.size());
+            List<Message> unprocessed = new ArrayList<>();
+            Set<String> failedGroups = new HashSet<>();
+            for (Message message : batch) {
+                boolean failed = failedMessageIds.contains(message.messageId());
+                if (isFifoQueue && MessageDeletionPolicy.ALWAYS != deletionPolicy) {
+                    String groupId = message.attributes().get(MessageSystemAttributeName.MESSAGE_GROUP_ID);
+                    if (failedGroups.contains(groupId)) {
+                        // 重新投递后需要按顺序再次处理
+                        unprocessed.add(message);
+                        if (deduplicationStore != null) finishDeduplication(message, false);
+                        continue;
+                    }
+                    if (failed) failedGroups.add(groupId);
+                }
+                if (deduplicationStore != null) finishDeduplication(message, !failed);
+                if (MessageDeletionPolicy.ALWAYS == deletionPolicy || !failed) deletable.add(message);
+            }
+            if (!unprocessed.isEmpty()) releaseMessages(unprocessed);
+            if (!deletable.isEmpty()) deleteMessages(deletable);
+        } catch (Exception e) {
+            logger.error("[MessageListenerContainer_processBatch] 批量消息处理异常, queueUrl:{} ,errorMessage:{}",
+                    queueUrl, e.getLocalizedMessage());
+        } finally {
+            releaseInFlight(messages.size());
+        }
+    }
+
+    /**
+     * 批量 listener 去重: 返回需要处理的消息, 已处理成功的重复消息按配置删除
+     */
+    private List<Message> deduplicate(List<Message> batch) {
+        List<Message> acquired = new ArrayList<>(batch.size());
+        List<Message> deletable = new ArrayList<>();
+        for (Message message : batch) {
+            DeduplicationStore.Status status = tryAcquire(deduplicationKey(message));
+            if (status == DeduplicationStore.Status.ACQUIRED) {
+                acquired.add(message);
+                continue;
+            }
+            untrackVisibility(message);
+            if (shouldDelete(duplicate(message, status))) deletable.add(message);
+        }
+        if (!deletable.isEmpty()) deleteMessages(deletable);
+        return acquired;
+    }
+
+    private void finishDeduplication(Message message, boolean success) {
+        finishDeduplication(deduplicationKey(message), success);
+    }
+
+    /**
+     * 调用批量 listener 方法
+     *
+     * @param batch                消息
+     * @param acknowledgedListener 删除策略为 NEVER 时, listener 确认的消息删除成功后的回调, 可以为空
+     */
+    protected Exception invokeBatchListener(List<Message> batch, Consumer<Collection<Message>> acknowledgedListener) {
+        long start = System.nanoTime();
+        try {
+            BatchMessageAcknowledgment acknowledgment = null;
+            if (MessageDeletionPolicy.NEVER == deletionPolicy) {
+                // 确认时使用原消息
+                acknowledgment = new BatchMessageAcknowledgment(batch, deleteBuffer);
+                acknowledgment.setAcknowledgedListener(acknowledgedListener);
+            }
+            listenerInvoker.invoke(bean, PayloadCompression.decompress(batch), acknowledgment);
+            recordHandler(System.nanoTime() - start, true);
+            return null;
+        } catch (Throwable e) {
+            recordHandler(System.nanoTime() - start, false);
+            e.printStackTrace();
+            return asException(e);
+        } finally {
+            batch.forEach(this::untrackVisibility);
+        }
+    }
+
+    /**
+     * listener 方法抛出 Error 时包装为 InvocationTargetException, 与反射调用时的处理一致
+     */
+    private static Exception asException(Throwable throwable) {
+        return throwable instanceof Exception ? (Exception) throwable : new InvocationTargetException(throwable);
+    }
+
+    /**
+     * 开始跟踪刚拉取到的消息: 计入在途消息数, 启用时开始延长可见性超时
+     */
+    protected void trackVisibility(List<Message> messages) {
+        inFlightMessages.addAndGet(messages.size());
+        for (Message message : messages) unstartedMessages.put(message.receiptHandle(), message);
+        if (offloadedPayloads != null) offloadedPayloads.track(messages);
+        if (visibilityExtender != null) visibilityExtender.track(messages);
     }
 
-    private boolean checkFifoQueue(String queueUrl) {
-        GetQueueAttributesResponse queueAttributes = this.sqsClient.getQueueAttributes(
-                GetQueueAttributesRequest.builder().queueUrl(queueUrl).attributeNames(QueueAttributeName.ALL).build());
-        String fifoQueue = queueAttributes.attributes().get(QueueAttributeName.FIFO_QUEUE);
-        return Boolean.TRUE.toString().equals(fifoQueue);
+    /**
+     * 即将开始处理消息, 返回 false 表示该消息已在停止时被释放, 不能再处理
+     */
+    protected boolean startProcessing(Message message) {
+        return unstartedMessages.remove(message.receiptHandle()) != null;
+    }
+
+    /**
+     * 即将开始处理多条消息, 返回其中尚未在停止时被释放的消息
+     */
+    protected List<Message> startProcessing(List<Message> messages) {
+        List<Message> started = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            if (startProcessing(message)) started.add(message);
+        }
+        return started;
+    }
+
+    /**
+     * 放弃未能提交处理的消息, 其在可见性超时后重新投递
+     */
+    protected void discard(Message message) {
+        if (startProcessing(message)) untrackVisibility(message);
+        if (offloadedPayloads != null) offloadedPayloads.untrack(message);
+    }
+
+    /**
+     * 停止跟踪处理完成(或未能处理)的消息
+     */
+    protected void untrackVisibility(Message message) {
+        inFlightMessages.decrementAndGet();
+        completedMessages.incrementAndGet();
+        if (visibilityExtender != null) visibilityExtender.untrack(message);
+    }
+
+    /**
+     * 批次内处理失败的消息: 方法抛出 BatchListenerFailedException 时为其指定的消息, 抛出其他异常时为整个批次
+     */
+    private static Set<String> failedMessageIds(List<Message> batch, Exception exception) {
+        if (exception == null) return Collections.emptySet();
+        Throwable cause = exception instanceof InvocationTargetException ? exception.getCause() : exception;
+        if (cause instanceof BatchListenerFailedException)
+            return ((BatchListenerFailedException) cause).getFailedMessageIds();
+        return batch.stream().map(Message::messageId).collect(Collectors.toSet());
+    }
+
+    /**
+     * 释放在途窗口的槽位
+     */
+    protected void releaseInFlight(int permits) {
+        if (inFlightWindow != null) inFlightWindow.release(permits);
+    }
+
+    private List<String> fifoAttributeNames() {
+        List<String> names = attributeNames == null ? new ArrayList<>() : attributeNames.stream()
+                .filter(e -> e != null && e != QueueAttributeName.UNKNOWN_TO_SDK_VERSION)
+                .map(QueueAttributeName::toString).collect(Collectors.toList());
+        names.add(MessageSystemAttributeName.MESSAGE_GROUP_ID.toString());
+        return names;
+    }
+
+    /**
+     * 按 MessageGroupId 分组, 组内保持消息的接收顺序
+     */
+    protected static Map<String, List<Message>> groupByMessageGroupId(List<Message> messages) {
+        Map<String, List<Message>> messageGroups = new LinkedHashMap<>();
+        for (Message message : messages) {
+            String groupId = message.attributes().get(MessageSystemAttributeName.MESSAGE_GROUP_ID);
+            messageGroups.computeIfAbsent(groupId == null ? "" : groupId, k -> new ArrayList<>()).add(message);
+        }
+        return messageGroups;
+    }
+
+    /**
+     * 将消息的可见性超时时间设置为0, 使其可以立即被重新拉取
+     */
+    protected void releaseMessages(List<Message> messages) {
+        if (offloadedPayloads != null) messages.forEach(offloadedPayloads::untrack);
+        for (int from = 0; from < messages.size(); from += Constants.DEFAULT_BATCH_MESSAGE) {
+            List<Message> chunk = messages.subList(from, Math.min(from + Constants.DEFAULT_BATCH_MESSAGE, messages.size()));
+            List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                        .id(Integer.toString(i)).receiptHandle(chunk.get(i).receiptHandle()).visibilityTimeout(0).build());
+            }
+            ChangeMessageVisibilityBatchResponse response = sqsClient.changeMessageVisibilityBatch(
+                    ChangeMessageVisibilityBatchRequest.builder().queueUrl(queueUrl).entries(entries).build());
+            if (response.hasFailed() && !response.failed().isEmpty())
+                logger.error("[MessageListenerContainer_releaseMessages] 部分消息重置可见性失败, queueUrl:{} ,failed:{}",
+                        queueUrl, response.failed());
+        }
+    }
+
+    /**
+     * 删除消息并等待删除结果
+     */
+    private void deleteMessages(List<Message> messages) {
+        deleteBuffer.deleteAll(messages.stream().map(Message::receiptHandle).collect(Collectors.toList())).join();
+    }
+
+    protected QueueMessageAcknowledgment createAck(Message message) {
+        return new QueueMessageAcknowledgment(message.receiptHandle(), deleteBuffer);
     }
 
     private boolean deleteBatchMessage(Map<String, String> concurrentHashMap) {
-        List<DeleteMessageBatchRequestEntry> entries = concurrentHashMap.entrySet().stream().map(e -> DeleteMessageBatchRequestEntry.builder().id(e.getKey()).receiptHandle(e.getValue()).build()).collect(Collectors.toList());
-        DeleteMessageBatchRequest build =
-                DeleteMessageBatchRequest.builder().queueUrl(queueUrl).entries(entries).build();
-        boolean isDelete = sqsClient.deleteMessageBatch(build).sdkHttpResponse().isSuccessful();
+        boolean isDelete = deleteBuffer.deleteAll(concurrentHashMap.values()).join();
         if (!isDelete)
             throw new RuntimeException("Message batch Cannot delete ,receiptHandleMap: " + concurrentHashMap.toString());
         return true;
     }
 
-    private String resolveDestination(String queueName) {
-        if (isValidQueueUrl(queueName)) {
-            return queueName;
+    /**
+     * 设置为批量 listener: 跨多次拉取聚合消息, 达到 batchSize 条或超过 batchWindowMillis 毫秒后调用一次方法
+     */
+    public void setBatchListener(int batchSize, long batchWindowMillis) {
+        this.batchListener = true;
+        this.batchSize = Math.max(1, batchSize);
+        this.batchWindowMillis = batchWindowMillis;
+    }
+
+    @Override
+    protected String pollerName(int index) {
+        return "SQS_Listener_Poller[" + queueName.substring(queueName.lastIndexOf('/') + 1) + "]-" + index;
+    }
+
+    /**
+     * 设置在途消息窗口, 用于独立线程池(bulkhead): 窗口槽位数等于线程数, 只拉取有空闲线程处理的消息.
+     * <p>
+     * 设置后 maxInFlightMessages 不再生效. 需在容器启动前设置.
+     */
+    public void setInFlightWindow(InFlightMessageWindow inFlightWindow) {
+        this.inFlightWindow = inFlightWindow;
+    }
+
+    /**
+     * 设置 listener 方法调用器, 需在容器启动前设置
+     */
+    public void setListenerInvoker(ListenerInvoker listenerInvoker) {
+        this.listenerInvoker = listenerInvoker;
+    }
+
+    /**
+     * 设置消息内容解码器, listener 方法的第一个参数不是 Message 时使用, 需在容器启动前设置
+     *
+     * @param payloadCodec 解码器
+     * @param payloadType  listener 方法第一个参数的类型
+     * @author wuqiong 2026/10/18
+     */
+    public void setPayloadCodec(PayloadCodec payloadCodec, Type payloadType) {
+        this.payloadCodec = payloadCodec;
+        this.payloadType = payloadType;
+    }
+
+    /**
+     * 设置连接名称, 用于指标标签
+     */
+    public void setClientName(String clientName) {
+        this.clientName = clientName;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    /**
+     * 设置队列地址及属性的缓存, 同一连接的容器共享, 需在容器启动前设置
+     */
+    public void setQueueMetadataCache(QueueMetadataCache queueMetadataCache) {
+        this.queueMetadataCache = queueMetadataCache;
+    }
+
+    /**
+     * 队列元数据, 初始化完成前为 null
+     */
+    public QueueMetadata getQueueMetadata() {
+        return queueMetadata;
+    }
+
+    /**
+     * 预热连接: 同时发送 connections 个轻量请求(GetQueueAttributes), 使连接池提前建立连接并完成 TLS 握手,
+     * 需在初始化完成后调用
+     *
+     * @param connections 预热的连接数
+     * @return 全部请求完成时完成
+     * @author wuqiong 2026/10/18
+     */
+    public CompletableFuture<Void> warmUp(int connections) {
+        GetQueueAttributesRequest request = warmUpRequest();
+        // 所有请求同时发出, 连接池才会为每个请求建立新连接
+        CountDownLatch startSignal = new CountDownLatch(1);
+        CompletableFuture<?>[] futures = new CompletableFuture[connections];
+        for (int i = 0; i < connections; i++) {
+            futures[i] = CompletableFuture.runAsync(() -> {
+                try {
+                    startSignal.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                sqsClient.getQueueAttributes(request);
+            }, SharedScheduler.blockingExecutor());
         }
-        return this.sqsClient.getQueueUrl(GetQueueUrlRequest.builder().queueName(queueName).build()).queueUrl();
+        startSignal.countDown();
+        return CompletableFuture.allOf(futures);
+    }
+
+    protected GetQueueAttributesRequest warmUpRequest() {
+        return GetQueueAttributesRequest.builder().queueUrl(queueUrl).attributeNames(QueueAttributeName.VISIBILITY_TIMEOUT).build();
+    }
+
+    /**
+     * 启用自适应并发上限: 按处理耗时及失败率调整在途消息上限, 拉取时请求的条数随之变化, 需在容器启动前设置
+     */
+    public void setAdaptiveConcurrency(boolean adaptiveConcurrency) {
+        this.adaptiveConcurrency = adaptiveConcurrency;
+    }
+
+    /**
+     * 启用消费端去重, 需在容器启动前设置
+     *
+     * @param deduplicationStore        去重存储
+     * @param deduplicationKeyAttribute 去重 key 所在的消息属性, 为空时使用 messageId
+     * @param deleteDuplicates          已处理成功的重复消息是否删除, 否则等待可见性超时后重新投递
+     * @author wuqiong 2026/10/18
+     */
+    public void setDeduplication(DeduplicationStore deduplicationStore, String deduplicationKeyAttribute, boolean deleteDuplicates) {
+        this.deduplicationStore = deduplicationStore;
+        this.deduplicationKeyAttribute = deduplicationKeyAttribute == null || deduplicationKeyAttribute.isEmpty() ? null : deduplicationKeyAttribute;
+        this.deleteDuplicates = deleteDuplicates;
+    }
+
+    /**
+     * 设置拉取策略, 需在容器启动前设置
+     */
+    public void setPollingStrategy(PollingStrategy pollingStrategy) {
+        this.pollingStrategy = pollingStrategy;
     }
 
-    private static boolean isValidQueueUrl(String name) {
+    /**
+     * 设置处理中消息可见性超时的最长延长时间(秒), 大于0时启用自动延长
+     */
+    public void setMaxVisibilityExtensionSeconds(long maxVisibilityExtensionSeconds) {
+        this.maxVisibilityExtensionSeconds = maxVisibilityExtensionSeconds;
+    }
+
+    /**
+     * 停止拉取后:
+     * <ol>
+     * <li>已拉取但尚未开始处理的消息立即重置可见性, 由其他节点处理, 不必等待可见性超时</li>
+     * <li>等待拉取线程退出及处理中的消息完成, 最长 shutdownTimeoutMillis</li>
+     * <li>发送缓冲区内的删除请求并等待结果</li>
+     * </ol>
+     * 超时仍未完成的消息在可见性超时后重新投递.
+     */
+    @Override
+    protected void doStop() {
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMillis;
+        int released = 0;
+        // 初始化尚未完成时停止, 等待其完成后再收尾, 避免初始化中启动的组件无人关闭
+        awaitInitialization(shutdownTimeoutMillis);
+        if (autoscaler != null) autoscaler.stop();
         try {
-            URI candidate = new URI(name);
-            return ("http".equals(candidate.getScheme()) || "https".equals(candidate.getScheme()));
-        } catch (URISyntaxException e) {
-            return false;
+            // 批量 listener 聚合中的消息同样视为未开始处理
+            if (batchAccumulator != null) batchAccumulator.flush();
+            while (true) {
+                released += releaseUnstarted();
+                if ((activePollers.get() == 0 && inFlightMessages.get() == 0) || System.currentTimeMillis() >= deadline) break;
+                sleep(Math.min(50L, deadline - System.currentTimeMillis()));
+            }
+            // 等待期间拉取线程可能又分发了消息
+            released += releaseUnstarted();
+            if (deleteBuffer != null && !deleteBuffer.flushAndAwait(Math.max(0L, deadline - System.currentTimeMillis())))
+                logger.warn("[MessageListenerContainer_doStop] 停止超时, 部分消息删除未完成, queueUrl:{} ,unfinished:{}",
+                        queueUrl, deleteBuffer.getUnfinished());
+        } catch (Exception e) {
+            logger.error("[MessageListenerContainer_doStop] 停止容器发生异常, queueUrl:{} ,errorMessage:{}",
+                    queueUrl, e.getLocalizedMessage());
+        } finally {
+            if (visibilityExtender != null) visibilityExtender.stop();
+        }
+        if (inFlightMessages.get() > 0) {
+            logger.warn("[MessageListenerContainer_doStop] 停止超时, 仍有消息在处理中, 将在可见性超时后重新投递, queueUrl:{} ,inFlight:{} ,released:{}",
+                    queueUrl, inFlightMessages.get(), released);
+        } else {
+            logger.info("[MessageListenerContainer_doStop] 容器已停止, queueUrl:{} ,released:{}", queueUrl, released);
+        }
+    }
+
+    /**
+     * 立即重置所有尚未开始处理的消息的可见性
+     *
+     * @return 重置的消息数
+     */
+    private int releaseUnstarted() {
+        if (unstartedMessages.isEmpty()) return 0;
+        List<Message> messages = new ArrayList<>();
+        for (String receiptHandle : unstartedMessages.keySet()) {
+            Message message = unstartedMessages.remove(receiptHandle);
+            if (message == null) continue; // 已开始处理
+            untrackVisibility(message);
+            messages.add(message);
         }
+        if (!messages.isEmpty()) releaseMessages(messages);
+        return messages.size();
+    }
+
+    /**
+     * 设置停止时等待处理中的消息完成的最长时间(毫秒)
+     */
+    public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+        this.shutdownTimeoutMillis = Math.max(0L, shutdownTimeoutMillis);
+    }
+
+    /**
+     * 设置单个 listener 最大在途消息数, 大于0时标准队列启用在途窗口模式
+     */
+    public void setMaxInFlightMessages(int maxInFlightMessages) {
+        this.maxInFlightMessages = maxInFlightMessages;
+    }
+
+    /**
+     * 设置按积压自动扩缩容, maxConcurrency 大于 concurrency 时启用, 需在容器启动前设置
+     *
+     * @param maxConcurrency     最大拉取线程数
+     * @param intervalMillis     采样队列积压的间隔(毫秒)
+     * @param targetDrainSeconds 积压的目标消化时间(秒)
+     * @author wuqiong 2026/10/18
+     */
+    public void setAutoscaling(int maxConcurrency, long intervalMillis, long targetDrainSeconds) {
+        this.maxConcurrency = maxConcurrency;
+        this.autoscaleIntervalMillis = intervalMillis;
+        this.autoscaleTargetDrainSeconds = targetDrainSeconds;
+    }
+
+    /**
+     * 在途消息数占容量(在途窗口上限, 未启用窗口时为各拉取线程一个批次)的比例
+     */
+    public double getInFlightUtilization() {
+        int capacity = inFlightWindow != null ? inFlightWindow.getLimit() : Math.max(1, getPollerTarget()) * maxNumberOfMessages;
+        return (double) inFlightMessages.get() / capacity;
+    }
+
+    /**
+     * 处理完成(或未能处理)的消息总数
+     */
+    public long getCompletedMessages() {
+        return completedMessages.get();
     }
 
     private class MessageExecutor implements Runnable {
         private final Message message;
         private final Map<String, String> concurrentHashMap;
+        private final long submittedAt = System.nanoTime();
 
         private MessageExecutor(Message message, Map<String, String> concurrentHashMap) {
             this.message = message;
@@ -178,24 +1022,145 @@ public class MessageListenerContainer extends AbstractMessageListenerContainer {
 
         @Override
         public void run() {
-            Exception exception = null;
+            recordQueueWait(System.nanoTime() - submittedAt);
+            if (!startProcessing(this.message)) return;
+            if (shouldDelete(invokeListener(this.message)))
+                concurrentHashMap.put(this.message.messageId(), this.message.receiptHandle());
+        }
+    }
+
+    private class InFlightMessageExecutor implements Runnable {
+        private final Message message;
+        private final long submittedAt = System.nanoTime();
+
+        private InFlightMessageExecutor(Message message) {
+            this.message = message;
+        }
+
+        @Override
+        public void run() {
+            recordQueueWait(System.nanoTime() - submittedAt);
             try {
-                if (MessageDeletionPolicy.NEVER == deletionPolicy) {
-                    method.invoke(bean, this.message, createAck(message));
-                } else {
-                    method.invoke(bean, this.message);
-                }
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                exception = e;
-                e.printStackTrace();
+                // 删除请求合并后异步发送, 失败时由删除缓冲区记录日志
+                if (startProcessing(this.message) && shouldDelete(invokeListener(this.message)))
+                    deleteBuffer.delete(this.message.receiptHandle());
+            } catch (Exception e) {
+                logger.error("[MessageListenerContainer_InFlightMessageExecutor] 删除消息发生异常, queueUrl:{} ,messageId:{} ,errorMessage:{}",
+                        queueUrl, this.message.messageId(), e.getLocalizedMessage());
+            } finally {
+                inFlightWindow.release(1);
             }
-            switch (deletionPolicy) {
-                case ALWAYS:
-                    concurrentHashMap.put(this.message.messageId(), this.message.receiptHandle());
-                case SUCCESS:
-                    if (exception == null)
-                        concurrentHashMap.put(this.message.messageId(), this.message.receiptHandle());
+        }
+    }
+
+    /**
+     * 按顺序处理同一消息组内的消息
+     * <p>
+     * 某条消息处理失败(且删除策略不是 ALWAYS)时, 停止处理该组后续的消息, 并立即重置它们的可见性,
+     * 使其在失败的消息之后按原顺序重新投递, 不会被跳过.
+     */
+    protected class MessageGroupExecutor implements Runnable {
+        private final List<Message> messages;
+        private final IntConsumer onComplete;
+        private final long submittedAt = System.nanoTime();
+
+        protected MessageGroupExecutor(List<Message> messages, IntConsumer onComplete) {
+            this.messages = messages;
+            this.onComplete = onComplete;
+        }
+
+        @Override
+        public void run() {
+            recordQueueWait(System.nanoTime() - submittedAt);
+            Map<String, String> deletable = new LinkedHashMap<>();
+            int index = 0;
+            while (index < messages.size()) {
+                Message message = messages.get(index);
+                // 停止时已被释放, 组内后续的消息同样已被释放
+                if (!startProcessing(message)) break;
+                index++;
+                Exception exception = invokeListener(message);
+                if (shouldDelete(exception)) deletable.put(message.messageId(), message.receiptHandle());
+                // 已处理成功的重复消息不影响组内后续的消息
+                if (exception != null && MessageDeletionPolicy.ALWAYS != deletionPolicy && !shouldDelete(exception)
+                        && !isCompletedDuplicate(exception)) break;
             }
+            // 未处理且尚未被停止流程释放的消息, 由本组负责重置可见性
+            List<Message> unprocessed = startProcessing(messages.subList(index, messages.size()));
+            unprocessed.forEach(MessageListenerContainer.this::untrackVisibility);
+            finishMessageGroup(unprocessed, deletable, () -> onComplete.accept(messages.size()));
+        }
+    }
+
+    /**
+     * 消息组处理结束: 重置未处理消息的可见性, 删除可删除的消息, 删除完成后执行回调
+     * <p>
+     * 不等待删除结果: 删除缓冲区凑批期间消息组的线程可以继续处理该组后续的消息,
+     * 槽位在删除完成后才释放, 与 {@link AsyncMessageListenerContainer} 一致.
+     *
+     * @param unprocessed 因前序消息失败而未处理的消息
+     * @param deletable   可删除的消息, key: messageId, value: receiptHandle
+     * @param onComplete  回调
+     */
+    protected void finishMessageGroup(List<Message> unprocessed, Map<String, String> deletable, Runnable onComplete) {
+        CompletableFuture<Boolean> delete = CompletableFuture.completedFuture(true);
+        try {
+            if (!unprocessed.isEmpty()) releaseMessages(unprocessed);
+            if (!deletable.isEmpty()) delete = deleteBuffer.deleteAll(deletable.values());
+        } catch (Exception e) {
+            logger.error("[MessageListenerContainer_finishMessageGroup] 消息组处理异常, queueUrl:{} ,errorMessage:{}",
+                    queueUrl, e.getLocalizedMessage());
+        }
+        delete.whenComplete((isDelete, throwable) -> {
+            if (throwable != null || !isDelete)
+                logger.error("[MessageListenerContainer_finishMessageGroup] 消息组删除消息失败, queueUrl:{} ,receiptHandleMap:{} ,errorMessage:{}",
+                        queueUrl, deletable, throwable == null ? null : throwable.getLocalizedMessage());
+            onComplete.run();
+        });
+    }
+
+    /**
+     * 删除策略为 NEVER 时单条消息的去重 key: listener 确认并删除成功后记录为已处理;
+     * 方法返回(或抛出异常)时尚未确认的移除 key, 重新投递后可以再次处理, 之后才确认的仍记录为已处理
+     */
+    private final class AcknowledgedDeduplication {
+        private static final int PROCESSING = 0;
+        private static final int ACKNOWLEDGED = 1;
+        private static final int RELEASED = 2;
+        private final String key;
+        private final AtomicInteger state = new AtomicInteger(PROCESSING);
+
+        private AcknowledgedDeduplication(String key) {
+            this.key = key;
+        }
+
+        private void acknowledged() {
+            state.set(ACKNOWLEDGED);
+            finishDeduplication(key, true);
+        }
+
+        private void returned() {
+            if (state.compareAndSet(PROCESSING, RELEASED)) finishDeduplication(key, false);
+        }
+    }
+
+    /**
+     * 重复的消息, 未调用 listener; 不记录堆栈
+     */
+    private static final class DuplicateMessageException extends Exception {
+        // 已处理成功, 删除
+        private static final DuplicateMessageException DELETABLE = new DuplicateMessageException(true, true);
+        // 已处理成功, 不删除
+        private static final DuplicateMessageException COMPLETED = new DuplicateMessageException(false, true);
+        // 仍在处理中, 不删除
+        private static final DuplicateMessageException RETAINED = new DuplicateMessageException(false, false);
+        private final boolean deletable;
+        private final boolean completed;
+
+        private DuplicateMessageException(boolean deletable, boolean completed) {
+            super("duplicate message", null, false, false);
+            this.deletable = deletable;
+            this.completed = completed;
         }
     }
 
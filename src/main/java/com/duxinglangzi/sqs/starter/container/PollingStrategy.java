@@ -0,0 +1,51 @@
+package com.duxinglangzi.sqs.starter.container;
+
+/**
+ * 消息拉取策略
+ * <p>
+ * 决定每次拉取的长轮询等待时间、拉取条数, 以及拉取结束后到下一次拉取之间的等待时间.
+ * 同一容器的多个拉取线程共享同一个策略实例, 实现类需要保证线程安全.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public interface PollingStrategy {
+
+    /**
+     * 长轮询等待时间(秒), 0-20
+     */
+    int waitTimeSeconds();
+
+    /**
+     * 下一次拉取的条数, 1-10
+     */
+    int nextMaxNumberOfMessages();
+
+    /**
+     * 拉取到消息后调用
+     *
+     * @param requested 本次请求的条数
+     * @param received  本次拉取到的条数, 为0表示没有消息
+     * @return 下一次拉取前需要等待的毫秒数, 0 表示立即拉取
+     */
+    long onReceived(int requested, int received);
+
+    /**
+     * 拉取到消息后调用, 容器调用此方法; 默认忽略请求耗时
+     *
+     * @param requested     本次请求的条数
+     * @param received      本次拉取到的条数, 为0表示没有消息
+     * @param elapsedMillis 本次请求的耗时(毫秒), 长轮询返回空结果的耗时远小于等待时间时说明服务端未按长轮询等待
+     * @return 下一次拉取前需要等待的毫秒数, 0 表示立即拉取
+     */
+    default long onReceived(int requested, int received, long elapsedMillis) {
+        return onReceived(requested, received);
+    }
+
+    /**
+     * 拉取消息发生异常后调用
+     *
+     * @param exception 异常
+     * @return 下一次拉取前需要等待的毫秒数
+     */
+    long onReceiveError(Throwable exception);
+}
@@ -1,8 +1,12 @@
 package com.duxinglangzi.sqs.starter.container;
 
+import com.duxinglangzi.sqs.starter.metrics.QueueMetrics;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * 队列消息确认
  *
@@ -13,6 +17,12 @@ public class QueueMessageAcknowledgment {
     private String queueUrl;
     private String receiptHandle;
     private SqsClient sqsClient;
+    private SqsAsyncClient sqsAsyncClient;
+    private DeleteMessageBuffer deleteBuffer;
+    // 经由删除缓冲区删除时, 由缓冲区记录指标
+    private QueueMetrics metrics = QueueMetrics.NOOP;
+    // 删除成功后的回调
+    private Runnable acknowledgedListener;
 
     public QueueMessageAcknowledgment(String queueUrl, String receiptHandle, SqsClient sqsClient) {
         this.queueUrl = queueUrl;
@@ -20,6 +30,20 @@ public class QueueMessageAcknowledgment {
         this.sqsClient = sqsClient;
     }
 
+    public QueueMessageAcknowledgment(String queueUrl, String receiptHandle, SqsAsyncClient sqsAsyncClient) {
+        this.queueUrl = queueUrl;
+        this.receiptHandle = receiptHandle;
+        this.sqsAsyncClient = sqsAsyncClient;
+    }
+
+    /**
+     * 经由删除缓冲区与其他消息合并删除
+     */
+    public QueueMessageAcknowledgment(String receiptHandle, DeleteMessageBuffer deleteBuffer) {
+        this.receiptHandle = receiptHandle;
+        this.deleteBuffer = deleteBuffer;
+    }
+
 
     /**
      * 确认已收到消息后,执行删除动作
@@ -28,11 +52,67 @@ public class QueueMessageAcknowledgment {
      * @author wuqiong 2022-06-25 17:08
      */
     public boolean acknowledge() {
-        DeleteMessageRequest buildDeleteRequest = DeleteMessageRequest.builder()
+        if (deleteBuffer != null || sqsAsyncClient != null) return acknowledgeAsync().join();
+        long start = System.nanoTime();
+        boolean deleted = false;
+        try {
+            deleted = sqsClient.deleteMessage(buildDeleteRequest()).sdkHttpResponse().isSuccessful();
+            return deleted;
+        } finally {
+            metrics.recordDelete(System.nanoTime() - start, deleted ? 0 : 1);
+            if (deleted) acknowledged();
+        }
+    }
+
+    /**
+     * 确认已收到消息后,异步执行删除动作
+     * <p>
+     * 使用异步连接(transport: async)时不会阻塞当前线程
+     *
+     * @return CompletableFuture<Boolean>
+     * @author wuqiong 2026/10/18
+     */
+    public CompletableFuture<Boolean> acknowledgeAsync() {
+        if (deleteBuffer != null) return deleteBuffer.delete(receiptHandle).thenApply(this::acknowledged);
+        if (sqsAsyncClient == null) return CompletableFuture.completedFuture(acknowledge());
+        long start = System.nanoTime();
+        return sqsAsyncClient.deleteMessage(buildDeleteRequest()).thenApply(e -> e.sdkHttpResponse().isSuccessful())
+                .whenComplete((deleted, throwable) ->
+                        metrics.recordDelete(System.nanoTime() - start, Boolean.TRUE.equals(deleted) ? 0 : 1))
+                .thenApply(this::acknowledged);
+    }
+
+    /**
+     * 设置消息删除成功后的回调, 容器用于结束消费端去重的 key
+     */
+    public void setAcknowledgedListener(Runnable acknowledgedListener) {
+        this.acknowledgedListener = acknowledgedListener;
+    }
+
+    private boolean acknowledged(boolean deleted) {
+        if (deleted) acknowledged();
+        return deleted;
+    }
+
+    private void acknowledged() {
+        if (acknowledgedListener != null) acknowledgedListener.run();
+    }
+
+    /**
+     * 设置删除耗时及删除失败的指标记录
+     *
+     * @param metrics 通常为 SqsMetrics.of(clientName, queueUrl)
+     * @author wuqiong 2026/10/18
+     */
+    public void setMetrics(QueueMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    private DeleteMessageRequest buildDeleteRequest() {
+        return DeleteMessageRequest.builder()
                 .queueUrl(queueUrl)
                 .receiptHandle(receiptHandle)
                 .build();
-        return sqsClient.deleteMessage(buildDeleteRequest).sdkHttpResponse().isSuccessful();
     }
 
 }
@@ -0,0 +1,164 @@
+package com.duxinglangzi.sqs.starter.container;
+
+import com.duxinglangzi.sqs.starter.common.Constants;
+import com.duxinglangzi.sqs.starter.common.SharedScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 处理中消息的可见性超时自动延长(心跳)
+ * <p>
+ * 记录容器内处理中消息的 receiptHandle, 在可见性超时到期前通过 ChangeMessageVisibilityBatch 延长,
+ * 避免耗时较长的消息在处理过程中被重新投递. 消息处理完成(或被删除)后立即停止延长.
+ * <p>
+ * 单条消息自拉取起最多延长至 maxExtensionSeconds 秒, 超过后不再延长, 由 SQS 按原有规则重新投递.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class VisibilityTimeoutExtender {
+    private static final Logger logger = LoggerFactory.getLogger(VisibilityTimeoutExtender.class);
+
+    private final String queueUrl;
+    private final SqsClient sqsClient;
+    private final int visibilityTimeoutSeconds;
+    private final long maxExtensionSeconds;
+    // key: receiptHandle
+    private final Map<String, TrackedMessage> trackedMessages = new ConcurrentHashMap<>();
+    private final AtomicBoolean extending = new AtomicBoolean();
+    private ScheduledFuture<?> heartbeat;
+
+    public VisibilityTimeoutExtender(String queueUrl, SqsClient sqsClient, int visibilityTimeoutSeconds, long maxExtensionSeconds) {
+        this.queueUrl = queueUrl;
+        this.sqsClient = sqsClient;
+        this.visibilityTimeoutSeconds = visibilityTimeoutSeconds;
+        this.maxExtensionSeconds = maxExtensionSeconds;
+    }
+
+    /**
+     * 启动心跳, 检查间隔为可见性超时的四分之一(最少1秒), 剩余时间不足一半时延长
+     */
+    public synchronized void start() {
+        if (heartbeat != null) return;
+        long period = Math.max(1000L, visibilityTimeoutSeconds * 1000L / 4);
+        heartbeat = SharedScheduler.get().scheduleWithFixedDelay(() -> {
+            if (trackedMessages.isEmpty()) return;
+            // 上一次延长尚未完成(如请求超时)时跳过, 避免重复延长同一批消息
+            if (extending.compareAndSet(false, true)) SharedScheduler.blockingExecutor().execute(this::extendExpiring);
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (heartbeat != null) heartbeat.cancel(false);
+        heartbeat = null;
+        trackedMessages.clear();
+    }
+
+    /**
+     * 开始跟踪刚拉取到的消息
+     */
+    public void track(List<Message> messages) {
+        long now = System.nanoTime();
+        for (Message message : messages)
+            trackedMessages.put(message.receiptHandle(), new TrackedMessage(now, visibilityTimeoutSeconds));
+    }
+
+    /**
+     * 停止跟踪已处理完成或已删除的消息
+     */
+    public void untrack(Message message) {
+        trackedMessages.remove(message.receiptHandle());
+    }
+
+    /**
+     * 当前正在跟踪的消息数
+     */
+    public int getTrackedMessages() {
+        return trackedMessages.size();
+    }
+
+    private void extendExpiring() {
+        try {
+            extendExpiring(System.nanoTime());
+        } finally {
+            extending.set(false);
+        }
+    }
+
+    private void extendExpiring(long now) {
+        List<String> receiptHandles = new ArrayList<>();
+        List<Integer> timeouts = new ArrayList<>();
+        for (Map.Entry<String, TrackedMessage> entry : trackedMessages.entrySet()) {
+            TrackedMessage tracked = entry.getValue();
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(tracked.expiresAt - now);
+            if (remainingMillis > visibilityTimeoutSeconds * 1000L / 2) continue;
+            long elapsedSeconds = TimeUnit.NANOSECONDS.toSeconds(now - tracked.receivedAt);
+            int timeout = (int) Math.min(visibilityTimeoutSeconds, maxExtensionSeconds - elapsedSeconds);
+            if (timeout <= 0) {
+                // 已达到延长上限, 不再延长
+                trackedMessages.remove(entry.getKey(), tracked);
+                continue;
+            }
+            receiptHandles.add(entry.getKey());
+            timeouts.add(timeout);
+        }
+        for (int from = 0; from < receiptHandles.size(); from += Constants.DEFAULT_BATCH_MESSAGE) {
+            int to = Math.min(from + Constants.DEFAULT_BATCH_MESSAGE, receiptHandles.size());
+            try {
+                changeVisibility(receiptHandles.subList(from, to), timeouts.subList(from, to), now);
+            } catch (Exception e) {
+                logger.error("[VisibilityTimeoutExtender_extendExpiring] 延长可见性超时发生异常, queueUrl:{} ,errorMessage:{}",
+                        queueUrl, e.getLocalizedMessage());
+            }
+        }
+    }
+
+    private void changeVisibility(List<String> receiptHandles, List<Integer> timeouts, long now) {
+        List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<>(receiptHandles.size());
+        for (int i = 0; i < receiptHandles.size(); i++) {
+            entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                    .id(Integer.toString(i)).receiptHandle(receiptHandles.get(i)).visibilityTimeout(timeouts.get(i)).build());
+        }
+        ChangeMessageVisibilityBatchResponse response = sqsClient.changeMessageVisibilityBatch(
+                ChangeMessageVisibilityBatchRequest.builder().queueUrl(queueUrl).entries(entries).build());
+        boolean[] failed = new boolean[receiptHandles.size()];
+        if (response.hasFailed()) {
+            for (BatchResultErrorEntry entry : response.failed()) {
+                // 消息已被删除或 receiptHandle 已失效, 不再跟踪
+                int index = Integer.parseInt(entry.id());
+                failed[index] = true;
+                trackedMessages.remove(receiptHandles.get(index));
+                logger.warn("[VisibilityTimeoutExtender_changeVisibility] 消息可见性延长失败, queueUrl:{} ,code:{} ,errorMessage:{}",
+                        queueUrl, entry.code(), entry.message());
+            }
+        }
+        for (int i = 0; i < receiptHandles.size(); i++) {
+            if (failed[i]) continue;
+            TrackedMessage tracked = trackedMessages.get(receiptHandles.get(i));
+            if (tracked != null) tracked.expiresAt = now + TimeUnit.SECONDS.toNanos(timeouts.get(i));
+        }
+    }
+
+    private static class TrackedMessage {
+        private final long receivedAt;
+        private volatile long expiresAt;
+
+        private TrackedMessage(long receivedAt, int visibilityTimeoutSeconds) {
+            this.receivedAt = receivedAt;
+            this.expiresAt = receivedAt + TimeUnit.SECONDS.toNanos(visibilityTimeoutSeconds);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.duxinglangzi.sqs.starter.dedup;
+
+/**
+ * 消费端去重的存储 SPI
+ * <p>
+ * 容器在调用 listener 前以 {@link #tryAcquire(String, String)} 登记消息的去重 key, 处理成功后 {@link #complete(String, String)},
+ * 处理失败(消息会重新投递)时 {@link #release(String, String)}. 默认使用进程内的 {@link HashedDeduplicationStore},
+ * 多个节点需要共同去重时, 注册该接口的 bean(如基于 Redis 的实现)即可替换.
+ * <p>
+ * 在消息处理的热路径上调用, 实现类需要线程安全; 抛出异常时容器按未重复处理.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public interface DeduplicationStore {
+
+    /**
+     * 登记 key, key 不存在(或已过期)时登记为处理中并返回 {@link Status#ACQUIRED}
+     *
+     * @param namespace 命名空间, 为队列地址
+     * @param key       去重 key
+     * @return Status
+     * @author wuqiong 2026/10/18
+     */
+    Status tryAcquire(String namespace, String key);
+
+    /**
+     * 处理成功, 在过期前再次出现的 key 视为重复
+     * <p>
+     * 可能在同一 key 的 {@link #release(String, String)} 之后调用(listener 方法返回后才确认删除),
+     * key 不存在(已移除或已淘汰)时同样需要记录为已处理.
+     */
+    void complete(String namespace, String key);
+
+    /**
+     * 处理失败, 移除处理中的 key, 重新投递后可以再次处理
+     */
+    void release(String namespace, String key);
+
+    enum Status {
+        /**
+         * 首次出现, 已登记为处理中
+         */
+        ACQUIRED,
+        /**
+         * 同一 key 的消息正在处理中(如可见性超时后重新投递)
+         */
+        IN_PROGRESS,
+        /**
+         * 同一 key 的消息已处理成功
+         */
+        COMPLETED
+    }
+}
@@ -0,0 +1,162 @@
+package com.duxinglangzi.sqs.starter.dedup;
+
+/**
+ * 进程内的有界去重存储
+ * <p>
+ * 只保存 key 的64位哈希及过期时间(两个 long 数组, 每条约16字节), 不为每条记录创建对象, 不持有 key 字符串;
+ * 哈希冲突的概率可以忽略. 按哈希分段加锁, 段内开放寻址, 每个 key 只在固定的 {@link #PROBES} 个槽位内查找,
+ * 无需墓碑标记. 槽位均被未过期的记录占用时淘汰最早过期的记录, 总条数不会超过容量.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class HashedDeduplicationStore implements DeduplicationStore {
+
+    // 每个 key 可以存放的槽位数
+    static final int PROBES = 8;
+    private static final int MAX_SEGMENTS = 64;
+    private static final int MAX_CAPACITY = 1 << 30;
+    // 过期时间的最低位标记已处理成功
+    private static final long COMPLETED_BIT = 1L;
+
+    private final Segment[] segments;
+    private final int segmentShift;
+    private final long ttlMillis;
+
+    /**
+     * @param capacity  最多记录的 key 数, 按2的幂向上取整
+     * @param ttlMillis key 的有效时间, 需大于消息可能重新投递的时间(如可见性超时)
+     */
+    public HashedDeduplicationStore(int capacity, long ttlMillis) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be greater than 0");
+        if (ttlMillis <= 0) throw new IllegalArgumentException("ttlMillis must be greater than 0");
+        int slots = Math.max(PROBES, Integer.highestOneBit(Math.min(capacity, MAX_CAPACITY) - 1) << 1);
+        int segmentCount = Math.min(MAX_SEGMENTS, slots / PROBES);
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) segments[i] = new Segment(slots / segmentCount);
+        this.segmentShift = 64 - Integer.numberOfTrailingZeros(segmentCount);
+        this.ttlMillis = ttlMillis;
+    }
+
+    @Override
+    public Status tryAcquire(String namespace, String key) {
+        long hash = hash(namespace, key);
+        return segment(hash).tryAcquire(hash, now(), ttlMillis);
+    }
+
+    @Override
+    public void complete(String namespace, String key) {
+        long hash = hash(namespace, key);
+        segment(hash).complete(hash, now(), ttlMillis);
+    }
+
+    @Override
+    public void release(String namespace, String key) {
+        long hash = hash(namespace, key);
+        segment(hash).release(hash, now());
+    }
+
+    /**
+     * 槽位总数, 即最多记录的 key 数
+     */
+    public int capacity() {
+        return segments.length * segments[0].hashes.length;
+    }
+
+    private Segment segment(long hash) {
+        // 段使用哈希的高位, 段内槽位使用低位
+        return segments.length == 1 ? segments[0] : segments[(int) (hash >>> segmentShift)];
+    }
+
+    private static long now() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * FNV-1a 后经 murmur3 fmix64 打散, 0 保留为空槽位
+     */
+    static long hash(String namespace, String key) {
+        long h = 0xcbf29ce484222325L;
+        h = fnv(h, namespace);
+        h = (h ^ 0xff) * 0x100000001b3L;
+        h = fnv(h, key);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+
+    private static long fnv(long h, String value) {
+        if (value == null) return h;
+        for (int i = 0; i < value.length(); i++) h = (h ^ value.charAt(i)) * 0x100000001b3L;
+        return h;
+    }
+
+    private static final class Segment {
+        private final long[] hashes;
+        // 过期时间(毫秒) << 1 | 是否已处理成功
+        private final long[] states;
+        private final int mask;
+
+        private Segment(int slots) {
+            this.hashes = new long[slots];
+            this.states = new long[slots];
+            this.mask = slots - 1;
+        }
+
+        private synchronized Status tryAcquire(long hash, long now, long ttlMillis) {
+            int slot = locate(hash, now);
+            if (hashes[slot] == hash && states[slot] >>> 1 > now)
+                return (states[slot] & COMPLETED_BIT) != 0 ? Status.COMPLETED : Status.IN_PROGRESS;
+            hashes[slot] = hash;
+            states[slot] = (now + ttlMillis) << 1;
+            return Status.ACQUIRED;
+        }
+
+        /**
+         * key 已被移除(如方法返回时释放、之后才确认)或已被淘汰时重新写入
+         */
+        private synchronized void complete(long hash, long now, long ttlMillis) {
+            int slot = locate(hash, now);
+            hashes[slot] = hash;
+            states[slot] = (now + ttlMillis) << 1 | COMPLETED_BIT;
+        }
+
+        private synchronized void release(long hash, long now) {
+            int slot = find(hash, now);
+            if (slot >= 0 && (states[slot] & COMPLETED_BIT) == 0) hashes[slot] = 0;
+        }
+
+        /**
+         * 未过期的同一 key 所在的槽位; 不存在时返回可写入的槽位:
+         * 空槽位或已过期的优先, 否则为最早过期的
+         */
+        private int locate(long hash, long now) {
+            int start = (int) hash & mask;
+            int victim = -1;
+            long victimExpiry = Long.MAX_VALUE;
+            for (int i = 0; i < PROBES; i++) {
+                int slot = (start + i) & mask;
+                long expiry = states[slot] >>> 1;
+                boolean live = hashes[slot] != 0 && expiry > now;
+                if (live && hashes[slot] == hash) return slot;
+                long rank = live ? expiry : Long.MIN_VALUE;
+                if (rank < victimExpiry) {
+                    victim = slot;
+                    victimExpiry = rank;
+                }
+            }
+            return victim;
+        }
+
+        private int find(long hash, long now) {
+            int start = (int) hash & mask;
+            for (int i = 0; i < PROBES; i++) {
+                int slot = (start + i) & mask;
+                if (hashes[slot] == hash && states[slot] >>> 1 > now) return slot;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.duxinglangzi.sqs.starter.enums;
+
+/**
+ * 消息内容的压缩方式, 压缩后的内容以 Base64 作为消息体发送, 压缩方式记录在消息属性内
+ *
+ * @author wuqiong 2026/10/18
+ */
+public enum CompressionType {
+
+    /**
+     * 不压缩
+     */
+    NONE(null),
+
+    /**
+     * gzip, 压缩率较高, 无需额外依赖
+     */
+    GZIP("gzip"),
+
+    /**
+     * LZ4, 压缩及解压速度远高于 gzip, 压缩率略低, 需引入 org.lz4:lz4-java
+     */
+    LZ4("lz4");
+
+    private final String encoding;
+
+    CompressionType(String encoding) {
+        this.encoding = encoding;
+    }
+
+    /**
+     * 记录在消息属性内的名称
+     */
+    public String getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * 按消息属性内的名称查找, 不存在时返回 null
+     */
+    public static CompressionType fromEncoding(String encoding) {
+        for (CompressionType type : values()) {
+            if (type.encoding != null && type.encoding.equalsIgnoreCase(encoding)) return type;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.duxinglangzi.sqs.starter.enums;
+
+/**
+ * 同步连接(SqsClient)使用的 HTTP 实现, 异步连接固定使用基于 NIO 的 netty
+ *
+ * @author wuqiong 2026/10/18
+ */
+public enum HttpEngine {
+
+    /**
+     * Apache HttpClient, 带连接池, 支持连接数、空闲回收及 TCP keep-alive 等配置
+     */
+    APACHE,
+
+    /**
+     * JDK 的 HttpURLConnection, 依赖少、启动快, 连接复用由 JDK 管理(http.maxConnections),
+     * 仅支持连接超时及读取超时配置, 需引入 software.amazon.awssdk:url-connection-client
+     */
+    URL_CONNECTION
+
+}
@@ -0,0 +1,21 @@
+package com.duxinglangzi.sqs.starter.enums;
+
+/**
+ * sqs 连接的传输方式
+ *
+ * @author wuqiong 2026/10/18
+ */
+public enum TransportType {
+
+    /**
+     * 同步连接(SqsClient), 每个拉取线程阻塞在长轮询上
+     */
+    SYNC,
+
+    /**
+     * 异步连接(SqsAsyncClient), 基于 NIO, 所有 listener 共享一个较小的 event loop 线程组,
+     * 拉取、分发、删除均以 CompletableFuture 串联, 不阻塞线程
+     */
+    ASYNC
+
+}
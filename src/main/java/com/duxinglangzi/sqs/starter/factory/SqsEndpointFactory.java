@@ -1,12 +1,26 @@
 package com.duxinglangzi.sqs.starter.factory;
 
+import com.duxinglangzi.sqs.starter.common.Constants;
 import com.duxinglangzi.sqs.starter.config.SqsConfig;
+import com.duxinglangzi.sqs.starter.enums.HttpEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.SqsClient;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -15,9 +29,16 @@ import java.util.concurrent.ConcurrentHashMap;
  * @author wuqiong 2022/6/25
  */
 public class SqsEndpointFactory {
+    private static final Logger logger = LoggerFactory.getLogger(SqsEndpointFactory.class);
+    private static final String URL_CONNECTION_CLIENT = "software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient";
+    private static final String NETTY_NIO_CLIENT = "software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient";
 
     private static final Map<String, SqsClient> endpointMap = new ConcurrentHashMap<>();
-    private static final String defaultStr = "defaults";
+    private static final Map<String, SqsAsyncClient> asyncEndpointMap = new ConcurrentHashMap<>();
+    private static final String defaultStr = SqsConfig.DEFAULT_CLIENT_NAME;
+    private static volatile int asyncEventLoopThreads;
+    // 各端点下 listener 需要的连接数(拉取线程数 + 在途消息数), 未配置 max-connections 时用于计算连接池大小
+    private static volatile Map<SqsConfig.EndpointInstance, Integer> connectionDemand = Collections.emptyMap();
 
     /**
      * get sqs client endpoint
@@ -33,6 +54,21 @@ public class SqsEndpointFactory {
         return endpointMap.get(clientName);
     }
 
+    /**
+     * register sqs client endpoint
+     * <p>
+     * 注册一个已创建的sqs连接, 例如测试或基准测试使用的桩实现, 已存在同名连接时覆盖
+     *
+     * @param clientName 连接名称, 为空时注册为默认连接
+     * @param sqsClient  sqs 连接
+     * @author wuqiong 2026/10/18
+     */
+    public static void register(String clientName, SqsClient sqsClient) {
+        Assert.notNull(sqsClient, "sqsClient is null , please check ");
+        if (clientName == null || "".equals(clientName.trim())) clientName = defaultStr;
+        endpointMap.put(clientName, sqsClient);
+    }
+
     /**
      * create batch sqs client
      * <p>
@@ -42,7 +78,22 @@ public class SqsEndpointFactory {
      * @author wuqiong 2022/6/25 14:13
      */
     public static void createBatchByConfig(SqsConfig sqsConfig) {
+        createBatchByConfig(sqsConfig, Collections.emptyMap());
+    }
+
+    /**
+     * create batch sqs client
+     * <p>
+     * 批量创建sqs 连接, 未配置 max-connections 的端点按 listener 需要的连接数设置连接池大小
+     *
+     * @param sqsConfig        sqs的配置
+     * @param connectionDemand 各端点下 listener 需要的连接数
+     * @author wuqiong 2026/10/18
+     */
+    public static void createBatchByConfig(SqsConfig sqsConfig, Map<SqsConfig.EndpointInstance, Integer> connectionDemand) {
         Assert.isTrue(!sqsConfig.getInstances().isEmpty(), "Sqs config 为空,请检查");
+        asyncEventLoopThreads = sqsConfig.getAsyncEventLoopThreads();
+        SqsEndpointFactory.connectionDemand = connectionDemand;
         if (!sqsConfig.getInstances().containsKey(defaultStr)) {
             Optional<String> first = sqsConfig.getInstances().keySet().stream().findFirst();
             SqsClient sqsClient = createSqsClient(first.get(), sqsConfig.getInstances().get(first.get()));
@@ -65,25 +116,148 @@ public class SqsEndpointFactory {
     public static synchronized SqsClient createSqsClient(String clientName, SqsConfig.EndpointInstance endpointInstance) {
         Assert.isTrue(endpointInstance != null, "endpointInstance is null , please check ");
         if (endpointMap.containsKey(clientName)) return endpointMap.get(clientName);
+        SqsConfig.HttpClientProperties http = endpointInstance.getHttp();
+        int maxConnections = maxConnections(endpointInstance);
+        logger.info("[SqsEndpointFactory_createSqsClient] 创建 sqs 连接, clientName:{} ,engine:{} ,maxConnections:{}",
+                clientName, http.getEngine(), HttpEngine.URL_CONNECTION == http.getEngine() ? "-" : maxConnections);
         return SqsClient.builder()
-                .credentialsProvider(new AwsCredentialsProvider() {
-                    @Override
-                    public AwsCredentials resolveCredentials() {
-                        return new AwsCredentials() {
-                            @Override
-                            public String accessKeyId() {
-                                return endpointInstance.getAccessKeyId();
-                            }
-
-                            @Override
-                            public String secretAccessKey() {
-                                return endpointInstance.getSecretAccessKey();
-                            }
-                        };
-                    }
-                })
+                .credentialsProvider(credentialsProvider(endpointInstance))
+                .region(Region.of(endpointInstance.getRegion()))
+                .httpClientBuilder(httpClientBuilder(http, maxConnections))
+                .build();
+
+    }
+
+    private static SdkHttpClient.Builder<?> httpClientBuilder(SqsConfig.HttpClientProperties http, int maxConnections) {
+        if (HttpEngine.URL_CONNECTION == http.getEngine()) {
+            Assert.isTrue(ClassUtils.isPresent(URL_CONNECTION_CLIENT, SqsEndpointFactory.class.getClassLoader()),
+                    "http engine url_connection requires software.amazon.awssdk:url-connection-client , please check ");
+            return UrlConnectionClients.builder(http);
+        }
+        ApacheHttpClient.Builder builder = ApacheHttpClient.builder()
+                .maxConnections(maxConnections)
+                .useIdleConnectionReaper(http.isUseIdleConnectionReaper())
+                .tcpKeepAlive(http.isTcpKeepAlive());
+        if (http.getConnectionAcquisitionTimeoutMillis() > 0)
+            builder.connectionAcquisitionTimeout(Duration.ofMillis(http.getConnectionAcquisitionTimeoutMillis()));
+        if (http.getConnectionMaxIdleTimeMillis() > 0)
+            builder.connectionMaxIdleTime(Duration.ofMillis(http.getConnectionMaxIdleTimeMillis()));
+        if (http.getConnectionTimeoutMillis() > 0)
+            builder.connectionTimeout(Duration.ofMillis(http.getConnectionTimeoutMillis()));
+        if (http.getSocketTimeoutMillis() > 0)
+            builder.socketTimeout(Duration.ofMillis(http.getSocketTimeoutMillis()));
+        return builder;
+    }
+
+    /**
+     * 最大连接数: 优先使用配置值, 否则为 listener 需要的连接数加上预留的连接数, 且不小于 SDK 的默认值
+     */
+    private static int maxConnections(SqsConfig.EndpointInstance endpointInstance) {
+        if (endpointInstance.getHttp().getMaxConnections() > 0) return endpointInstance.getHttp().getMaxConnections();
+        int demand = connectionDemand.getOrDefault(endpointInstance, 0);
+        return Math.max(Constants.DEFAULT_HTTP_MAX_CONNECTIONS, demand + Constants.DEFAULT_HTTP_CONNECTION_HEADROOM);
+    }
+
+    /**
+     * get sqs async client endpoint
+     * <p>
+     * 获取一个sqs异步连接端点, 不存在时根据配置创建
+     *
+     * @param clientName       连接名称
+     * @param endpointInstance 端点实例信息
+     * @return SqsAsyncClient
+     * @author wuqiong 2026/10/18
+     */
+    public static SqsAsyncClient getSqsAsyncClient(String clientName, SqsConfig.EndpointInstance endpointInstance) {
+        if (clientName == null || "".equals(clientName.trim())) clientName = defaultStr;
+        return asyncEndpointMap.computeIfAbsent(clientName, k -> createSqsAsyncClient(endpointInstance));
+    }
+
+    /**
+     * create sqs async client by config endpointInstance
+     * <p>
+     * 根据端点实例创建 sqs 异步连接, 所有异步连接共享同一个 event loop 线程组
+     *
+     * @param endpointInstance 端点实例信息，包含 KeyId、secretKey 、 region 信息
+     * @return SqsAsyncClient
+     * @author wuqiong 2026/10/18
+     */
+    public static SqsAsyncClient createSqsAsyncClient(SqsConfig.EndpointInstance endpointInstance) {
+        Assert.isTrue(endpointInstance != null, "endpointInstance is null , please check ");
+        Assert.isTrue(ClassUtils.isPresent(NETTY_NIO_CLIENT, SqsEndpointFactory.class.getClassLoader()),
+                "transport async requires software.amazon.awssdk:netty-nio-client , please check ");
+        return SqsAsyncClient.builder()
+                .credentialsProvider(credentialsProvider(endpointInstance))
                 .region(Region.of(endpointInstance.getRegion()))
+                .httpClient(NettyClients.httpClient(endpointInstance.getHttp(), maxConnections(endpointInstance)))
                 .build();
+    }
 
+    private static AwsCredentialsProvider credentialsProvider(SqsConfig.EndpointInstance endpointInstance) {
+        return new AwsCredentialsProvider() {
+            @Override
+            public AwsCredentials resolveCredentials() {
+                return new AwsCredentials() {
+                    @Override
+                    public String accessKeyId() {
+                        return endpointInstance.getAccessKeyId();
+                    }
+
+                    @Override
+                    public String secretAccessKey() {
+                        return endpointInstance.getSecretAccessKey();
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * 隔离对 netty-nio-client 的引用, 未引入时不会加载此类; 所有异步连接共享同一个 event loop 线程组
+     */
+    private static class NettyClients {
+        private static volatile SdkEventLoopGroup sharedEventLoopGroup;
+
+        private static SdkAsyncHttpClient httpClient(SqsConfig.HttpClientProperties http, int maxConnections) {
+            NettyNioAsyncHttpClient.Builder builder = NettyNioAsyncHttpClient.builder()
+                    .eventLoopGroup(sharedEventLoopGroup())
+                    .maxConcurrency(maxConnections)
+                    .useIdleConnectionReaper(http.isUseIdleConnectionReaper())
+                    .tcpKeepAlive(http.isTcpKeepAlive());
+            if (http.getConnectionAcquisitionTimeoutMillis() > 0)
+                builder.connectionAcquisitionTimeout(Duration.ofMillis(http.getConnectionAcquisitionTimeoutMillis()));
+            if (http.getConnectionMaxIdleTimeMillis() > 0)
+                builder.connectionMaxIdleTime(Duration.ofMillis(http.getConnectionMaxIdleTimeMillis()));
+            if (http.getConnectionTimeoutMillis() > 0)
+                builder.connectionTimeout(Duration.ofMillis(http.getConnectionTimeoutMillis()));
+            if (http.getSocketTimeoutMillis() > 0)
+                builder.readTimeout(Duration.ofMillis(http.getSocketTimeoutMillis()));
+            return builder.build();
+        }
+
+        private static SdkEventLoopGroup sharedEventLoopGroup() {
+            if (sharedEventLoopGroup == null) {
+                synchronized (NettyClients.class) {
+                    if (sharedEventLoopGroup == null) {
+                        SdkEventLoopGroup.Builder builder = SdkEventLoopGroup.builder();
+                        if (asyncEventLoopThreads > 0) builder.numberOfThreads(asyncEventLoopThreads);
+                        sharedEventLoopGroup = builder.build();
+                    }
+                }
+            }
+            return sharedEventLoopGroup;
+        }
+    }
+
+    /**
+     * 隔离对 url-connection-client 的引用, 未引入时不会加载此类
+     */
+    private static class UrlConnectionClients {
+        private static SdkHttpClient.Builder<?> builder(SqsConfig.HttpClientProperties http) {
+            UrlConnectionHttpClient.Builder builder = UrlConnectionHttpClient.builder();
+            if (http.getConnectionTimeoutMillis() > 0) builder.connectionTimeout(Duration.ofMillis(http.getConnectionTimeoutMillis()));
+            if (http.getSocketTimeoutMillis() > 0) builder.socketTimeout(Duration.ofMillis(http.getSocketTimeoutMillis()));
+            return builder;
+        }
     }
 }
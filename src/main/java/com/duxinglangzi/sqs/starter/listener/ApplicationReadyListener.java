@@ -3,6 +3,7 @@ package com.duxinglangzi.sqs.starter.listener;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationListener;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -12,10 +13,34 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public class ApplicationReadyListener implements ApplicationListener<ApplicationReadyEvent> {
     public static final AtomicBoolean START_LISTENER_CONTAINER = new AtomicBoolean(false);
+    // 应用就绪时完成, 容器在此之后开始拉取消息
+    private static final CompletableFuture<Void> READY = new CompletableFuture<>();
 
     @Override
     public void onApplicationEvent(ApplicationReadyEvent event) {
-        if (!START_LISTENER_CONTAINER.get()) START_LISTENER_CONTAINER.set(true);
+        markReady();
+    }
+
+    /**
+     * 标记应用已就绪, 立即启动等待中的容器
+     *
+     * @author wuqiong 2026/10/18
+     */
+    public static void markReady() {
+        START_LISTENER_CONTAINER.set(true);
+        READY.complete(null);
+    }
+
+    /**
+     * 应用就绪时完成的 future, 已就绪时返回已完成的 future
+     *
+     * @return CompletableFuture
+     * @author wuqiong 2026/10/18
+     */
+    public static CompletableFuture<Void> whenReady() {
+        // 兼容直接设置 START_LISTENER_CONTAINER 的用法
+        if (START_LISTENER_CONTAINER.get()) READY.complete(null);
+        return READY;
     }
 
 }
@@ -0,0 +1,80 @@
+package com.duxinglangzi.sqs.starter.listener;
+
+import com.duxinglangzi.sqs.starter.common.Constants;
+import com.duxinglangzi.sqs.starter.config.SqsConfig;
+import com.duxinglangzi.sqs.starter.container.MessageListenerContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 连接预热
+ * <p>
+ * 容器在 spring 启动时已并行初始化, 此处在 ContextRefreshedEvent(早于 ApplicationReadyEvent)中等待初始化完成,
+ * 并为配置了 warm-up-connections 的连接预先建立连接, 使应用就绪后的第一批拉取不必再建立连接.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class ConnectionWarmUpListener implements ApplicationListener<ContextRefreshedEvent>, ApplicationContextAware {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionWarmUpListener.class);
+    private final AtomicBoolean warmedUp = new AtomicBoolean(false);
+    private ApplicationContext applicationContext;
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        // 只处理本容器的刷新事件, 且只预热一次
+        if (event.getApplicationContext() != applicationContext || !warmedUp.compareAndSet(false, true)) return;
+        SqsConfig sqsConfig = applicationContext.getBean(SqsConfig.class);
+        // 同一连接的 listener 共享连接池, 每个连接选取一个容器预热
+        Map<String, MessageListenerContainer> clientContainers = new LinkedHashMap<>();
+        for (MessageListenerContainer container : applicationContext.getBeansOfType(MessageListenerContainer.class, false, false).values()) {
+            SqsConfig.EndpointInstance instance = sqsConfig.getInstance(container.getClientName());
+            if (instance != null && instance.getWarmUpConnections() > 0) clientContainers.putIfAbsent(container.getClientName(), container);
+        }
+        if (clientContainers.isEmpty()) return;
+        long start = System.currentTimeMillis();
+        long deadline = start + TimeUnit.SECONDS.toMillis(Constants.DEFAULT_WARM_UP_TIMEOUT_SECONDS);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(clientContainers.size());
+        clientContainers.forEach((clientName, container) -> {
+            if (!container.awaitInitialization(Math.max(0L, deadline - System.currentTimeMillis()))) {
+                logger.warn("[ConnectionWarmUpListener_onApplicationEvent] 容器未能在超时前完成初始化, 跳过预热, clientName:{}", clientName);
+                return;
+            }
+            int connections = sqsConfig.getInstance(clientName).getWarmUpConnections();
+            futures.add(container.warmUp(connections).whenComplete((r, throwable) -> {
+                if (throwable != null) {
+                    logger.warn("[ConnectionWarmUpListener_onApplicationEvent] 连接预热失败, clientName:{} ,errorMessage:{}",
+                            clientName, throwable.getLocalizedMessage());
+                } else {
+                    logger.info("[ConnectionWarmUpListener_onApplicationEvent] 连接预热完成, clientName:{} ,connections:{} ,costMillis:{}",
+                            clientName, connections, System.currentTimeMillis() - start);
+                }
+            }));
+        });
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .get(Math.max(0L, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // 预热失败不影响启动, 已在上面记录日志
+        }
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        this.applicationContext = applicationContext;
+    }
+}
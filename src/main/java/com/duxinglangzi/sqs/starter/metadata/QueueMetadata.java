@@ -0,0 +1,82 @@
+package com.duxinglangzi.sqs.starter.metadata;
+
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.util.Map;
+
+/**
+ * 队列元数据, 由 {@link QueueMetadataCache} 缓存, 不可变
+ *
+ * @author wuqiong 2026/10/18
+ */
+public final class QueueMetadata {
+    // 未设置时 SQS 默认的最大消息大小 256KB
+    public static final int DEFAULT_MAXIMUM_MESSAGE_SIZE = 262144;
+
+    private final String queueUrl;
+    private final boolean fifoQueue;
+    private final int visibilityTimeoutSeconds;
+    private final String redrivePolicy;
+    private final int maximumMessageSize;
+
+    public QueueMetadata(String queueUrl, boolean fifoQueue, int visibilityTimeoutSeconds, String redrivePolicy, int maximumMessageSize) {
+        this.queueUrl = queueUrl;
+        this.fifoQueue = fifoQueue;
+        this.visibilityTimeoutSeconds = visibilityTimeoutSeconds;
+        this.redrivePolicy = redrivePolicy;
+        this.maximumMessageSize = maximumMessageSize;
+    }
+
+    /**
+     * 由 GetQueueAttributes 返回的属性创建
+     *
+     * @param queueUrl   队列地址
+     * @param attributes 队列属性
+     * @return QueueMetadata
+     * @author wuqiong 2026/10/18
+     */
+    public static QueueMetadata from(String queueUrl, Map<QueueAttributeName, String> attributes) {
+        String visibilityTimeout = attributes.get(QueueAttributeName.VISIBILITY_TIMEOUT);
+        String maximumMessageSize = attributes.get(QueueAttributeName.MAXIMUM_MESSAGE_SIZE);
+        return new QueueMetadata(queueUrl,
+                Boolean.TRUE.toString().equals(attributes.get(QueueAttributeName.FIFO_QUEUE)),
+                visibilityTimeout == null ? 0 : Integer.parseInt(visibilityTimeout),
+                attributes.get(QueueAttributeName.REDRIVE_POLICY),
+                maximumMessageSize == null ? DEFAULT_MAXIMUM_MESSAGE_SIZE : Integer.parseInt(maximumMessageSize));
+    }
+
+    public String getQueueUrl() {
+        return queueUrl;
+    }
+
+    public boolean isFifoQueue() {
+        return fifoQueue;
+    }
+
+    /**
+     * 队列的默认可见性超时(秒), 未知时为0
+     */
+    public int getVisibilityTimeoutSeconds() {
+        return visibilityTimeoutSeconds;
+    }
+
+    /**
+     * 死信队列配置(JSON), 未配置时为 null
+     */
+    public String getRedrivePolicy() {
+        return redrivePolicy;
+    }
+
+    /**
+     * 最大消息大小(字节)
+     */
+    public int getMaximumMessageSize() {
+        return maximumMessageSize;
+    }
+
+    @Override
+    public String toString() {
+        return "QueueMetadata{queueUrl='" + queueUrl + "', fifoQueue=" + fifoQueue + ", visibilityTimeoutSeconds=" + visibilityTimeoutSeconds +
+                ", redrivePolicy='" + redrivePolicy + "', maximumMessageSize=" + maximumMessageSize + '}';
+    }
+}
@@ -0,0 +1,218 @@
+package com.duxinglangzi.sqs.starter.metadata;
+
+import com.duxinglangzi.sqs.starter.common.SharedScheduler;
+import com.duxinglangzi.sqs.starter.config.SqsConfig;
+import com.duxinglangzi.sqs.starter.factory.SqsEndpointFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 单个连接的队列元数据缓存: 队列名称 → 地址, 队列地址 → {@link QueueMetadata}
+ * <p>
+ * 同一队列同时只会发出一次查询, 并发的调用方等待同一个结果; 超过 ttl 后仍返回旧值, 同时在后台刷新,
+ * 刷新失败时继续使用旧值. 条目数超过上限时淘汰最久未访问的条目.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class QueueMetadataCache {
+    private static final Logger logger = LoggerFactory.getLogger(QueueMetadataCache.class);
+
+    private static final int DEFAULT_MAX_ENTRIES = 1024;
+    // key: clientName
+    private static final Map<String, QueueMetadataCache> CACHES = new ConcurrentHashMap<>();
+    private static volatile long defaultTtlMillis = TimeUnit.MINUTES.toMillis(5L);
+
+    private final Supplier<SqsClient> sqsClient;
+    private final long ttlMillis;
+    private final int maxEntries;
+    // key: queueName
+    private final Map<String, Entry<String>> queueUrls = new ConcurrentHashMap<>();
+    // key: queueUrl
+    private final Map<String, Entry<QueueMetadata>> queueMetadata = new ConcurrentHashMap<>();
+
+    public QueueMetadataCache(Supplier<SqsClient> sqsClient, long ttlMillis, int maxEntries) {
+        this.sqsClient = sqsClient;
+        this.ttlMillis = Math.max(0L, ttlMillis);
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * 设置之后创建的缓存的 ttl, 启动时由配置 queue-metadata-ttl-seconds 设置
+     */
+    public static void setDefaultTtlMillis(long ttlMillis) {
+        defaultTtlMillis = ttlMillis;
+    }
+
+    /**
+     * 获取连接共享的元数据缓存, 查询使用 {@link SqsEndpointFactory} 中同名的连接
+     *
+     * @param clientName 连接名称, 为空时使用 defaults
+     * @return QueueMetadataCache
+     * @author wuqiong 2026/10/18
+     */
+    public static QueueMetadataCache of(String clientName) {
+        String name = StringUtils.hasText(clientName) ? clientName : SqsConfig.DEFAULT_CLIENT_NAME;
+        QueueMetadataCache cache = CACHES.get(name);
+        return cache != null ? cache : CACHES.computeIfAbsent(name, k -> new QueueMetadataCache(
+                () -> SqsEndpointFactory.getSqsClient(k), defaultTtlMillis, DEFAULT_MAX_ENTRIES));
+    }
+
+    /**
+     * 获取队列地址, 参数已是地址时直接返回
+     *
+     * @param queue 队列名称或地址
+     * @return 队列地址
+     * @author wuqiong 2026/10/18
+     */
+    public String queueUrl(String queue) {
+        Assert.hasText(queue, "参数 queue 值不能为空,请检查");
+        if (isValidQueueUrl(queue)) return queue;
+        return lookup(queueUrls, queue, queueName -> client()
+                .getQueueUrl(GetQueueUrlRequest.builder().queueName(queueName).build()).queueUrl());
+    }
+
+    /**
+     * 获取队列元数据
+     *
+     * @param queue 队列名称或地址
+     * @return QueueMetadata
+     * @author wuqiong 2026/10/18
+     */
+    public QueueMetadata get(String queue) {
+        return lookup(queueMetadata, queueUrl(queue), queueUrl -> QueueMetadata.from(queueUrl, client().getQueueAttributes(
+                GetQueueAttributesRequest.builder().queueUrl(queueUrl).attributeNames(QueueAttributeName.ALL).build()).attributes()));
+    }
+
+    /**
+     * 移除队列的缓存, 例如队列被删除或修改了属性后
+     *
+     * @param queue 队列名称或地址
+     * @author wuqiong 2026/10/18
+     */
+    public void invalidate(String queue) {
+        if (isValidQueueUrl(queue)) {
+            queueMetadata.remove(queue);
+            return;
+        }
+        Entry<String> entry = queueUrls.remove(queue);
+        if (entry != null && entry.future.isDone() && !entry.future.isCompletedExceptionally())
+            queueMetadata.remove(entry.future.join());
+    }
+
+    private SqsClient client() {
+        SqsClient client = sqsClient.get();
+        Assert.notNull(client, "sqsClient not found , please check ");
+        return client;
+    }
+
+    private <V> V lookup(Map<String, Entry<V>> entries, String key, Function<String, V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            Entry<V> loading = new Entry<>();
+            entry = entries.putIfAbsent(key, loading);
+            if (entry == null) {
+                // 首次查询在调用线程中执行, 同时到达的调用方等待同一个结果
+                entry = loading;
+                try {
+                    loading.complete(loader.apply(key));
+                } catch (RuntimeException e) {
+                    entries.remove(key, loading);
+                    loading.future.completeExceptionally(e);
+                    throw e;
+                }
+                evictIfNecessary(entries);
+            }
+        }
+        V value = await(entry.future);
+        entry.lastAccess = System.currentTimeMillis();
+        if (entry.lastAccess - entry.loadedAt > ttlMillis) refresh(entry, key, loader);
+        return value;
+    }
+
+    private <V> void refresh(Entry<V> entry, String key, Function<String, V> loader) {
+        if (!entry.refreshing.compareAndSet(false, true)) return;
+        try {
+            SharedScheduler.blockingExecutor().execute(() -> {
+                try {
+                    entry.complete(loader.apply(key));
+                } catch (Exception e) {
+                    logger.warn("[QueueMetadataCache_refresh] 刷新队列元数据失败, 继续使用缓存, queue:{} ,errorMessage:{}",
+                            key, e.getLocalizedMessage());
+                } finally {
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private <V> void evictIfNecessary(Map<String, Entry<V>> entries) {
+        while (entries.size() > maxEntries) {
+            String eldest = null;
+            long eldestAccess = Long.MAX_VALUE;
+            for (Map.Entry<String, Entry<V>> each : entries.entrySet()) {
+                if (each.getValue().lastAccess < eldestAccess) {
+                    eldestAccess = each.getValue().lastAccess;
+                    eldest = each.getKey();
+                }
+            }
+            if (eldest == null) return;
+            entries.remove(eldest);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading queue metadata", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new CompletionException(cause);
+        }
+    }
+
+    private static boolean isValidQueueUrl(String name) {
+        try {
+            URI candidate = new URI(name);
+            return ("http".equals(candidate.getScheme()) || "https".equals(candidate.getScheme()));
+        } catch (URISyntaxException e) {
+            return false;
+        }
+    }
+
+    private static class Entry<V> {
+        // 刷新成功后替换为新的已完成的 future
+        private volatile CompletableFuture<V> future = new CompletableFuture<>();
+        private volatile long loadedAt;
+        private volatile long lastAccess = System.currentTimeMillis();
+        private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+        private void complete(V value) {
+            loadedAt = System.currentTimeMillis();
+            if (!future.complete(value)) future = CompletableFuture.completedFuture(value);
+        }
+    }
+}
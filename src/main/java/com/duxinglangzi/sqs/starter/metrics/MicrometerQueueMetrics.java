@@ -0,0 +1,123 @@
+package com.duxinglangzi.sqs.starter.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * 基于 Micrometer 的队列指标, 所有指标带 queue 及 clientName 标签
+ * <p>
+ * 指标在创建时注册一次, 记录时只调用 Timer / Counter 本身(内部为 LongAdder 等无锁实现).
+ * <p>
+ * Gauge 只持有观测对象的弱引用, 因此 gauge 注册在本对象(由 {@link SqsMetrics} 强引用)上, 数值来源由本对象持有;
+ * 同一队列有多个 listener 时取所有来源之和.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class MicrometerQueueMetrics implements QueueMetrics {
+
+    private final MeterRegistry registry;
+    private final Tags tags;
+    private final Timer receiveTimer;
+    private final Counter emptyReceives;
+    private final Counter receiveErrors;
+    private final DistributionSummary batchFillRatio;
+    private final Timer queueWaitTimer;
+    private final Timer handlerSuccessTimer;
+    private final Timer handlerFailureTimer;
+    private final Counter duplicates;
+    private final Timer deleteTimer;
+    private final Counter deleteFailures;
+    private final Timer sendTimer;
+    private final Counter sendFailures;
+    private final List<IntSupplier> inFlightSources = new CopyOnWriteArrayList<>();
+    private final List<IntSupplier> concurrencyLimitSources = new CopyOnWriteArrayList<>();
+
+    public MicrometerQueueMetrics(MeterRegistry registry, String clientName, String queue) {
+        this.registry = registry;
+        this.tags = Tags.of("queue", queue, "clientName", clientName);
+        this.receiveTimer = Timer.builder("sqs.receive").description("ReceiveMessage 请求耗时").tags(tags).register(registry);
+        this.emptyReceives = Counter.builder("sqs.receive.empty").description("未拉取到消息的次数").tags(tags).register(registry);
+        this.receiveErrors = Counter.builder("sqs.receive.errors").description("拉取消息失败的次数").tags(tags).register(registry);
+        this.batchFillRatio = DistributionSummary.builder("sqs.receive.fill.ratio")
+                .description("拉取到的条数 / 请求拉取的条数").tags(tags).register(registry);
+        this.queueWaitTimer = Timer.builder("sqs.listener.queue.wait").description("消息在线程池中的等待时间").tags(tags).register(registry);
+        this.handlerSuccessTimer = Timer.builder("sqs.listener.handler").description("listener 方法执行耗时")
+                .tags(tags).tag("outcome", "success").register(registry);
+        this.handlerFailureTimer = Timer.builder("sqs.listener.handler").description("listener 方法执行耗时")
+                .tags(tags).tag("outcome", "failure").register(registry);
+        this.duplicates = Counter.builder("sqs.listener.duplicates").description("消费端去重跳过的重复消息数").tags(tags).register(registry);
+        this.deleteTimer = Timer.builder("sqs.delete").description("DeleteMessage(Batch) 请求耗时").tags(tags).register(registry);
+        this.deleteFailures = Counter.builder("sqs.delete.failures").description("删除失败的消息数").tags(tags).register(registry);
+        this.sendTimer = Timer.builder("sqs.send").description("发送消息耗时").tags(tags).register(registry);
+        this.sendFailures = Counter.builder("sqs.send.failures").description("发送失败的消息数").tags(tags).register(registry);
+    }
+
+    @Override
+    public void recordReceive(long nanos, int requested, int received) {
+        receiveTimer.record(nanos, TimeUnit.NANOSECONDS);
+        if (received == 0) emptyReceives.increment();
+        if (requested > 0) batchFillRatio.record((double) received / requested);
+    }
+
+    @Override
+    public void recordReceiveError() {
+        receiveErrors.increment();
+    }
+
+    @Override
+    public void recordQueueWait(long nanos) {
+        queueWaitTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordHandler(long nanos, boolean success) {
+        (success ? handlerSuccessTimer : handlerFailureTimer).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordDelete(long nanos, int failed) {
+        deleteTimer.record(nanos, TimeUnit.NANOSECONDS);
+        if (failed > 0) deleteFailures.increment(failed);
+    }
+
+    @Override
+    public void recordDuplicate() {
+        duplicates.increment();
+    }
+
+    @Override
+    public void recordSend(long nanos, boolean success) {
+        sendTimer.record(nanos, TimeUnit.NANOSECONDS);
+        if (!success) sendFailures.increment();
+    }
+
+    @Override
+    public void bindInFlight(IntSupplier inFlight) {
+        inFlightSources.add(inFlight);
+        // 同一名称及标签重复注册时返回已注册的 gauge
+        Gauge.builder("sqs.listener.inflight", this, m -> sum(m.inFlightSources))
+                .description("处理中的消息数").tags(tags).register(registry);
+    }
+
+    @Override
+    public void bindConcurrencyLimit(IntSupplier limit) {
+        concurrencyLimitSources.add(limit);
+        Gauge.builder("sqs.listener.concurrency.limit", this, m -> sum(m.concurrencyLimitSources))
+                .description("自适应并发上限").tags(tags).register(registry);
+    }
+
+    private static double sum(List<IntSupplier> sources) {
+        long sum = 0;
+        for (IntSupplier source : sources) sum += source.getAsInt();
+        return sum;
+    }
+}
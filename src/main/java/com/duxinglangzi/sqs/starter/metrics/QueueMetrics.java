@@ -0,0 +1,84 @@
+package com.duxinglangzi.sqs.starter.metrics;
+
+import java.util.function.IntSupplier;
+
+/**
+ * 单个队列(连接名称 + 队列)的指标记录
+ * <p>
+ * 在消息处理的热路径上调用, 实现类不能加锁. 未引入 Micrometer 或容器内没有 MeterRegistry 时使用 {@link #NOOP}.
+ * 时间参数单位均为纳秒.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public interface QueueMetrics {
+
+    QueueMetrics NOOP = new QueueMetrics() {
+    };
+
+    /**
+     * 一次拉取请求完成
+     *
+     * @param nanos     请求耗时
+     * @param requested 请求拉取的条数
+     * @param received  实际拉取到的条数
+     */
+    default void recordReceive(long nanos, int requested, int received) {
+    }
+
+    /**
+     * 一次拉取请求失败
+     */
+    default void recordReceiveError() {
+    }
+
+    /**
+     * 消息(或批次)从提交到线程池至开始执行的等待时间
+     */
+    default void recordQueueWait(long nanos) {
+    }
+
+    /**
+     * listener 方法执行完成(包括消息内容解码)
+     *
+     * @param nanos   执行耗时
+     * @param success 是否执行成功
+     */
+    default void recordHandler(long nanos, boolean success) {
+    }
+
+    /**
+     * 消费端去重跳过了一条重复的消息
+     */
+    default void recordDuplicate() {
+    }
+
+    /**
+     * 一次删除请求完成
+     *
+     * @param nanos  请求耗时
+     * @param failed 删除失败的消息数, 整个请求失败时为全部消息数
+     */
+    default void recordDelete(long nanos, int failed) {
+    }
+
+    /**
+     * 一条消息发送完成
+     *
+     * @param nanos   发送耗时
+     * @param success 是否发送成功
+     */
+    default void recordSend(long nanos, boolean success) {
+    }
+
+    /**
+     * 注册在途(处理中)消息数的 gauge, 同一队列的多个 listener 分别注册, gauge 为所有 listener 之和
+     */
+    default void bindInFlight(IntSupplier inFlight) {
+    }
+
+    /**
+     * 注册自适应并发上限的 gauge, 仅启用自适应并发上限的 listener 注册, 同一队列的多个 listener 取之和
+     */
+    default void bindConcurrencyLimit(IntSupplier limit) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.duxinglangzi.sqs.starter.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * 队列指标的入口
+ * <p>
+ * 使用方引入 micrometer-core 且 spring 容器内存在 MeterRegistry 时, 启动后自动启用; 否则所有指标均为 {@link QueueMetrics#NOOP}.
+ * 每个 连接名称 + 队列 只创建一次 QueueMetrics, 之后的查找不加锁.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class SqsMetrics {
+
+    private static final String METER_REGISTRY = "io.micrometer.core.instrument.MeterRegistry";
+    // key: clientName + queue
+    private static final Map<String, QueueMetrics> QUEUE_METRICS = new ConcurrentHashMap<>();
+    private static volatile BiFunction<String, String, QueueMetrics> factory;
+
+    /**
+     * 从 spring 容器中查找 MeterRegistry 并启用指标, 不存在时不做任何处理
+     *
+     * @param beanFactory beanFactory
+     * @author wuqiong 2026/10/18
+     */
+    public static void bind(ListableBeanFactory beanFactory) {
+        if (!ClassUtils.isPresent(METER_REGISTRY, SqsMetrics.class.getClassLoader())) return;
+        BiFunction<String, String, QueueMetrics> micrometer = MicrometerFactory.create(beanFactory);
+        if (micrometer != null) factory = micrometer;
+    }
+
+    /**
+     * 获取队列的指标记录
+     *
+     * @param clientName 连接名称, 为空时使用 default
+     * @param queue      队列地址或名称
+     * @return QueueMetrics
+     * @author wuqiong 2026/10/18
+     */
+    public static QueueMetrics of(String clientName, String queue) {
+        BiFunction<String, String, QueueMetrics> current = factory;
+        if (current == null) return QueueMetrics.NOOP;
+        String name = StringUtils.hasText(clientName) ? clientName : "default";
+        String key = name + "|" + queue;
+        // 先 get 再 computeIfAbsent, JDK 8 的 computeIfAbsent 在 key 已存在时也会锁住桶
+        QueueMetrics metrics = QUEUE_METRICS.get(key);
+        return metrics != null ? metrics : QUEUE_METRICS.computeIfAbsent(key, k -> current.apply(name, queue));
+    }
+
+    /**
+     * 隔离对 Micrometer 的引用, classpath 不存在 Micrometer 时不会加载此类
+     */
+    private static class MicrometerFactory {
+        private static BiFunction<String, String, QueueMetrics> create(ListableBeanFactory beanFactory) {
+            MeterRegistry registry = beanFactory.getBeanProvider(MeterRegistry.class).getIfAvailable();
+            if (registry == null) return null;
+            return (clientName, queue) -> new MicrometerQueueMetrics(registry, clientName, queue);
+        }
+    }
+}
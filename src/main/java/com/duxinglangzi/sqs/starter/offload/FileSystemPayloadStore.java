@@ -0,0 +1,78 @@
+package com.duxinglangzi.sqs.starter.offload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * 基于本地(或挂载的共享)目录的消息内容存储
+ * <p>
+ * 每条消息内容一个文件, 先写入临时文件再原子地重命名, 读取方不会看到写了一半的内容;
+ * {@link #map(String)} 通过 FileChannel 内存映射, 内容不复制到堆内.
+ * <p>
+ * 发送方与消费方不在同一台机器时, 目录需为共享存储(如 NFS).
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class FileSystemPayloadStore implements PayloadStore {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f\\-]{36}");
+    private static final String TEMP_SUFFIX = ".tmp";
+    private final Path directory;
+
+    public FileSystemPayloadStore(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    @Override
+    public String put(InputStream payload, long size) throws IOException {
+        String key = UUID.randomUUID().toString();
+        Path temp = directory.resolve(key + TEMP_SUFFIX);
+        try {
+            Files.copy(payload, temp);
+            Files.move(temp, directory.resolve(key), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return key;
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public ByteBuffer map(String key) throws IOException {
+        try (FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ)) {
+            // 映射在 channel 关闭后仍然有效
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).asReadOnlyBuffer();
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    /**
+     * key 来自消息内容, 只接受 put 生成的格式, 防止读取或删除目录之外的文件
+     */
+    private Path resolve(String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches())
+            throw new IllegalArgumentException("invalid payload key: " + key);
+        return directory.resolve(key);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+}
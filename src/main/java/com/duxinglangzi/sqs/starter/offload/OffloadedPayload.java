@@ -0,0 +1,89 @@
+package com.duxinglangzi.sqs.starter.offload;
+
+import com.duxinglangzi.sqs.starter.codec.BinaryPayloadCodec;
+import com.duxinglangzi.sqs.starter.compression.PayloadCompression;
+import com.duxinglangzi.sqs.starter.enums.CompressionType;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 消息内容的延迟读取句柄
+ * <p>
+ * 作为 listener 方法的第一个参数时, 容器不读取存储内的内容, 由 listener 按需以流或内存映射的方式读取;
+ * 未存入存储的消息同样可以使用, 内容即为消息体; 存储内为压缩后的内容时读取时解压, 此时 {@link #map()} 不再是内存映射.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class OffloadedPayload {
+
+    private final Message message;
+    private final PayloadStore store;
+    private final String key;
+    private final long size;
+    private final CompressionType compression;
+
+    OffloadedPayload(Message message, PayloadStore store, String key, long size, CompressionType compression) {
+        this.message = message;
+        this.store = store;
+        this.key = key;
+        this.size = size;
+        this.compression = compression;
+    }
+
+    /**
+     * 以流的方式读取内容, 由调用方关闭
+     */
+    public InputStream openStream() throws IOException {
+        if (key == null) return new ByteArrayInputStream(message.body().getBytes(StandardCharsets.UTF_8));
+        return PayloadCompression.decompressingStream(store.open(key), compression);
+    }
+
+    /**
+     * 以只读 ByteBuffer 的方式读取内容, 存储支持时为内存映射, 不占用堆内存
+     */
+    public ByteBuffer map() throws IOException {
+        if (key == null) return BinaryPayloadCodec.payloadBuffer(message);
+        if (compression == CompressionType.NONE) return store.map(key);
+        try (InputStream inputStream = openStream()) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) outputStream.write(buffer, 0, read);
+            return ByteBuffer.wrap(outputStream.toByteArray()).asReadOnlyBuffer();
+        }
+    }
+
+    /**
+     * 内容是否存放在存储内
+     */
+    public boolean isOffloaded() {
+        return key != null;
+    }
+
+    /**
+     * 存储的 key, 未存入存储时为 null
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 存储内容的字节数(压缩时为压缩后的大小), 未存入存储或未知时为 -1
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * 原始消息, 存入存储时消息体为存储的 key
+     */
+    public Message getMessage() {
+        return message;
+    }
+}
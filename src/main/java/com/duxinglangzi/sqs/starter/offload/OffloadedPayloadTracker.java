@@ -0,0 +1,80 @@
+package com.duxinglangzi.sqs.starter.offload;
+
+import com.duxinglangzi.sqs.starter.common.SharedScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 记录容器拉取到的 claim-check 消息, 消息删除成功后删除存储内的内容
+ * <p>
+ * 删除消息失败、未删除(按删除策略保留或重置可见性)的消息保留存储的内容, 重新投递后仍可读取;
+ * 进入死信队列的消息同样保留, 需由存储自身的过期策略清理.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class OffloadedPayloadTracker {
+    private static final Logger logger = LoggerFactory.getLogger(OffloadedPayloadTracker.class);
+    // SQS 可见性超时最长12小时, 超过后 receiptHandle 必然失效, 记录不再需要
+    private static final long MAX_TRACKED_NANOS = TimeUnit.HOURS.toNanos(12L);
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final PayloadStore store;
+    // key: receiptHandle
+    private final Map<String, TrackedPayload> trackedPayloads = new ConcurrentHashMap<>();
+
+    public OffloadedPayloadTracker(PayloadStore store) {
+        this.store = store;
+    }
+
+    /**
+     * 记录刚拉取到的消息中存入存储的消息
+     */
+    public void track(List<Message> messages) {
+        long now = System.nanoTime();
+        for (Message message : messages) {
+            if (PayloadOffloading.isOffloaded(message))
+                trackedPayloads.put(message.receiptHandle(), new TrackedPayload(message.body(), now));
+        }
+        if (trackedPayloads.size() > PURGE_THRESHOLD)
+            trackedPayloads.values().removeIf(e -> now - e.trackedAt > MAX_TRACKED_NANOS);
+    }
+
+    /**
+     * 消息不会被本容器删除(已重置可见性等), 不再记录
+     */
+    public void untrack(Message message) {
+        trackedPayloads.remove(message.receiptHandle());
+    }
+
+    /**
+     * 消息删除成功, 删除存储内的内容
+     */
+    public void deleted(String receiptHandle) {
+        TrackedPayload payload = trackedPayloads.remove(receiptHandle);
+        if (payload == null) return;
+        SharedScheduler.blockingExecutor().execute(() -> {
+            try {
+                store.delete(payload.key);
+            } catch (Exception e) {
+                logger.warn("[OffloadedPayloadTracker_deleted] 删除存储内容失败, key:{} ,errorMessage:{}",
+                        payload.key, e.getLocalizedMessage());
+            }
+        });
+    }
+
+    private static class TrackedPayload {
+        private final String key;
+        private final long trackedAt;
+
+        private TrackedPayload(String key, long trackedAt) {
+            this.key = key;
+            this.trackedAt = trackedAt;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.duxinglangzi.sqs.starter.offload;
+
+import com.duxinglangzi.sqs.starter.compression.PayloadCompression;
+import com.duxinglangzi.sqs.starter.enums.CompressionType;
+import com.duxinglangzi.sqs.starter.metadata.QueueMetadata;
+import com.duxinglangzi.sqs.starter.metadata.QueueMetadataCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 大消息内容的 claim-check 处理
+ * <p>
+ * 发送时消息(内容 + 消息属性)超过阈值, 内容写入 {@link PayloadStore}, 消息体替换为存储的 key,
+ * 并添加消息属性 {@link #POINTER_ATTRIBUTE}(原内容的字节数)作为标记.
+ * 消费时容器按需读取: listener 参数为 {@link OffloadedPayload} 或 InputStream 时不读取内容,
+ * 其余类型在解码前读取完整内容; 参数为 Message 时收到的是 key, 可通过 {@link #payload(Message)} 读取.
+ * <p>
+ * 发送到 FIFO 队列且未指定 messageDeduplicationId 时, 以内容的 SHA-256 作为 messageDeduplicationId,
+ * 否则基于内容的去重(ContentBasedDeduplication)计算的是每次都不同的 key, 重试发送的相同内容不会被去重.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public final class PayloadOffloading {
+    private static final Logger logger = LoggerFactory.getLogger(PayloadOffloading.class);
+
+    // 标记消息内容已存入 PayloadStore 的消息属性, 值为原内容的字节数
+    public static final String POINTER_ATTRIBUTE = "OffloadedPayloadSize";
+    private static volatile PayloadStore store;
+    // 为0时使用队列的 MaximumMessageSize
+    private static volatile long thresholdBytes;
+
+    private PayloadOffloading() {
+    }
+
+    /**
+     * 启用 claim-check, 由 starter 在启动时按配置调用
+     *
+     * @param payloadStore   存储
+     * @param thresholdBytes 消息超过该字节数时存入存储, 为0时使用队列的 MaximumMessageSize
+     * @author wuqiong 2026/10/18
+     */
+    public static void configure(PayloadStore payloadStore, long thresholdBytes) {
+        PayloadOffloading.store = payloadStore;
+        PayloadOffloading.thresholdBytes = Math.max(0L, thresholdBytes);
+    }
+
+    public static boolean isEnabled() {
+        return store != null;
+    }
+
+    public static PayloadStore store() {
+        PayloadStore payloadStore = store;
+        if (payloadStore == null)
+            throw new IllegalStateException("payload offloading is not enabled, please check duxinglangzi.queue.sqs.offload.enabled");
+        return payloadStore;
+    }
+
+    /**
+     * 消息内容是否已存入存储
+     */
+    public static boolean isOffloaded(Message message) {
+        return message.hasMessageAttributes() && message.messageAttributes().containsKey(POINTER_ATTRIBUTE);
+    }
+
+    /**
+     * 消息内容的延迟读取句柄, 未存入存储的消息直接使用消息体
+     *
+     * @param message 消息
+     * @return OffloadedPayload
+     * @author wuqiong 2026/10/18
+     */
+    public static OffloadedPayload payload(Message message) throws IOException {
+        if (!isOffloaded(message)) return new OffloadedPayload(message, null, null, -1L, CompressionType.NONE);
+        long size = -1L;
+        try {
+            size = Long.parseLong(message.messageAttributes().get(POINTER_ATTRIBUTE).stringValue());
+        } catch (NumberFormatException e) {
+            // 大小仅用于展示, 解析失败不影响读取
+        }
+        return new OffloadedPayload(message, store(), message.body(), size, PayloadCompression.compressionOf(message));
+    }
+
+    /**
+     * 读取完整内容, 返回消息体为存储内容且不含 {@link #POINTER_ATTRIBUTE} 的消息; 未存入存储的消息原样返回
+     *
+     * @param message 消息
+     * @return Message
+     * @author wuqiong 2026/10/18
+     */
+    public static Message resolve(Message message) throws IOException {
+        if (!isOffloaded(message)) return message;
+        try (InputStream inputStream = store().open(message.body())) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) outputStream.write(buffer, 0, read);
+            Map<String, MessageAttributeValue> attributes = new HashMap<>(message.messageAttributes());
+            attributes.remove(POINTER_ATTRIBUTE);
+            return message.toBuilder()
+                    .body(new String(outputStream.toByteArray(), StandardCharsets.UTF_8))
+                    .messageAttributes(attributes)
+                    .build();
+        }
+    }
+
+    /**
+     * 在拉取请求的消息属性名称内加入 {@link #POINTER_ATTRIBUTE}
+     */
+    public static List<String> withPointerAttribute(List<String> messageAttributeNames) {
+        List<String> names = messageAttributeNames == null ? new ArrayList<>() : new ArrayList<>(messageAttributeNames);
+        if (!names.contains(POINTER_ATTRIBUTE) && !names.contains("All") && !names.contains(".*")) names.add(POINTER_ATTRIBUTE);
+        return names;
+    }
+
+    /**
+     * 消息超过阈值时将内容存入存储, 返回替换后的请求; 未启用或未超过阈值时原样返回
+     *
+     * @param clientName 连接名称, 用于查询队列的 MaximumMessageSize
+     * @param request    发送请求
+     * @return SendMessageRequest
+     * @author wuqiong 2026/10/18
+     */
+    public static SendMessageRequest offloadIfNecessary(String clientName, SendMessageRequest request) {
+        if (!isEnabled()) return request;
+        byte[] body = request.messageBody().getBytes(StandardCharsets.UTF_8);
+        if (body.length + attributesSize(request.messageAttributes()) <= threshold(clientName, request.queueUrl())) return request;
+        try {
+            return offload(request.toBuilder(), new ByteArrayInputStream(body), body.length).build();
+        } catch (IOException e) {
+            throw new UncheckedIOException("[PayloadOffloading_offloadIfNecessary] 消息内容写入存储失败, queueUrl:" + request.queueUrl(), e);
+        }
+    }
+
+    /**
+     * 将内容存入存储, 消息体设置为存储的 key; FIFO 队列未指定 messageDeduplicationId 时设置为内容的 SHA-256
+     *
+     * @param builder 发送请求
+     * @param payload 消息内容, 由调用方关闭
+     * @param size    内容的字节数, 未知时为 -1
+     * @return SendMessageRequest.Builder
+     * @author wuqiong 2026/10/18
+     */
+    public static SendMessageRequest.Builder offload(SendMessageRequest.Builder builder, InputStream payload, long size) throws IOException {
+        SendMessageRequest current = builder.build();
+        // 与 ContentBasedDeduplication 相同, 按内容计算 SHA-256, 写入存储时同时计算
+        MessageDigest digest = current.queueUrl() != null && current.queueUrl().endsWith(".fifo")
+                && current.messageDeduplicationId() == null ? sha256() : null;
+        CountingInputStream counting = new CountingInputStream(digest == null ? payload : new DigestInputStream(payload, digest));
+        String key = store().put(counting, size);
+        Map<String, MessageAttributeValue> attributes = new HashMap<>();
+        if (current.hasMessageAttributes()) attributes.putAll(current.messageAttributes());
+        attributes.put(POINTER_ATTRIBUTE, MessageAttributeValue.builder()
+                .dataType("Number").stringValue(Long.toString(counting.count)).build());
+        if (digest != null) builder.messageDeduplicationId(toHex(digest.digest()));
+        return builder.messageBody(key).messageAttributes(attributes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = Character.forDigit((bytes[i] >> 4) & 0xf, 16);
+            chars[i * 2 + 1] = Character.forDigit(bytes[i] & 0xf, 16);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 发送失败时删除已写入存储的内容
+     */
+    public static void discard(SendMessageRequest request) {
+        if (!isEnabled() || !request.hasMessageAttributes() || !request.messageAttributes().containsKey(POINTER_ATTRIBUTE)) return;
+        try {
+            store().delete(request.messageBody());
+        } catch (Exception e) {
+            logger.warn("[PayloadOffloading_discard] 删除存储内容失败, key:{} ,errorMessage:{}", request.messageBody(), e.getLocalizedMessage());
+        }
+    }
+
+    private static long threshold(String clientName, String queueUrl) {
+        if (thresholdBytes > 0) return thresholdBytes;
+        try {
+            return QueueMetadataCache.of(clientName).get(queueUrl).getMaximumMessageSize();
+        } catch (Exception e) {
+            return QueueMetadata.DEFAULT_MAXIMUM_MESSAGE_SIZE;
+        }
+    }
+
+    /**
+     * 消息属性计入消息大小的字节数: 名称、类型及值
+     */
+    static long attributesSize(Map<String, MessageAttributeValue> attributes) {
+        if (attributes == null || attributes.isEmpty()) return 0L;
+        long size = 0L;
+        for (Map.Entry<String, MessageAttributeValue> entry : attributes.entrySet()) {
+            MessageAttributeValue value = entry.getValue();
+            size += entry.getKey().getBytes(StandardCharsets.UTF_8).length;
+            if (value.dataType() != null) size += value.dataType().getBytes(StandardCharsets.UTF_8).length;
+            if (value.stringValue() != null) size += value.stringValue().getBytes(StandardCharsets.UTF_8).length;
+            if (value.binaryValue() != null) size += value.binaryValue().asByteBuffer().remaining();
+        }
+        return size;
+    }
+
+    /**
+     * 统计写入存储的字节数, 调用方未提供大小时使用
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) count += read;
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
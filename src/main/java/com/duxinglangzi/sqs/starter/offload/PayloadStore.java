@@ -0,0 +1,59 @@
+package com.duxinglangzi.sqs.starter.offload;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * 大消息内容的存储(claim-check)
+ * <p>
+ * 超过阈值的消息内容写入存储, 队列内只发送存储返回的 key; listener 按需通过 key 读取内容,
+ * 消息删除成功后删除存储的内容. 注册为 spring bean 的实现优先于内置的 {@link FileSystemPayloadStore}.
+ * <p>
+ * 实现类需要保证线程安全.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public interface PayloadStore {
+
+    /**
+     * 写入消息内容
+     *
+     * @param payload 消息内容, 由调用方关闭
+     * @param size    内容的字节数, 未知时为 -1
+     * @return String 读取及删除时使用的 key, 长度不超过 256
+     */
+    String put(InputStream payload, long size) throws IOException;
+
+    /**
+     * 以流的方式读取消息内容, 由调用方关闭
+     *
+     * @param key put 返回的 key
+     * @return InputStream
+     */
+    InputStream open(String key) throws IOException;
+
+    /**
+     * 以只读 ByteBuffer 的方式读取消息内容, 本地文件等支持内存映射的存储可直接映射, 默认读取到堆内
+     *
+     * @param key put 返回的 key
+     * @return ByteBuffer
+     */
+    default ByteBuffer map(String key) throws IOException {
+        try (InputStream inputStream = open(key)) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) outputStream.write(buffer, 0, read);
+            return ByteBuffer.wrap(outputStream.toByteArray()).asReadOnlyBuffer();
+        }
+    }
+
+    /**
+     * 删除消息内容, key 不存在时忽略
+     *
+     * @param key put 返回的 key
+     */
+    void delete(String key) throws IOException;
+}
@@ -0,0 +1,306 @@
+package com.duxinglangzi.sqs.starter.producer;
+
+import com.duxinglangzi.sqs.starter.common.Constants;
+import com.duxinglangzi.sqs.starter.common.SharedScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单个队列的消息发送缓冲区
+ * <p>
+ * 将并发发送的消息合并为 SendMessageBatch 请求, 单个批次不超过10条且总大小不超过256KB,
+ * 凑满或第一条消息加入后超过 lingerMillis 时发送, 每条消息的发送结果单独通过 future 返回.
+ * 批次交给 sendExecutor 发送, 调用 {@link #send(SendMessageRequest)} 的线程不会被 SendMessageBatch 请求阻塞.
+ * <p>
+ * FIFO 队列的批次按加入顺序依次发送, 同一时间只有一个批次在发送中, 保证消息组内的顺序;
+ * 某条消息发送失败时, 同一消息组内已加入但尚未发送的消息不再发送, 以异常完成, 避免组内消息乱序.
+ * 同一批次内排在失败消息之后的同组消息由 SQS 处理, 无法撤回.
+ *
+ * @author wuqiong 2026/10/18
+ */
+public class SendMessageBuffer {
+    private static final Logger logger = LoggerFactory.getLogger(SendMessageBuffer.class);
+    // SendMessageBatch 单次请求的最大字节数
+    public static final int MAX_BATCH_PAYLOAD_BYTES = 256 * 1024;
+
+    private final String queueUrl;
+    private final SqsClient sqsClient;
+    // 执行 SendMessageBatch 请求的线程池
+    private final Executor sendExecutor;
+    private final long lingerMillis;
+    private final boolean fifoQueue;
+    private List<PendingSend> buffer = new ArrayList<>(Constants.DEFAULT_BATCH_MESSAGE);
+    private int bufferBytes;
+    // 每输出一个批次加1, 用于丢弃过期的超时任务
+    private long generation;
+    // FIFO 队列待发送的批次及是否有批次正在发送
+    private final Queue<List<PendingSend>> pendingBatches = new ArrayDeque<>();
+    private boolean sending;
+
+    public SendMessageBuffer(String queueUrl, SqsClient sqsClient, long lingerMillis) {
+        this(queueUrl, sqsClient, SharedScheduler.blockingExecutor(), lingerMillis);
+    }
+
+    public SendMessageBuffer(String queueUrl, SqsClient sqsClient, Executor sendExecutor, long lingerMillis) {
+        this.queueUrl = queueUrl;
+        this.sqsClient = sqsClient;
+        this.sendExecutor = sendExecutor;
+        this.lingerMillis = Math.max(0L, lingerMillis);
+        this.fifoQueue = queueUrl.endsWith(".fifo");
+    }
+
+    /**
+     * 加入一条待发送的消息
+     *
+     * @param request 消息, 其中的 queueUrl 会被忽略
+     * @return 发送成功返回 SendMessageResponse, 该条消息发送失败时以 SqsException 异常完成
+     * @author wuqiong 2026/10/18
+     */
+    public CompletableFuture<SendMessageResponse> send(SendMessageRequest request) {
+        PendingSend pending = new PendingSend(request);
+        if (pending.bytes > MAX_BATCH_PAYLOAD_BYTES) {
+            pending.future.completeExceptionally(new IllegalArgumentException(
+                    "Message size exceeds " + MAX_BATCH_PAYLOAD_BYTES + " bytes: " + pending.bytes));
+            return pending.future;
+        }
+        List<List<PendingSend>> batches = new ArrayList<>(1);
+        synchronized (this) {
+            if (bufferBytes + pending.bytes > MAX_BATCH_PAYLOAD_BYTES) batches.add(drain());
+            buffer.add(pending);
+            bufferBytes += pending.bytes;
+            if (buffer.size() >= Constants.DEFAULT_BATCH_MESSAGE) {
+                batches.add(drain());
+            } else if (buffer.size() == 1) {
+                scheduleFlush();
+            }
+            if (fifoQueue) pendingBatches.addAll(batches);
+        }
+        dispatch(batches);
+        return pending.future;
+    }
+
+    /**
+     * 立即发送缓冲区内的全部消息
+     *
+     * @return 缓冲区内及(FIFO 队列)排队中的消息全部得到发送结果后完成, 不会以异常完成
+     * @author wuqiong 2026/10/18
+     */
+    public CompletableFuture<Void> flush() {
+        List<List<PendingSend>> batches = new ArrayList<>(1);
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        synchronized (this) {
+            if (!buffer.isEmpty()) batches.add(drain());
+            batches.forEach(batch -> batch.forEach(pending -> futures.add(pending.future)));
+            if (fifoQueue) {
+                pendingBatches.forEach(batch -> batch.forEach(pending -> futures.add(pending.future)));
+                pendingBatches.addAll(batches);
+            }
+        }
+        if (!batches.isEmpty()) dispatch(batches);
+        return CompletableFuture.allOf(futures.stream()
+                .map(future -> future.handle((response, throwable) -> null))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private void scheduleFlush() {
+        long expected = generation;
+        SharedScheduler.get().schedule(() -> {
+            synchronized (this) {
+                if (generation != expected || buffer.isEmpty()) return;
+            }
+            SharedScheduler.blockingExecutor().execute(this::flush);
+        }, lingerMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private List<PendingSend> drain() {
+        List<PendingSend> batch = buffer;
+        buffer = new ArrayList<>(Constants.DEFAULT_BATCH_MESSAGE);
+        bufferBytes = 0;
+        generation++;
+        return batch;
+    }
+
+    /**
+     * 标准队列每个批次单独交给线程池发送; FIFO 队列没有批次发送中时, 由线程池内的一个任务依次发送所有待发送的批次
+     */
+    private void dispatch(List<List<PendingSend>> batches) {
+        if (!fifoQueue) {
+            for (List<PendingSend> batch : batches) execute(() -> sendBatch(batch), batch);
+            return;
+        }
+        synchronized (this) {
+            if (sending || pendingBatches.isEmpty()) return;
+            sending = true;
+        }
+        execute(this::sendPendingBatches, null);
+    }
+
+    private void execute(Runnable task, List<PendingSend> batch) {
+        try {
+            sendExecutor.execute(task);
+        } catch (RuntimeException e) {
+            logger.error("[SendMessageBuffer_execute] 提交发送任务失败, queueUrl:{} ,errorMessage:{}", queueUrl, e.getLocalizedMessage());
+            if (batch != null) {
+                batch.forEach(pending -> pending.future.completeExceptionally(e));
+                return;
+            }
+            List<PendingSend> rejected = new ArrayList<>();
+            synchronized (this) {
+                pendingBatches.forEach(rejected::addAll);
+                pendingBatches.clear();
+                sending = false;
+            }
+            rejected.forEach(pending -> pending.future.completeExceptionally(e));
+        }
+    }
+
+    private void sendPendingBatches() {
+        while (true) {
+            List<PendingSend> batch;
+            synchronized (this) {
+                batch = pendingBatches.poll();
+                if (batch == null) {
+                    sending = false;
+                    return;
+                }
+            }
+            Set<String> failedGroups = sendBatch(batch);
+            if (!failedGroups.isEmpty()) discardGroups(failedGroups);
+        }
+    }
+
+    /**
+     * FIFO 队列的消息发送失败后, 同组内已加入但尚未发送的消息以异常完成, 不再发送
+     */
+    private void discardGroups(Set<String> failedGroups) {
+        List<PendingSend> discarded = new ArrayList<>();
+        synchronized (this) {
+            for (Iterator<List<PendingSend>> batches = pendingBatches.iterator(); batches.hasNext(); ) {
+                List<PendingSend> batch = batches.next();
+                batch.removeIf(pending -> failedGroups.contains(pending.request.messageGroupId()) && discarded.add(pending));
+                if (batch.isEmpty()) batches.remove();
+            }
+            for (Iterator<PendingSend> pendings = buffer.iterator(); pendings.hasNext(); ) {
+                PendingSend pending = pendings.next();
+                if (!failedGroups.contains(pending.request.messageGroupId())) continue;
+                pendings.remove();
+                bufferBytes -= pending.bytes;
+                discarded.add(pending);
+            }
+        }
+        if (discarded.isEmpty()) return;
+        logger.warn("[SendMessageBuffer_discardGroups] 消息组内有消息发送失败, 组内未发送的消息不再发送, queueUrl:{} ,groups:{} ,size:{}",
+                queueUrl, failedGroups, discarded.size());
+        for (PendingSend pending : discarded) {
+            pending.future.completeExceptionally(SqsException.builder()
+                    .message("Message not sent because an earlier message of group " + pending.request.messageGroupId() + " failed")
+                    .build());
+        }
+    }
+
+    /**
+     * 发送一个批次
+     *
+     * @return 有消息发送失败的消息组, 标准队列为空
+     */
+    private Set<String> sendBatch(List<PendingSend> batch) {
+        Set<String> failedGroups = new HashSet<>();
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            SendMessageRequest request = batch.get(i).request;
+            entries.add(SendMessageBatchRequestEntry.builder()
+                    .id(Integer.toString(i))
+                    .messageBody(request.messageBody())
+                    .delaySeconds(request.delaySeconds())
+                    .messageAttributes(request.hasMessageAttributes() ? request.messageAttributes() : null)
+                    .messageGroupId(request.messageGroupId())
+                    .messageDeduplicationId(request.messageDeduplicationId())
+                    .build());
+        }
+        SendMessageBatchResponse response;
+        try {
+            response = sqsClient.sendMessageBatch(SendMessageBatchRequest.builder().queueUrl(queueUrl).entries(entries).build());
+        } catch (Exception e) {
+            logger.error("[SendMessageBuffer_sendBatch] 批量发送消息发生异常, queueUrl:{} ,size:{} ,errorMessage:{}",
+                    queueUrl, batch.size(), e.getLocalizedMessage());
+            batch.forEach(pending -> pending.future.completeExceptionally(e));
+            if (fifoQueue) batch.forEach(pending -> failedGroups.add(pending.request.messageGroupId()));
+            return failedGroups;
+        }
+        if (response.hasSuccessful()) {
+            for (SendMessageBatchResultEntry entry : response.successful()) {
+                batch.get(Integer.parseInt(entry.id())).future.complete(SendMessageResponse.builder()
+                        .messageId(entry.messageId())
+                        .md5OfMessageBody(entry.md5OfMessageBody())
+                        .md5OfMessageAttributes(entry.md5OfMessageAttributes())
+                        .md5OfMessageSystemAttributes(entry.md5OfMessageSystemAttributes())
+                        .sequenceNumber(entry.sequenceNumber())
+                        .build());
+            }
+        }
+        if (response.hasFailed()) {
+            for (BatchResultErrorEntry entry : response.failed()) {
+                logger.error("[SendMessageBuffer_sendBatch] 消息发送失败, queueUrl:{} ,code:{} ,senderFault:{} ,errorMessage:{}",
+                        queueUrl, entry.code(), entry.senderFault(), entry.message());
+                batch.get(Integer.parseInt(entry.id())).future.completeExceptionally(SqsException.builder()
+                        .message(entry.message())
+                        .awsErrorDetails(AwsErrorDetails.builder()
+                                .errorCode(entry.code()).errorMessage(entry.message()).serviceName(SqsClient.SERVICE_NAME).build())
+                        .build());
+            }
+        }
+        // 响应中未出现的条目视为发送失败
+        for (PendingSend pending : batch) {
+            if (!pending.future.isDone())
+                pending.future.completeExceptionally(SqsException.builder().message("No result for batch entry").build());
+            if (fifoQueue && pending.future.isCompletedExceptionally()) failedGroups.add(pending.request.messageGroupId());
+        }
+        return failedGroups;
+    }
+
+    /**
+     * 计算消息体及消息属性的字节数, 与 SQS 的消息大小计算方式一致
+     */
+    static int payloadBytes(SendMessageRequest request) {
+        int bytes = utf8Length(request.messageBody());
+        if (request.hasMessageAttributes()) {
+            for (Map.Entry<String, MessageAttributeValue> entry : request.messageAttributes().entrySet()) {
+                MessageAttributeValue value = entry.getValue();
+                bytes += utf8Length(entry.getKey()) + utf8Length(value.dataType()) + utf8Length(value.stringValue());
+                if (value.binaryValue() != null) bytes += value.binaryValue().asByteBuffer().remaining();
+            }
+        }
+        return bytes;
+    }
+
+    private static int utf8Length(String value) {
+        return value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static class PendingSend {
+        private final SendMessageRequest request;
+        private final int bytes;
+        private final CompletableFuture<SendMessageResponse> future = new CompletableFuture<>();
+
+        private PendingSend(SendMessageRequest request) {
+            this.request = request;
+            this.bytes = payloadBytes(request);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.duxinglangzi.sqs.starter.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * gzip 头部及尾部的解析: 往返、与 JDK 实现互通、损坏及超长的输入
+ *
+ * @author wuqiong 2026/10/18
+ */
+class GzipPayloadCompressorTest {
+
+    private static final int MAX_BYTES = 1024 * 1024;
+
+    private final GzipPayloadCompressor compressor = new GzipPayloadCompressor(4);
+
+    @Test
+    void roundTrip() throws IOException {
+        Random random = new Random(42);
+        for (int size : new int[]{0, 1, 100, 8 * 1024, 300 * 1024}) {
+            byte[] compressible = text(size);
+            assertArrayEquals(compressible, decompress(compress(compressible), MAX_BYTES));
+            byte[] incompressible = new byte[size];
+            random.nextBytes(incompressible);
+            assertArrayEquals(incompressible, decompress(compress(incompressible), MAX_BYTES));
+        }
+    }
+
+    @Test
+    void readableByJdk() throws IOException {
+        byte[] payload = text(50 * 1024);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compress(payload)))) {
+            assertArrayEquals(payload, readAll(in));
+        }
+    }
+
+    @Test
+    void readsJdkOutput() throws IOException {
+        byte[] payload = text(50 * 1024);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(payload);
+        }
+        assertArrayEquals(payload, decompress(bytes.toByteArray(), MAX_BYTES));
+    }
+
+    @Test
+    void readsOptionalHeaderFields() throws IOException {
+        byte[] payload = text(1000);
+        byte[] plain = compress(payload);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        // FHCRC | FEXTRA | FNAME | FCOMMENT
+        bytes.write(new byte[]{0x1f, (byte) 0x8b, 8, 2 | 4 | 8 | 16, 0, 0, 0, 0, 0, (byte) 0xff});
+        bytes.write(new byte[]{3, 0, 'a', 'b', 'c'});
+        bytes.write("name.txt\0".getBytes(StandardCharsets.ISO_8859_1));
+        bytes.write("comment\0".getBytes(StandardCharsets.ISO_8859_1));
+        bytes.write(new byte[]{0, 0});
+        bytes.write(plain, 10, plain.length - 10);
+        assertArrayEquals(payload, decompress(bytes.toByteArray(), MAX_BYTES));
+    }
+
+    @Test
+    void rejectsBadMagic() {
+        byte[] compressed = compress(text(1000));
+        compressed[1] = 0;
+        assertThrows(ZipException.class, () -> decompress(compressed, MAX_BYTES));
+    }
+
+    @Test
+    void rejectsTruncatedInput() {
+        byte[] compressed = compress(text(1000));
+        for (int length = 0; length < compressed.length; length++) {
+            byte[] truncated = Arrays.copyOf(compressed, length);
+            assertThrows(ZipException.class, () -> decompress(truncated, MAX_BYTES), "length " + length);
+        }
+    }
+
+    @Test
+    void rejectsCorruptTrailer() {
+        byte[] compressed = compress(text(1000));
+        byte[] badCrc = compressed.clone();
+        badCrc[badCrc.length - 8] ^= 1;
+        assertThrows(ZipException.class, () -> decompress(badCrc, MAX_BYTES));
+        byte[] badSize = compressed.clone();
+        badSize[badSize.length - 4] ^= 1;
+        assertThrows(ZipException.class, () -> decompress(badSize, MAX_BYTES));
+    }
+
+    @Test
+    void rejectsCorruptDeflateData() {
+        byte[] compressed = compress(text(1000));
+        compressed[12] ^= (byte) 0xff;
+        compressed[13] ^= (byte) 0xff;
+        assertThrows(ZipException.class, () -> decompress(compressed, MAX_BYTES));
+    }
+
+    @Test
+    void rejectsHeaderFieldsBeyondInput() {
+        byte[] extra = header(4, new byte[]{(byte) 0xff, (byte) 0xff});
+        assertThrows(ZipException.class, () -> decompress(extra, MAX_BYTES));
+        byte[] name = header(8, "unterminated".getBytes(StandardCharsets.ISO_8859_1));
+        assertThrows(ZipException.class, () -> decompress(name, MAX_BYTES));
+    }
+
+    @Test
+    void rejectsTrailingData() {
+        byte[] compressed = compress(text(1000));
+        byte[] padded = Arrays.copyOf(compressed, compressed.length + 3);
+        // 尾部整体后移, 多余的字节位于压缩数据之后
+        System.arraycopy(compressed, compressed.length - 8, padded, padded.length - 8, 8);
+        assertThrows(ZipException.class, () -> decompress(padded, MAX_BYTES));
+    }
+
+    @Test
+    void limitsDecompressedSize() throws IOException {
+        byte[] bomb = compress(new byte[8 * MAX_BYTES]);
+        assertThrows(ZipException.class, () -> decompress(bomb, MAX_BYTES));
+        byte[] exact = new byte[MAX_BYTES];
+        assertArrayEquals(exact, decompress(compress(exact), MAX_BYTES));
+        assertThrows(ZipException.class, () -> decompress(compress(new byte[MAX_BYTES + 1]), MAX_BYTES));
+    }
+
+    private byte[] compress(byte[] payload) {
+        ReusableBuffer out = new ReusableBuffer(64);
+        compressor.compress(payload, 0, payload.length, out);
+        return Arrays.copyOf(out.array(), out.size());
+    }
+
+    private byte[] decompress(byte[] compressed, int maxBytes) throws IOException {
+        ReusableBuffer out = new ReusableBuffer(64);
+        compressor.decompress(compressed, 0, compressed.length, out, maxBytes);
+        return Arrays.copyOf(out.array(), out.size());
+    }
+
+    /**
+     * 只有头部(含指定的可选字段)及尾部, 没有压缩数据
+     */
+    private static byte[] header(int flags, byte[] field) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(new byte[]{0x1f, (byte) 0x8b, 8, (byte) flags, 0, 0, 0, 0, 0, (byte) 0xff}, 0, 10);
+        bytes.write(field, 0, field.length);
+        CRC32 crc = new CRC32();
+        byte[] trailer = new byte[8];
+        int value = (int) crc.getValue();
+        for (int i = 0; i < 4; i++) trailer[i] = (byte) (value >>> (i * 8));
+        bytes.write(trailer, 0, trailer.length);
+        return bytes.toByteArray();
+    }
+
+    private static byte[] text(int size) {
+        byte[] line = "{\"orderId\":123456,\"status\":\"PAID\",\"items\":[1,2,3]}\n".getBytes(StandardCharsets.UTF_8);
+        byte[] text = new byte[size];
+        for (int i = 0; i < size; i++) text[i] = line[i % line.length];
+        return text;
+    }
+
+    private static byte[] readAll(GZIPInputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = in.read(chunk)) != -1) out.write(chunk, 0, read);
+        return out.toByteArray();
+    }
+}
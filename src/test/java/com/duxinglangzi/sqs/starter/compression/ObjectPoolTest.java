@@ -0,0 +1,48 @@
+package com.duxinglangzi.sqs.starter.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * 对象池的复用及丢弃
+ *
+ * @author wuqiong 2026/10/18
+ */
+class ObjectPoolTest {
+
+    @Test
+    void reusesReleasedObject() {
+        ObjectPool<StringBuilder> pool = new ObjectPool<>(StringBuilder::new, b -> true, 2);
+        StringBuilder first = pool.acquire();
+        pool.release(first);
+        assertSame(first, pool.acquire());
+    }
+
+    @Test
+    void discardsBeyondMaxIdle() {
+        List<StringBuilder> discarded = new ArrayList<>();
+        ObjectPool<StringBuilder> pool = new ObjectPool<>(StringBuilder::new, b -> true, discarded::add, 1);
+        StringBuilder first = pool.acquire();
+        StringBuilder second = pool.acquire();
+        pool.release(first);
+        pool.release(second);
+        assertEquals(1, discarded.size());
+        assertSame(second, discarded.get(0));
+        assertSame(first, pool.acquire());
+    }
+
+    @Test
+    void discardsUnreusable() {
+        List<StringBuilder> discarded = new ArrayList<>();
+        ObjectPool<StringBuilder> pool = new ObjectPool<>(StringBuilder::new, b -> b.length() == 0, discarded::add, 4);
+        StringBuilder dirty = pool.acquire().append("x");
+        pool.release(dirty);
+        assertEquals(1, discarded.size());
+        assertSame(dirty, discarded.get(0));
+    }
+}